@@ -0,0 +1,53 @@
+package com.recall.recall.benchmark;
+
+import com.recall.recall.dto.CustomerMapper;
+import com.recall.recall.dto.CustomerMapperImpl;
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.entity.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated CustomerMapperImpl against the previous builder-based mapping. Compare the
+ * gc.alloc.rate.norm column (bytes per operation) reported by the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerMapperBenchmark {
+
+    private final CustomerMapper generated = new CustomerMapperImpl();
+    private Customer customer;
+    private CustomerRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customer = Customer.builder().id(42L).name("Customer").email("customer@example.com")
+                .createdAt(LocalDateTime.of(2024, 5, 17, 10, 15, 30)).build();
+        request = new CustomerRequestDTO(42L, "Customer", "customer@example.com");
+    }
+
+    @Benchmark
+    public CustomerResponseDTO toResponseBuilder() {
+        return CustomerResponseDTO.builder().id(customer.getId()).name(customer.getName())
+                .email(customer.getEmail()).createdAt(customer.getCreatedAt()).build();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO toResponseGenerated() {
+        return generated.toResponseDTO(customer);
+    }
+
+    @Benchmark
+    public Customer toEntityBuilder() {
+        return Customer.builder().id(request.getId()).name(request.getName()).email(request.getEmail()).build();
+    }
+
+    @Benchmark
+    public Customer toEntityGenerated() {
+        return generated.toEntity(request);
+    }
+}
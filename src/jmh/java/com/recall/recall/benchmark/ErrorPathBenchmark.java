@@ -0,0 +1,42 @@
+package com.recall.recall.benchmark;
+
+import com.recall.recall.dto.ApiErrorDTO;
+import com.recall.recall.exception.CustomerNotFoundException;
+import com.recall.recall.exception.GlobalExceptionHandler;
+import jakarta.persistence.EntityNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a customer miss into a 404 body. Run with {@code -prof gc} to compare bytes allocated
+ * per error between the previous map-based path and the typed, stackless one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorPathBenchmark {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private Long id = 42L;
+
+    @Benchmark
+    public ResponseEntity<?> legacyNotFound() {
+        EntityNotFoundException ex = new EntityNotFoundException("Customer with id " + id + " not found");
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.NOT_FOUND.value());
+        errorResponse.put("error", "Resource Not Found");
+        errorResponse.put("message", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorDTO> typedNotFound() {
+        return handler.handleEntityNotFoundException(new CustomerNotFoundException(id));
+    }
+}
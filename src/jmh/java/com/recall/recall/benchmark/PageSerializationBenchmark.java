@@ -0,0 +1,60 @@
+package com.recall.recall.benchmark;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.json.CustomerJsonModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer page serialization through the default bean serializers versus CustomerJsonModule,
+ * both writing to a reused output stream the way the message converter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"default", "streaming"})
+    public String writer;
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private Page<CustomerResponseDTO> page;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder();
+        if ("streaming".equals(writer)) {
+            builder.addModule(new CustomerJsonModule());
+        }
+        mapper = builder.build();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123_000_000);
+        List<CustomerResponseDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(CustomerResponseDTO.builder().id((long) i).name("Customer " + i).email("customer" + i + "@example.com")
+                    .createdAt(createdAt.plusSeconds(i * 97L)).build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        out = new ByteArrayOutputStream(pageSize * 128);
+    }
+
+    @Benchmark
+    public int writePage() {
+        out.reset();
+        mapper.writeValue(out, page);
+        return out.size();
+    }
+}
@@ -0,0 +1,122 @@
+package com.recall.recall.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the packaged application in each startup mode and measures the time from process start
+ * until the first customer request is answered. Invoked by the {@code startupBenchmark} Gradle task.
+ */
+public class StartupTimeBenchmark {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String java = options.getOrDefault("java", "java");
+        String jar = required(options, "jar");
+        String cdsArchive = options.get("cds-archive");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        boolean aot = options.containsKey("aot");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("baseline", List.of());
+        modes.put("lazy", List.of("-Dspring.profiles.active=lazy"));
+        if (cdsArchive != null && new File(cdsArchive).exists()) {
+            List<String> optimized = new ArrayList<>(List.of("-XX:SharedArchiveFile=" + cdsArchive, "-Dspring.profiles.active=lazy"));
+            if (aot) {
+                optimized.add("-Dspring.aot.enabled=true");
+            }
+            modes.put(aot ? "cds+aot+lazy" : "cds+lazy", optimized);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        System.out.printf("%-16s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] samples = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                samples[i] = timeToFirstRequest(client, java, jar, mode.getValue());
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-16s %10d %10d %10d%n", mode.getKey(), samples[0], samples[runs / 2], samples[runs - 1]);
+        }
+    }
+
+    private static long timeToFirstRequest(HttpClient client, String java, String jar, List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        int managementPort;
+        do {
+            managementPort = freePort();
+        } while (managementPort == port);
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        // The actuator listens on its own port; a fixed one would clash with a running instance or a lingering run.
+        command.addAll(List.of("-jar", jar, "--server.port=" + port, "--management.server.port=" + managementPort));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/customers?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling until the connector is up
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            options.put(eq < 0 ? option : option.substring(0, eq), eq < 0 ? "" : option.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+}
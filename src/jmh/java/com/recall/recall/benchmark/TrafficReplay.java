@@ -0,0 +1,178 @@
+package com.recall.recall.benchmark;
+
+import com.recall.recall.capture.CaptureLogReader;
+import com.recall.recall.capture.CapturedRequest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Re-drives a capture log written by the traffic capture filter against a running instance and prints
+ * latency percentiles per endpoint next to the latencies originally captured. Arrivals follow the log's
+ * own timestamps divided by {@code --speed}, whether or not earlier requests have answered (an open
+ * model), and latency is measured from the scheduled arrival, so a stalled server shows up as latency
+ * instead of as a lower request rate. Requests whose body was cut at capture are skipped, and replies
+ * whose status differs from the captured one are counted per endpoint, since a latency comparison means
+ * little when the server took a different path. Invoked by the {@code replayTraffic} Gradle task.
+ */
+public class TrafficReplay {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path log = Path.of(required(options, "log"));
+        String target = options.getOrDefault("target", "http://localhost:8080");
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        int limit = Integer.parseInt(options.getOrDefault("limit", Integer.toString(Integer.MAX_VALUE)));
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT10S"));
+        if (speed <= 0) {
+            throw new IllegalArgumentException("--speed must be positive");
+        }
+
+        List<CapturedRequest> requests = new ArrayList<>(CaptureLogReader.readAll(log));
+        int captured = requests.size();
+        requests.removeIf(CapturedRequest::bodyTruncated);
+        int truncated = captured - requests.size();
+        if (truncated > 0) {
+            System.out.printf("Skipping %d of %d requests whose body was truncated at capture%n", truncated, captured);
+        }
+        requests.sort(Comparator.comparingLong(CapturedRequest::offsetNanos));
+        if (requests.size() > limit) {
+            requests = requests.subList(0, limit);
+        }
+        if (requests.isEmpty()) {
+            System.out.println("Capture log " + log + " holds no requests");
+            return;
+        }
+        long firstOffset = requests.get(0).offsetNanos();
+        System.out.printf("Replaying %d requests against %s at %.2fx%n", requests.size(), target, speed);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        Map<String, ConcurrentLinkedQueue<Long>> replayed = new ConcurrentHashMap<>();
+        Map<String, List<Long>> capturedLatencies = new TreeMap<>();
+        Map<String, AtomicLong> statusMismatches = new ConcurrentHashMap<>();
+        AtomicLong failures = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        long maxLagNanos = 0;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(requests.size());
+
+        long start = System.nanoTime();
+        for (CapturedRequest request : requests) {
+            String endpoint = endpoint(request);
+            capturedLatencies.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(request.durationNanos());
+            long due = start + (long) ((request.offsetNanos() - firstOffset) / speed);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - due);
+            inFlight.add(client.sendAsync(toHttpRequest(target, request, timeout), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        replayed.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - due);
+                        if (error != null || response.statusCode() >= 500) {
+                            failures.incrementAndGet();
+                        }
+                        if (error == null && response.statusCode() != request.status()) {
+                            mismatches.incrementAndGet();
+                            statusMismatches.computeIfAbsent(endpoint + " " + request.status() + " -> " + response.statusCode(),
+                                    key -> new AtomicLong()).incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(ignored -> null).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("%d requests in %.1f s (%.1f req/s), %d failed, %d with a status other than captured,"
+                        + " dispatcher lag max %.1f ms%n",
+                requests.size(), elapsedNanos / 1e9, requests.size() / (elapsedNanos / 1e9), failures.get(),
+                mismatches.get(), maxLagNanos / 1e6);
+        new TreeMap<>(statusMismatches).forEach((change, count) ->
+                System.out.printf("  %-60s %8d%n", change, count.get()));
+        System.out.printf("%-40s %8s %10s %10s %10s %10s %10s   %s%n",
+                "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "captured p50/p99 ms");
+        List<Long> allReplayed = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : capturedLatencies.entrySet()) {
+            List<Long> latencies = new ArrayList<>(replayed.getOrDefault(entry.getKey(), new ConcurrentLinkedQueue<>()));
+            allReplayed.addAll(latencies);
+            print(entry.getKey(), latencies, entry.getValue());
+        }
+        print("all", allReplayed, capturedLatencies.values().stream().flatMap(List::stream).toList());
+    }
+
+    private static HttpRequest toHttpRequest(String target, CapturedRequest request, Duration timeout) {
+        HttpRequest.BodyPublisher body = request.body().length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target + request.uri()))
+                .timeout(timeout)
+                .method(request.method(), body);
+        request.headers().forEach(builder::header);
+        return builder.build();
+    }
+
+    private static String endpoint(CapturedRequest request) {
+        String uri = request.uri();
+        int query = uri.indexOf('?');
+        String path = query < 0 ? uri : uri.substring(0, query);
+        return request.method() + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    private static void print(String endpoint, List<Long> replayed, List<Long> captured) {
+        long[] sorted = replayed.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] original = captured.stream().mapToLong(Long::longValue).sorted().toArray();
+        StringBuilder line = new StringBuilder(String.format("%-40s %8d", endpoint, sorted.length));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" %10.2f", millis(sorted, percentile)));
+        }
+        line.append(String.format(" %10.2f   %.2f/%.2f", millis(sorted, 1.0),
+                millis(original, 0.5), millis(original, 0.99)));
+        System.out.println(line);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            options.put(eq < 0 ? option : option.substring(0, eq), eq < 0 ? "" : option.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+package com.recall.recall.benchmark;
+
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.ErrorResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the customer API payloads per wire format. Payload sizes are printed once
+ * per fork during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private Page<CustomerResponseDTO> page;
+    private CustomerResponseDTO customer;
+    private ErrorResponseDTO error;
+    private byte[] encodedRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123_000_000);
+        List<CustomerResponseDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(CustomerResponseDTO.builder().id((long) i).name("Customer " + i).email("customer" + i + "@example.com")
+                    .createdAt(createdAt).build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        customer = content.get(0);
+        error = new ErrorResponseDTO("Resource Not Found", "Customer with id 42 not found");
+        encodedRequest = mapper.writeValueAsBytes(new CustomerRequestDTO(null, "Customer", "customer@example.com"));
+
+        System.out.printf("%n[%s] bytes: customer=%d page(%d)=%d error=%d%n", format,
+                mapper.writeValueAsBytes(customer).length, pageSize, mapper.writeValueAsBytes(page).length,
+                mapper.writeValueAsBytes(error).length);
+    }
+
+    @Benchmark
+    public byte[] writeCustomer() {
+        return mapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public byte[] writePage() {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeError() {
+        return mapper.writeValueAsBytes(error);
+    }
+
+    @Benchmark
+    public CustomerRequestDTO readRequest() {
+        return mapper.readValue(encodedRequest, CustomerRequestDTO.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.recall.recall.archive;
+
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.stats.CustomerStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+
+    @Bean(destroyMethod = "close")
+    public CustomerArchive customerArchive(ArchiveProperties properties) {
+        return properties.isEnabled()
+                ? new CustomerArchive(Path.of(properties.getPath()), properties.getBlockSize())
+                : CustomerArchive.disabled();
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "recall.archive", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+    static class ArchiverConfig {
+
+        @Bean
+        public CustomerArchiver customerArchiver(CustomerRepository customerRepository, CustomerArchive customerArchive,
+                                                 CustomerStats customerStats, CacheInvalidationBus invalidationBus,
+                                                 PlatformTransactionManager transactionManager,
+                                                 ArchiveProperties properties) {
+            Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "customer-archiver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            return new CustomerArchiver(customerRepository, customerArchive, customerStats, invalidationBus,
+                    new TransactionTemplate(transactionManager), properties, Clock.systemDefaultZone(), executor);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.recall.recall.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.archive")
+public class ArchiveProperties {
+    private boolean enabled = false;
+    private String path = "data/archive/customers.archive";
+    /** Customers created longer ago than this move to the archive. */
+    private Duration maxAge = Duration.ofDays(730);
+    /** Customers per compressed block; larger blocks compress better but cost more per lookup. */
+    private int blockSize = 1024;
+    /** Customers moved per hot-table delete. */
+    private int batchSize = 5000;
+    /** Upper bound on rows moved per second, so a large backlog does not saturate the database. */
+    private int maxRowsPerSecond = 5000;
+    private String cron = "0 30 2 * * *";
+}
@@ -0,0 +1,326 @@
+package com.recall.recall.archive;
+
+import com.recall.recall.entity.Customer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only archive of cold customers. Customers are written in id order into Deflate-compressed
+ * blocks of up to {@code blockSize} records; only the block headers (id range, offset, lengths) are
+ * kept in memory, so a lookup decompresses a single block. Restores append a removal frame that hides
+ * the id in every block written before it.
+ * <p>
+ * Frame layout: {@code int type, int storedLength, int rawLength, long minId, long maxId, int count}
+ * followed by {@code storedLength} payload bytes. Block records are
+ * {@code long id, long epochSecond, int nano, UTF name, UTF email}; removal payloads are a list of ids.
+ */
+public class CustomerArchive implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(CustomerArchive.class);
+    private static final int BLOCK = 1;
+    private static final int REMOVAL = 2;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final List<BlockRef> blocks = new ArrayList<>();
+    /** Restored id to the offset of its removal frame. */
+    private final Map<Long, Long> removals = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long writeOffset;
+
+    private record BlockRef(long offset, int storedLength, int rawLength, long minId, long maxId, int count) {
+    }
+
+    private CustomerArchive() {
+        this.channel = null;
+        this.blockSize = 0;
+    }
+
+    public CustomerArchive(Path file, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.blockSize = blockSize;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open customer archive " + file, ex);
+        }
+        logger.info("Customer archive opened with {} blocks", blocks.size());
+    }
+
+    /** Archive that holds nothing, used when archiving is switched off. */
+    public static CustomerArchive disabled() {
+        return new CustomerArchive();
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    public Optional<Customer> findById(long id) {
+        if (channel == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return find(id);
+        } catch (IOException ex) {
+            logger.error("Error reading customer {} from archive: {}", id, ex.getMessage());
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Appends the customers as compressed blocks and forces them to disk before returning. */
+    public void append(List<Customer> customers) {
+        if (channel == null || customers.isEmpty()) {
+            return;
+        }
+        List<Customer> sorted = new ArrayList<>(customers);
+        sorted.sort(Comparator.comparing(Customer::getId));
+        lock.writeLock().lock();
+        try {
+            for (int from = 0; from < sorted.size(); from += blockSize) {
+                writeBlock(sorted.subList(from, Math.min(from + blockSize, sorted.size())));
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to customer archive", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Hides the customer from later lookups, returning the archived copy if there was one. */
+    public Optional<Customer> remove(long id) {
+        if (channel == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            Optional<Customer> customer = find(id);
+            if (customer.isPresent()) {
+                long frameOffset = writeOffset;
+                ByteBuffer payload = ByteBuffer.allocate(Long.BYTES).putLong(id).flip();
+                writeFrame(REMOVAL, payload, Long.BYTES, id, id, 1);
+                channel.force(false);
+                removals.put(id, frameOffset);
+            }
+            return customer;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot remove customer " + id + " from archive", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int blockCount() {
+        lock.readLock().lock();
+        try {
+            return blocks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeBytes() {
+        lock.readLock().lock();
+        try {
+            return writeOffset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Optional<Customer> find(long id) throws IOException {
+        Long removedAt = removals.get(id);
+        // Newest blocks first so a customer archived again after a restore wins over its older copy.
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            BlockRef block = blocks.get(i);
+            if (id < block.minId() || id > block.maxId()) {
+                continue;
+            }
+            if (removedAt != null && removedAt > block.offset()) {
+                return Optional.empty();
+            }
+            Optional<Customer> customer = searchBlock(block, id);
+            if (customer.isPresent()) {
+                return customer;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Customer> searchBlock(BlockRef block, long id) throws IOException {
+        byte[] stored = new byte[block.storedLength()];
+        readFully(ByteBuffer.wrap(stored), block.offset());
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            if (inflater.inflate(raw) != raw.length) {
+                throw new IOException("Truncated archive block at offset " + block.offset());
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt archive block at offset " + block.offset(), ex);
+        } finally {
+            inflater.end();
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        for (int i = 0; i < block.count(); i++) {
+            long recordId = in.readLong();
+            long epochSecond = in.readLong();
+            int nano = in.readInt();
+            String name = in.readUTF();
+            String email = in.readUTF();
+            if (recordId == id) {
+                return Optional.of(Customer.builder()
+                        .id(recordId)
+                        .name(name)
+                        .email(email)
+                        .createdAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC))
+                        .build());
+            }
+            if (recordId > id) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void writeBlock(List<Customer> customers) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(customers.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Customer customer : customers) {
+            LocalDateTime createdAt = customer.getCreatedAt() != null ? customer.getCreatedAt() : LocalDateTime.now();
+            out.writeLong(customer.getId());
+            out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(createdAt.getNano());
+            out.writeUTF(customer.getName() != null ? customer.getName() : "");
+            out.writeUTF(customer.getEmail() != null ? customer.getEmail() : "");
+        }
+        byte[] raw = bytes.toByteArray();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        byte[] stored;
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 3 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            stored = compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+        long minId = customers.get(0).getId();
+        long maxId = customers.get(customers.size() - 1).getId();
+        long payloadOffset = writeFrame(BLOCK, ByteBuffer.wrap(stored), raw.length, minId, maxId, customers.size());
+        blocks.add(new BlockRef(payloadOffset, stored.length, raw.length, minId, maxId, customers.size()));
+    }
+
+    /** Writes one frame at the end of the file and returns the offset of its payload. */
+    private long writeFrame(int type, ByteBuffer payload, int rawLength, long minId, long maxId, int count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(type).putInt(payload.remaining()).putInt(rawLength)
+                .putLong(minId).putLong(maxId).putInt(count)
+                .flip();
+        long frameOffset = writeOffset;
+        int payloadLength = payload.remaining();
+        writeFully(header, frameOffset);
+        writeFully(payload, frameOffset + HEADER_BYTES);
+        writeOffset = frameOffset + HEADER_BYTES + payloadLength;
+        return frameOffset + HEADER_BYTES;
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (offset + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, offset);
+            header.flip();
+            int type = header.getInt();
+            int storedLength = header.getInt();
+            int rawLength = header.getInt();
+            long minId = header.getLong();
+            long maxId = header.getLong();
+            int count = header.getInt();
+            long payloadOffset = offset + HEADER_BYTES;
+            if ((type != BLOCK && type != REMOVAL) || storedLength < 0 || payloadOffset + storedLength > size) {
+                break;
+            }
+            if (type == BLOCK) {
+                blocks.add(new BlockRef(payloadOffset, storedLength, rawLength, minId, maxId, count));
+            } else {
+                ByteBuffer ids = ByteBuffer.allocate(storedLength);
+                readFully(ids, payloadOffset);
+                ids.flip();
+                while (ids.remaining() >= Long.BYTES) {
+                    removals.put(ids.getLong(), offset);
+                }
+            }
+            offset = payloadOffset + storedLength;
+        }
+        if (offset < size) {
+            logger.warn("Discarding {} bytes of incomplete archive frame", size - offset);
+            channel.truncate(offset);
+        }
+        writeOffset = offset;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of customer archive");
+            }
+            position += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
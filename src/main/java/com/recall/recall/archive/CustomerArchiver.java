@@ -0,0 +1,165 @@
+package com.recall.recall.archive;
+
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.entity.Customer;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.stats.CustomerStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves customers older than the configured age from CUSTOMER into the archive. Each batch is made
+ * durable in the archive before it is deleted from the hot table, so a crash in between leaves a
+ * customer in both tiers rather than in neither. The delete locks the batch's rows and only removes
+ * those still at the version that was archived; a customer updated or deleted meanwhile is taken back
+ * out of the archive instead. The cron tick only hands the run to the archiver's own executor, and
+ * batches are paced to {@code maxRowsPerSecond}.
+ */
+public class CustomerArchiver {
+
+    private static final Logger logger = LogManager.getLogger(CustomerArchiver.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerArchive customerArchive;
+    private final CustomerStats customerStats;
+    private final CacheInvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final Clock clock;
+    private final Executor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CustomerArchiver(CustomerRepository customerRepository, CustomerArchive customerArchive,
+                            CustomerStats customerStats, CacheInvalidationBus invalidationBus,
+                            TransactionTemplate transactionTemplate, ArchiveProperties properties, Clock clock,
+                            Executor executor) {
+        this.customerRepository = customerRepository;
+        this.customerArchive = customerArchive;
+        this.customerStats = customerStats;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    @Scheduled(cron = "${recall.archive.cron:0 30 2 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Previous archive run is still going, skipping this one");
+            return;
+        }
+        boolean started = false;
+        try {
+            executor.execute(() -> {
+                try {
+                    archiveColdCustomers();
+                } catch (RuntimeException ex) {
+                    logger.error("Archive run failed", ex);
+                } finally {
+                    running.set(false);
+                }
+            });
+            started = true;
+        } finally {
+            if (!started) {
+                running.set(false);
+            }
+        }
+    }
+
+    int archiveColdCustomers() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.getMaxAge());
+        int batchSize = properties.getBatchSize();
+        long minNanosPerBatch = TimeUnit.SECONDS.toNanos(batchSize) / Math.max(1, properties.getMaxRowsPerSecond());
+        LocalDateTime afterCreatedAt = EPOCH;
+        long afterId = 0;
+        int total = 0;
+        int skipped = 0;
+        while (true) {
+            long batchStarted = System.nanoTime();
+            List<Customer> batch = customerRepository.findCreatedBefore(cutoff, afterCreatedAt, afterId,
+                    Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            customerArchive.append(batch);
+            List<Customer> moved = deleteUnchanged(batch);
+            Set<Long> movedIds = moved.stream().map(Customer::getId).collect(Collectors.toSet());
+            for (Customer customer : batch) {
+                if (!movedIds.contains(customer.getId())) {
+                    customerArchive.remove(customer.getId());
+                    skipped++;
+                }
+            }
+            moved.forEach(customer -> {
+                customerStats.recordDeleted(customer.getCreatedAt());
+                invalidationBus.invalidate(customer.getId());
+            });
+            total += moved.size();
+            Customer last = batch.get(batch.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+            if (batch.size() < batchSize || !pause(minNanosPerBatch - (System.nanoTime() - batchStarted))) {
+                break;
+            }
+        }
+        if (total > 0 || skipped > 0) {
+            logger.info("Archived {} customers created before {}, left {} changed since they were read",
+                    total, cutoff, skipped);
+        }
+        return total;
+    }
+
+    // Row locks keep writers out between the version check and the delete; if the delete fails the batch
+    // is taken back out of the archive, since the hot rows are still authoritative.
+    private List<Customer> deleteUnchanged(List<Customer> batch) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<Long, Long> current = new HashMap<>();
+                customerRepository.lockAllById(batch.stream().map(Customer::getId).toList())
+                        .forEach(customer -> current.put(customer.getId(), customer.getVersion()));
+                List<Customer> unchanged = batch.stream()
+                        .filter(customer -> current.containsKey(customer.getId())
+                                && Objects.equals(current.get(customer.getId()), customer.getVersion()))
+                        .toList();
+                if (!unchanged.isEmpty()) {
+                    customerRepository.deleteAllByIdInBatch(unchanged.stream().map(Customer::getId).toList());
+                }
+                return unchanged;
+            });
+        } catch (RuntimeException ex) {
+            batch.forEach(customer -> customerArchive.remove(customer.getId()));
+            throw ex;
+        }
+    }
+
+    private static boolean pause(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
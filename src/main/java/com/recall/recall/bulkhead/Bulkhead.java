@@ -0,0 +1,117 @@
+package com.recall.recall.bulkhead;
+
+import com.recall.recall.exception.BulkheadRejectedException;
+import com.recall.recall.exception.BulkheadTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A fixed pool with a bounded queue reserved for one class of traffic, so a backlog in one class
+ * cannot take threads or queue slots from another. A full queue rejects immediately instead of
+ * blocking the caller. A task still queued at the deadline never runs and fails as rejected. A running
+ * one is never interrupted, since interrupting JDBC work can close the connection under it: with
+ * {@code queueDeadlineOnly} the caller waits for it, otherwise the caller gets a timeout whose outcome
+ * is unknown.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final boolean queueDeadlineOnly;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration timeout, boolean queueDeadlineOnly) {
+        this.name = name;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueDeadlineOnly = queueDeadlineOnly;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Claimed by whichever comes first: a worker starting the task, or the deadline while it is still queued.
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> queued;
+        try {
+            queued = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    result.complete(task.get());
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            result.completeExceptionally(new BulkheadRejectedException(name, "is full"));
+            return result;
+        }
+        accepted.increment();
+        return result.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).exceptionallyCompose(ex -> {
+            if (!(ex instanceof TimeoutException)) {
+                return CompletableFuture.failedFuture(ex);
+            }
+            if (claimed.compareAndSet(false, true)) {
+                queued.cancel(false);
+                executor.purge();
+                timedOut.increment();
+                return CompletableFuture.failedFuture(
+                        new BulkheadRejectedException(name, "queued longer than " + timeoutMillis + " ms"));
+            }
+            if (queueDeadlineOnly) {
+                return result;
+            }
+            timedOut.increment();
+            return CompletableFuture.failedFuture(
+                    new BulkheadTimeoutException(name, "did not finish within " + timeoutMillis + " ms"));
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    ThreadPoolExecutor executor() {
+        return executor;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,29 @@
+package com.recall.recall.bulkhead;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "recall.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public CustomerBulkheads customerBulkheads(BulkheadProperties properties) {
+        return new CustomerBulkheads(
+                bulkhead("point-reads", properties.getPointReads()),
+                bulkhead("scans", properties.getScans()),
+                bulkhead("writes", properties.getWrites()));
+    }
+
+    @Bean
+    public BulkheadMetrics bulkheadMetrics(CustomerBulkheads customerBulkheads) {
+        return new BulkheadMetrics(customerBulkheads);
+    }
+
+    private static Bulkhead bulkhead(String name, BulkheadProperties.Pool pool) {
+        return new Bulkhead(name, pool.getThreads(), pool.getQueueCapacity(), pool.getTimeout(), pool.isQueueDeadlineOnly());
+    }
+}
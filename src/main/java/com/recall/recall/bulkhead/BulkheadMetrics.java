@@ -0,0 +1,35 @@
+package com.recall.recall.bulkhead;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+public class BulkheadMetrics implements MeterBinder {
+    private final CustomerBulkheads bulkheads;
+
+    public BulkheadMetrics(CustomerBulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            // executor.queued and friends, which the saturation monitor already sums
+            new ExecutorServiceMetrics(bulkhead.executor(), "bulkhead." + bulkhead.getName(), Tags.empty())
+                    .bindTo(registry);
+            FunctionCounter.builder("recall.bulkhead.accepted", bulkhead, Bulkhead::getAccepted)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+            FunctionCounter.builder("recall.bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                    .description("Submissions refused because the bulkhead queue was full")
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+            FunctionCounter.builder("recall.bulkhead.timeouts", bulkhead, Bulkhead::getTimedOut)
+                    .description("Tasks that missed the bulkhead deadline, queued or running")
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.recall.recall.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = false;
+    private Pool pointReads = new Pool(16, 200, Duration.ofSeconds(2), false);
+    private Pool scans = new Pool(4, 20, Duration.ofSeconds(10), false);
+    private Pool writes = new Pool(8, 100, Duration.ofSeconds(5), true);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int threads;
+        /** Tasks waiting for a thread; submissions beyond this are rejected with 503. */
+        private int queueCapacity;
+        /** From submission, queueing included; a task still queued at the deadline never runs. */
+        private Duration timeout;
+        /** Apply the timeout only while queued and wait for a started task, so a committed write is never reported as failed. */
+        private boolean queueDeadlineOnly;
+    }
+}
@@ -0,0 +1,15 @@
+package com.recall.recall.bulkhead;
+
+import java.util.List;
+
+/** The bulkheads behind the async customer endpoints: point reads, list scans and writes. */
+public record CustomerBulkheads(Bulkhead pointReads, Bulkhead scans, Bulkhead writes) {
+
+    public List<Bulkhead> all() {
+        return List.of(pointReads, scans, writes);
+    }
+
+    public void shutdown() {
+        all().forEach(Bulkhead::shutdown);
+    }
+}
@@ -0,0 +1,31 @@
+package com.recall.recall.cache;
+
+import com.recall.recall.entity.CustomerCacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ValidatorCacheProperties.class)
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class CacheConfig {
+
+    @Bean
+    public CacheRegionMetrics cacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+        return new CacheRegionMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                CustomerCacheRegions.ALL);
+    }
+
+    // Only the invalidation bus tells this node about writes made on other nodes; without it a cached
+    // version would keep answering 304 for a customer changed elsewhere.
+    @Bean
+    public CustomerValidatorCache customerValidatorCache(ValidatorCacheProperties properties,
+                                                         CacheInvalidationProperties invalidationProperties) {
+        return properties.isEnabled() && invalidationProperties.isEnabled()
+                ? new CustomerValidatorCache(properties.getMaxSize(), properties.getTtl())
+                : CustomerValidatorCache.disabled();
+    }
+}
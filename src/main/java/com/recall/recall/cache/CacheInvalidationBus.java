@@ -0,0 +1,151 @@
+package com.recall.recall.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts the ids of customers changed on this node so other nodes evict them. Ids are coalesced
+ * into a pending set and flushed as one numbered batch on a short interval, or as soon as the batch
+ * is full. A receiver that sees a sequence jump from a node drops its customer caches entirely; that
+ * reload runs on its own executor, and gap reports arriving while one is pending share it.
+ */
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LogManager.getLogger(CacheInvalidationBus.class);
+
+    private final String nodeId;
+    private final long epoch;
+    private final InvalidationTransport transport;
+    private final CustomerCacheInvalidator invalidator;
+    private final int maxBatchSize;
+    private final Executor reloadExecutor;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, NodeProgress> progressByNode = new HashMap<>();
+    private final AtomicLong gaps = new AtomicLong();
+
+    public CacheInvalidationBus(String nodeId, long epoch, InvalidationTransport transport,
+                                CustomerCacheInvalidator invalidator, int maxBatchSize, Executor reloadExecutor) {
+        this.nodeId = nodeId;
+        this.epoch = epoch;
+        this.transport = transport;
+        this.invalidator = invalidator;
+        this.maxBatchSize = maxBatchSize;
+        this.reloadExecutor = reloadExecutor;
+        transport.subscribe(this::onMessage);
+    }
+
+    private CacheInvalidationBus() {
+        this.nodeId = null;
+        this.epoch = 0;
+        this.transport = null;
+        this.invalidator = null;
+        this.maxBatchSize = 0;
+        this.reloadExecutor = null;
+    }
+
+    /** A bus for single-node deployments that drops every invalidation. */
+    public static CacheInvalidationBus disabled() {
+        return new CacheInvalidationBus();
+    }
+
+    /** Queues a customer id; call once the change is committed. */
+    public void invalidate(Long customerId) {
+        if (transport == null || customerId == null) {
+            return;
+        }
+        pending.add(customerId);
+        if (pending.size() >= maxBatchSize) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recall.cache.invalidation.flush-interval:PT0.05S}")
+    public synchronized void flush() {
+        if (transport == null) {
+            return;
+        }
+        while (!pending.isEmpty()) {
+            List<Long> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+            for (Long id : pending) {
+                pending.remove(id);
+                batch.add(id);
+                if (batch.size() == maxBatchSize) {
+                    break;
+                }
+            }
+            transport.publish(new InvalidationMessage(nodeId, epoch, sequence.incrementAndGet(), List.copyOf(batch)));
+        }
+    }
+
+    // Serialized so gap detection sees each node's sequence advance in order; a late or repeated batch is applied again.
+    // A newer epoch means the node restarted and counts from 1 again; a batch from an older epoch is only applied.
+    synchronized void onMessage(InvalidationMessage message) {
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        NodeProgress progress = progressByNode.get(message.nodeId());
+        long previous;
+        if (progress == null || message.epoch() > progress.epoch()) {
+            previous = progress == null ? -1 : 0;
+            progressByNode.put(message.nodeId(), new NodeProgress(message.epoch(), message.sequence()));
+        } else if (message.epoch() < progress.epoch()) {
+            previous = -1;
+        } else {
+            previous = progress.sequence();
+            if (message.sequence() > previous) {
+                progressByNode.put(message.nodeId(), new NodeProgress(message.epoch(), message.sequence()));
+            }
+        }
+        if (previous >= 0 && message.sequence() > previous + 1) {
+            gaps.incrementAndGet();
+            logger.warn("Missed invalidations {}..{} from node {}, dropping customer caches", previous + 1,
+                    message.sequence() - 1, message.nodeId());
+            scheduleReload();
+            return;
+        }
+        invalidator.invalidate(message.customerIds());
+    }
+
+    private void scheduleReload() {
+        if (!reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        reloadExecutor.execute(() -> {
+            // Cleared first: a gap reported while the reload runs may postdate what it read, so it gets its own.
+            reloadPending.set(false);
+            try {
+                invalidator.invalidateAll();
+            } catch (RuntimeException ex) {
+                logger.error("Dropping customer caches failed", ex);
+            }
+        });
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getPublishedSequence() {
+        return sequence.get();
+    }
+
+    public long getGaps() {
+        return gaps.get();
+    }
+
+    private record NodeProgress(long epoch, long sequence) {
+    }
+}
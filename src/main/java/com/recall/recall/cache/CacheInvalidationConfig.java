@@ -0,0 +1,71 @@
+package com.recall.recall.cache;
+
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.store.EmailHashIndex;
+import com.recall.recall.store.EmailIndexLoader;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheInvalidationProperties properties,
+                                                     ObjectProvider<InvalidationTransport> transport,
+                                                     ObjectProvider<CustomerCacheInvalidator> invalidator) {
+        CustomerCacheInvalidator cacheInvalidator = invalidator.getIfAvailable();
+        if (!properties.isEnabled() || cacheInvalidator == null) {
+            return CacheInvalidationBus.disabled();
+        }
+        String nodeId = properties.getNodeId().isBlank() ? UUID.randomUUID().toString() : properties.getNodeId();
+        Executor reloads = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CacheInvalidationBus(nodeId, System.currentTimeMillis(), transport.getObject(), cacheInvalidator,
+                properties.getMaxBatchSize(), reloads);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "recall.cache.invalidation", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+    static class InvalidationConfig {
+
+        @Bean
+        public CustomerCacheInvalidator customerCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                                 CustomerRepository customerRepository,
+                                                                 EmailHashIndex emailHashIndex,
+                                                                 ObjectProvider<EmailIndexLoader> emailIndexLoader,
+                                                                 CustomerValidatorCache validatorCache) {
+            return new CustomerCacheInvalidator(entityManagerFactory, customerRepository, emailHashIndex, emailIndexLoader,
+                    validatorCache);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "recall.cache.invalidation", name = "transport", havingValue = "loopback", matchIfMissing = true)
+        public LoopbackInvalidationTransport loopbackInvalidationTransport() {
+            return new LoopbackInvalidationTransport();
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "recall.cache.invalidation", name = "transport", havingValue = "http")
+        public HttpInvalidationTransport httpInvalidationTransport(CacheInvalidationProperties properties,
+                                                                   JsonMapper jsonMapper) {
+            return new HttpInvalidationTransport(properties.getPeers(), jsonMapper, properties.getTimeout(),
+                    properties.getSharedSecret());
+        }
+    }
+}
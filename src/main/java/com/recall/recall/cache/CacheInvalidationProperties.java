@@ -0,0 +1,25 @@
+package com.recall.recall.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "recall.cache.invalidation")
+public class CacheInvalidationProperties {
+    private boolean enabled = false;
+    /** Identifies this node in messages; a random id per start when blank. */
+    private String nodeId = "";
+    /** loopback (in-process) or http (post to peers). */
+    private String transport = "loopback";
+    /** Base URLs of the other nodes, e.g. http://recall-2:8080, for the http transport. */
+    private List<String> peers = new ArrayList<>();
+    /** Sent with every batch by the http transport; batches without it are refused. Required for http. */
+    private String sharedSecret = "";
+    private Duration flushInterval = Duration.ofMillis(50);
+    private int maxBatchSize = 256;
+    private Duration timeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,45 @@
+package com.recall.recall.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+public class CacheRegionMetrics implements MeterBinder {
+    private final Statistics statistics;
+    private final List<String> regions;
+
+    public CacheRegionMetrics(Statistics statistics, List<String> regions) {
+        this.statistics = statistics;
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            counter(registry, region, "recall.cache.region.hits", CacheRegionStatistics::getHitCount);
+            counter(registry, region, "recall.cache.region.misses", CacheRegionStatistics::getMissCount);
+            counter(registry, region, "recall.cache.region.puts", CacheRegionStatistics::getPutCount);
+            Gauge.builder("recall.cache.region.size", statistics, stats -> value(stats, region, CacheRegionStatistics::getElementCountInMemory))
+                    .description("Entries held in memory by the region")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String region, String name, ToDoubleFunction<CacheRegionStatistics> metric) {
+        FunctionCounter.builder(name, statistics, stats -> value(stats, region, metric))
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double value(Statistics statistics, String region, ToDoubleFunction<CacheRegionStatistics> metric) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics == null ? 0 : metric.applyAsDouble(regionStatistics);
+    }
+}
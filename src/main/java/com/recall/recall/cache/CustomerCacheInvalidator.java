@@ -0,0 +1,57 @@
+package com.recall.recall.cache;
+
+import com.recall.recall.entity.Customer;
+import com.recall.recall.entity.CustomerCacheRegions;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.store.EmailHashIndex;
+import com.recall.recall.store.EmailIndexLoader;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Collection;
+
+/**
+ * Applies invalidations from other nodes to this node's caches: the customer entity region, the
+ * email query region, the conditional-GET validators and the email index, which only ever needs the emails it is missing added.
+ */
+public class CustomerCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CustomerRepository customerRepository;
+    private final EmailHashIndex emailHashIndex;
+    private final ObjectProvider<EmailIndexLoader> emailIndexLoader;
+    private final CustomerValidatorCache validatorCache;
+
+    public CustomerCacheInvalidator(EntityManagerFactory entityManagerFactory, CustomerRepository customerRepository,
+                                    EmailHashIndex emailHashIndex, ObjectProvider<EmailIndexLoader> emailIndexLoader,
+                                    CustomerValidatorCache validatorCache) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.customerRepository = customerRepository;
+        this.emailHashIndex = emailHashIndex;
+        this.emailIndexLoader = emailIndexLoader;
+        this.validatorCache = validatorCache;
+    }
+
+    public void invalidate(Collection<Long> customerIds) {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        customerIds.forEach(id -> cache.evict(Customer.class, id));
+        validatorCache.invalidateAll(customerIds);
+        evictEmailQueries();
+        if (emailHashIndex.isEnabled()) {
+            customerRepository.findAllById(customerIds).forEach(customer -> emailHashIndex.add(customer.getEmail()));
+        }
+    }
+
+    /** Used after a missed batch, when the changed ids are unknown. */
+    public void invalidateAll() {
+        entityManagerFactory.getCache().evict(Customer.class);
+        validatorCache.invalidateAll();
+        evictEmailQueries();
+        emailIndexLoader.ifAvailable(EmailIndexLoader::load);
+    }
+
+    private void evictEmailQueries() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(CustomerCacheRegions.EMAIL_QUERIES);
+    }
+}
@@ -0,0 +1,61 @@
+package com.recall.recall.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Last known version of recently read customers, so a conditional GET whose If-None-Match still
+ * matches is answered without a database read. Versions only move forward; entries expire after a
+ * short TTL, which bounds staleness from changes that bypass the controller and the invalidation bus.
+ */
+public class CustomerValidatorCache {
+
+    private final Cache<Long, Long> versions;
+
+    public CustomerValidatorCache(long maxSize, Duration ttl) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    private CustomerValidatorCache() {
+        this.versions = null;
+    }
+
+    /** A cache that remembers nothing, so every conditional GET reads the customer. */
+    public static CustomerValidatorCache disabled() {
+        return new CustomerValidatorCache();
+    }
+
+    public Long getVersion(Long id) {
+        return versions == null ? null : versions.getIfPresent(id);
+    }
+
+    public void recordVersion(Long id, Long version) {
+        if (versions != null && id != null && version != null) {
+            versions.asMap().merge(id, version, Math::max);
+        }
+    }
+
+    public void invalidate(Long id) {
+        if (versions != null) {
+            versions.invalidate(id);
+        }
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        if (versions != null) {
+            versions.invalidateAll(ids);
+        }
+    }
+
+    public void invalidateAll() {
+        if (versions != null) {
+            versions.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.recall.recall.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Posts each batch to the configured peers without blocking the publisher; peers hand it to
+ * {@link #receive(InvalidationMessage)} from their invalidation endpoint. Posts to one peer go one at
+ * a time in sequence order, so a peer never sees a reordering it would take for a gap. A failed post,
+ * or one dropped because the peer's backlog is full, is only logged; the peer notices the sequence gap
+ * on its next batch. Every post carries the cluster's shared
+ * secret, and the endpoint refuses batches without it.
+ */
+public class HttpInvalidationTransport implements InvalidationTransport {
+
+    public static final String PATH = "/internal/cache/invalidations";
+    public static final String SECRET_HEADER = "X-Invalidation-Secret";
+
+    private static final Logger logger = LogManager.getLogger(HttpInvalidationTransport.class);
+    private static final int MAX_QUEUED_PER_PEER = 32;
+
+    private final List<Peer> peers;
+    private final JsonMapper jsonMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final String sharedSecret;
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    public HttpInvalidationTransport(List<String> peers, JsonMapper jsonMapper, Duration timeout, String sharedSecret) {
+        if (sharedSecret == null || sharedSecret.isBlank()) {
+            throw new IllegalStateException("recall.cache.invalidation.shared-secret is required for the http transport");
+        }
+        this.peers = peers.stream().map(peer -> new Peer(URI.create(peer.replaceAll("/+$", "") + PATH))).toList();
+        this.jsonMapper = jsonMapper;
+        this.timeout = timeout;
+        this.sharedSecret = sharedSecret;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public synchronized void publish(InvalidationMessage message) {
+        byte[] body = jsonMapper.writeValueAsBytes(message);
+        for (Peer peer : peers) {
+            if (peer.queued.incrementAndGet() > MAX_QUEUED_PER_PEER) {
+                peer.queued.decrementAndGet();
+                logger.warn("Invalidation {} to {} dropped, {} batches already queued", message.sequence(), peer.uri,
+                        MAX_QUEUED_PER_PEER);
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(peer.uri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header(SECRET_HEADER, sharedSecret)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            peer.tail = peer.tail
+                    .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                    .handle((response, ex) -> {
+                        peer.queued.decrementAndGet();
+                        if (ex != null || response.statusCode() >= 300) {
+                            logger.warn("Invalidation {} to {} failed: {}", message.sequence(), peer.uri,
+                                    ex != null ? ex.getMessage() : "HTTP " + response.statusCode());
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isTrusted(String secret) {
+        return secret != null && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                sharedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void receive(InvalidationMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    private static final class Peer {
+        private final URI uri;
+        private final AtomicInteger queued = new AtomicInteger();
+        // Completes when this peer's last post has been answered; each post chains onto the previous one.
+        private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+        private Peer(URI uri) {
+            this.uri = uri;
+        }
+    }
+}
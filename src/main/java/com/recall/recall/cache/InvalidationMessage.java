@@ -0,0 +1,11 @@
+package com.recall.recall.cache;
+
+import java.util.List;
+
+/**
+ * One batch of customer ids changed on {@code nodeId}. Sequences are per process and start at 1, so a
+ * receiver that sees a jump knows it missed a batch; {@code epoch} identifies the process, so a node
+ * restarted under the same id is recognised instead of looking like it went backwards.
+ */
+public record InvalidationMessage(String nodeId, long epoch, long sequence, List<Long> customerIds) {
+}
@@ -0,0 +1,11 @@
+package com.recall.recall.cache;
+
+import java.util.function.Consumer;
+
+/** Carries invalidation batches between nodes. Delivery may be lossy; receivers detect gaps by sequence. */
+public interface InvalidationTransport {
+
+    void publish(InvalidationMessage message);
+
+    void subscribe(Consumer<InvalidationMessage> listener);
+}
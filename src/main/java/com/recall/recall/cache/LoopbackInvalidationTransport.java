@@ -0,0 +1,24 @@
+package com.recall.recall.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers every message synchronously to every subscriber in this JVM, the publisher included. Used
+ * for single-node runs and for tests that share one instance between several buses.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+}
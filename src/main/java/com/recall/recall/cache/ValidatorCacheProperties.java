@@ -0,0 +1,14 @@
+package com.recall.recall.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.validator-cache")
+public class ValidatorCacheProperties {
+    private boolean enabled = true;
+    private long maxSize = 100_000;
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,33 @@
+package com.recall.recall.capture;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Configuration
+@EnableConfigurationProperties(CaptureProperties.class)
+@ConditionalOnProperty(prefix = "recall.capture", name = "enabled", havingValue = "true")
+public class CaptureConfig {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Bean(destroyMethod = "close")
+    public TrafficRecorder trafficRecorder(CaptureProperties properties) throws IOException {
+        Path directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        Path file = directory.resolve("requests-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".rcap");
+        return new TrafficRecorder(new CaptureLogWriter(file, System.currentTimeMillis()),
+                properties.getMaxFileBytes(), properties.getQueueCapacity());
+    }
+
+    @Bean
+    public TrafficCaptureFilter trafficCaptureFilter(TrafficRecorder trafficRecorder, CaptureProperties properties) {
+        return new TrafficCaptureFilter(trafficRecorder, properties);
+    }
+}
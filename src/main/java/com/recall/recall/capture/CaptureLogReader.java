@@ -0,0 +1,59 @@
+package com.recall.recall.capture;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Reads a log written by {@link CaptureLogWriter}; a truncated trailing record is ignored. */
+public final class CaptureLogReader {
+
+    private CaptureLogReader() {
+    }
+
+    public static List<CapturedRequest> readAll(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != CaptureLogWriter.MAGIC) {
+                throw new IOException(file + " is not a capture log");
+            }
+            int version = in.readInt();
+            if (version < 1 || version > CaptureLogWriter.VERSION) {
+                throw new IOException("Unsupported capture log version " + version);
+            }
+            in.readLong();
+            List<CapturedRequest> requests = new ArrayList<>();
+            while (true) {
+                try {
+                    requests.add(readRecord(in, version));
+                } catch (EOFException endOfLog) {
+                    return requests;
+                }
+            }
+        }
+    }
+
+    private static CapturedRequest readRecord(DataInputStream in, int version) throws IOException {
+        long offsetMicros = in.readLong();
+        long durationMicros = Integer.toUnsignedLong(in.readInt());
+        int status = in.readUnsignedShort();
+        String method = in.readUTF();
+        String uri = in.readUTF();
+        int headerCount = in.readUnsignedByte();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(in.readUTF(), in.readUTF());
+        }
+        int flags = version >= 2 ? in.readUnsignedByte() : 0;
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return new CapturedRequest(TimeUnit.MICROSECONDS.toNanos(offsetMicros), method, uri, headers, body,
+                (flags & CaptureLogWriter.FLAG_BODY_TRUNCATED) != 0, status, TimeUnit.MICROSECONDS.toNanos(durationMicros));
+    }
+}
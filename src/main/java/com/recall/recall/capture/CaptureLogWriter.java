@@ -0,0 +1,64 @@
+package com.recall.recall.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends captured requests to a compact binary log.
+ * <p>
+ * Layout: {@code int MAGIC, int VERSION, long capturedAtEpochMilli}, then one record per request:
+ * {@code long offsetMicros, int durationMicros, short status, UTF method, UTF uri, byte headerCount,
+ * headerCount x (UTF name, UTF value), byte flags, int bodyLength, body}. There is no footer, so a log
+ * cut short by a crash is readable up to its last complete record. Version 1 logs have no flags byte.
+ */
+public class CaptureLogWriter implements Closeable {
+
+    static final int MAGIC = 0x52434150;
+    static final int VERSION = 2;
+    static final int FLAG_BODY_TRUNCATED = 1;
+
+    private final DataOutputStream out;
+
+    public CaptureLogWriter(Path file, long capturedAtEpochMilli) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(capturedAtEpochMilli);
+    }
+
+    public void write(CapturedRequest request) throws IOException {
+        out.writeLong(TimeUnit.NANOSECONDS.toMicros(request.offsetNanos()));
+        out.writeInt((int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(request.durationNanos())));
+        out.writeShort(request.status());
+        out.writeUTF(request.method());
+        out.writeUTF(request.uri());
+        out.writeByte(request.headers().size());
+        for (Map.Entry<String, String> header : request.headers().entrySet()) {
+            out.writeUTF(header.getKey());
+            out.writeUTF(header.getValue());
+        }
+        out.writeByte(request.bodyTruncated() ? FLAG_BODY_TRUNCATED : 0);
+        out.writeInt(request.body().length);
+        out.write(request.body());
+    }
+
+    /** Bytes written so far, header included; saturates at {@link Integer#MAX_VALUE}. */
+    public long size() {
+        return out.size();
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
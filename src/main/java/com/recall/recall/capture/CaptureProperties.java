@@ -0,0 +1,23 @@
+package com.recall.recall.capture;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "recall.capture")
+public class CaptureProperties {
+    private boolean enabled = false;
+    /** Fraction of matching requests captured, from 0 to 1. */
+    private double sampleRate = 0.01;
+    private List<String> paths = List.of("/api/v1/customers/**", "/api/v1/async/customers/**");
+    /** Each start gets its own file in this directory. */
+    private String directory = "capture";
+    /** Request bodies are cut at this many bytes. */
+    private int maxBodyBytes = 4096;
+    /** Capture stops once the log reaches this size. */
+    private long maxFileBytes = 256L * 1024 * 1024;
+    /** Requests waiting for the writer thread; a full queue drops the sample instead of blocking. */
+    private int queueCapacity = 10_000;
+}
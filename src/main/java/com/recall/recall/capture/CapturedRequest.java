@@ -0,0 +1,13 @@
+package com.recall.recall.capture;
+
+import java.util.Map;
+
+/**
+ * One sampled request. {@code offsetNanos} is its arrival time relative to the start of the capture,
+ * which is what replay schedules from; {@code durationNanos} is how long this node took to answer it.
+ * {@code bodyTruncated} marks a body cut at the capture limit, or not read in full by the application,
+ * which replay cannot send as the client did.
+ */
+public record CapturedRequest(long offsetNanos, String method, String uri, Map<String, String> headers,
+                              byte[] body, boolean bodyTruncated, int status, long durationNanos) {
+}
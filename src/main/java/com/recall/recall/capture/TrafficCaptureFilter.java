@@ -0,0 +1,117 @@
+package com.recall.recall.capture;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples requests to the customer endpoints into the capture log. It runs ahead of the rate limiter
+ * so the log holds what clients sent, not what was admitted. Unsampled requests cost a path match and
+ * a random draw; only sampled ones have their body buffered. Credentials are never captured; only
+ * the headers replay needs to reproduce content negotiation and conditional requests are kept.
+ */
+public class TrafficCaptureFilter extends OncePerRequestFilter implements Ordered {
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final List<String> CAPTURED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+            HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH);
+
+    private final TrafficRecorder recorder;
+    private final List<PathPattern> paths;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+
+    public TrafficCaptureFilter(TrafficRecorder recorder, CaptureProperties properties) {
+        this.recorder = recorder;
+        this.paths = properties.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.sampleRate = properties.getSampleRate();
+        this.maxBodyBytes = properties.getMaxBodyBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!recorder.isAccepting() || ThreadLocalRandom.current().nextDouble() >= sampleRate || !matches(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            if (wrapper.isAsyncStarted()) {
+                wrapper.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(wrapper, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(wrapper, response, start);
+            }
+        }
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(ContentCachingRequestWrapper request, HttpServletResponse response, long start) {
+        long end = System.nanoTime();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : CAPTURED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        String query = request.getQueryString();
+        String uri = query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+        byte[] body = request.getContentAsByteArray();
+        // Only what the application read is cached, up to the limit; without a length, a full buffer may have been cut.
+        long length = request.getContentLengthLong();
+        boolean truncated = length >= 0 ? body.length < length : body.length >= maxBodyBytes;
+        recorder.record(new CapturedRequest(start - recorder.startNanos(), request.getMethod(), uri, headers,
+                body, truncated, response.getStatus(), end - start));
+    }
+}
@@ -0,0 +1,111 @@
+package com.recall.recall.capture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands captured requests to a single writer thread through a bounded queue. Request threads only
+ * ever offer, so a slow disk costs dropped samples, never latency.
+ */
+public class TrafficRecorder implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(TrafficRecorder.class);
+    private static final int DRAIN_BATCH = 256;
+
+    private final CaptureLogWriter writer;
+    private final long maxFileBytes;
+    private final BlockingQueue<CapturedRequest> queue;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean full;
+
+    public TrafficRecorder(CaptureLogWriter writer, long maxFileBytes, int queueCapacity) {
+        this.writer = writer;
+        this.maxFileBytes = maxFileBytes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::drain, "traffic-capture");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public long startNanos() {
+        return startNanos;
+    }
+
+    public boolean isAccepting() {
+        return running && !full;
+    }
+
+    public void record(CapturedRequest request) {
+        if (!isAccepting() || !queue.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    public long getCaptured() {
+        return captured.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        List<CapturedRequest> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                CapturedRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<CapturedRequest> batch) {
+        if (full) {
+            dropped.add(batch.size());
+            return;
+        }
+        try {
+            for (CapturedRequest request : batch) {
+                writer.write(request);
+                captured.increment();
+            }
+            writer.flush();
+            if (writer.size() >= maxFileBytes) {
+                full = true;
+                logger.warn("Traffic capture stopped: log reached {} bytes", writer.size());
+            }
+        } catch (IOException ex) {
+            full = true;
+            logger.error("Traffic capture stopped: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        writer.close();
+        logger.info("Traffic capture closed: {} requests written, {} dropped", getCaptured(), getDropped());
+    }
+}
@@ -0,0 +1,83 @@
+package com.recall.recall.controller;
+
+import com.recall.recall.dto.CountDTO;
+import com.recall.recall.dto.SnapshotInfoDTO;
+import com.recall.recall.snapshot.ColumnarSnapshotReader;
+import com.recall.recall.snapshot.CustomerSnapshotService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@RequestMapping("/api/v1/analytics")
+@RestController
+@ConditionalOnProperty(prefix = "recall.snapshot", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class AnalyticsController {
+    private static final int MAX_TOP = 1000;
+
+    private final CustomerSnapshotService snapshotService;
+
+    public AnalyticsController(CustomerSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<SnapshotInfoDTO> getSnapshot() {
+        return ResponseEntity.ok(toInfo(snapshotService.current()));
+    }
+
+    // A full export takes as long as a table scan, so it runs in the background; poll GET /snapshot for exportedAt.
+    @PostMapping("/snapshot")
+    public ResponseEntity<Void> exportSnapshot() {
+        snapshotService.exportInBackground();
+        return ResponseEntity.accepted().location(URI.create("/api/v1/analytics/snapshot")).build();
+    }
+
+    @GetMapping("/email-domains")
+    public ResponseEntity<List<CountDTO>> getEmailDomains(@RequestParam(defaultValue = "20") int top) {
+        if (top < 1 || top > MAX_TOP) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+        }
+        List<CountDTO> domains = snapshotService.current().countByEmailDomain().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                .limit(top)
+                .map(entry -> new CountDTO(entry.getKey(), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(domains);
+    }
+
+    @GetMapping("/signups")
+    public ResponseEntity<List<CountDTO>> getSignups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        boolean byMonth = switch (granularity) {
+            case "day" -> false;
+            case "month" -> true;
+            default -> throw new IllegalArgumentException("granularity must be 'day' or 'month'");
+        };
+        List<CountDTO> buckets = snapshotService.current().countCreatedBetween(from, to, byMonth).entrySet().stream()
+                .map(entry -> new CountDTO(entry.getKey().toString(), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(buckets);
+    }
+
+    private static SnapshotInfoDTO toInfo(ColumnarSnapshotReader reader) {
+        return SnapshotInfoDTO.builder()
+                .customers(reader.getRowCount())
+                .rowGroups(reader.getRowGroupCount())
+                .sizeBytes(reader.getSizeBytes())
+                .exportedAt(reader.getExportedAt())
+                .build();
+    }
+}
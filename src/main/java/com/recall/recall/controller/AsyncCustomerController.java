@@ -0,0 +1,85 @@
+package com.recall.recall.controller;
+
+import com.recall.recall.bulkhead.CustomerBulkheads;
+import com.recall.recall.dto.CustomerBatchRequestDTO;
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The customer endpoints run on bulkhead executors instead of the servlet thread, which is released
+ * as soon as the task is queued. Point reads, list scans and writes each get their own pool, so a slow
+ * scan backlog fills only the scan queue. The work itself is {@link CustomerController}'s, ETags and
+ * retries included.
+ */
+@RequestMapping("/api/v1/async/customers")
+@RestController
+@ConditionalOnProperty(prefix = "recall.bulkhead", name = "enabled", havingValue = "true")
+public class AsyncCustomerController {
+    private final CustomerController customerController;
+    private final CustomerBulkheads bulkheads;
+
+    public AsyncCustomerController(CustomerController customerController, CustomerBulkheads bulkheads) {
+        this.customerController = customerController;
+        this.bulkheads = bulkheads;
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<CustomerResponseDTO>> getCustomerById(@PathVariable Long id,
+                                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return bulkheads.pointReads().submit(() -> customerController.getCustomerById(id, ifNoneMatch));
+    }
+
+    @GetMapping("")
+    public CompletableFuture<ResponseEntity<Page<CustomerResponseDTO>>> getAllCustomers(Pageable pageable) {
+        return bulkheads.scans().submit(() -> customerController.getAllCustomers(pageable));
+    }
+
+    @GetMapping("/created")
+    public CompletableFuture<ResponseEntity<CustomerSliceDTO>> getCustomersCreatedBetween(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return bulkheads.scans().submit(() -> customerController.getCustomersCreatedBetween(days, from, to, cursor, size));
+    }
+
+    @PostMapping("")
+    public CompletableFuture<ResponseEntity<CustomerResponseDTO>> createCustomer(@Valid @RequestBody CustomerRequestDTO customerRequestDTO) {
+        return bulkheads.writes().submit(() -> customerController.createCustomer(customerRequestDTO));
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<CustomerResponseDTO>>> createCustomers(@Valid @RequestBody CustomerBatchRequestDTO customerBatchRequestDTO) {
+        return bulkheads.writes().submit(() -> customerController.createCustomers(customerBatchRequestDTO));
+    }
+
+    @PostMapping("/{id}/restore")
+    public CompletableFuture<ResponseEntity<CustomerResponseDTO>> restoreCustomer(@PathVariable Long id) {
+        return bulkheads.writes().submit(() -> customerController.restoreCustomer(id));
+    }
+
+    @PutMapping("")
+    public CompletableFuture<ResponseEntity<CustomerResponseDTO>> updateCustomer(@Valid @RequestBody CustomerRequestDTO customerRequestDTO,
+                                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return bulkheads.writes().submit(() -> customerController.updateCustomer(customerRequestDTO, ifMatch));
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<?>> deleteCustomer(@PathVariable Long id) {
+        return bulkheads.writes().submit(() -> customerController.deleteCustomer(id));
+    }
+}
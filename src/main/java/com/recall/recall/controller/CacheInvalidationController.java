@@ -0,0 +1,37 @@
+package com.recall.recall.controller;
+
+import com.recall.recall.cache.HttpInvalidationTransport;
+import com.recall.recall.cache.InvalidationMessage;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Receiving end of the http invalidation transport; peers post their batches here with the shared secret. */
+@Hidden
+@RestController
+@ConditionalOnProperty(prefix = "recall.cache.invalidation", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "recall.cache.invalidation", name = "transport", havingValue = "http")
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class CacheInvalidationController {
+
+    private final HttpInvalidationTransport transport;
+
+    public CacheInvalidationController(HttpInvalidationTransport transport) {
+        this.transport = transport;
+    }
+
+    @PostMapping(HttpInvalidationTransport.PATH)
+    public ResponseEntity<Void> receive(@RequestHeader(value = HttpInvalidationTransport.SECRET_HEADER, required = false) String secret,
+                                        @RequestBody InvalidationMessage message) {
+        if (!transport.isTrusted(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        transport.receive(message);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -1,57 +1,221 @@
 package com.recall.recall.controller;
 
+import com.recall.recall.cache.CustomerValidatorCache;
+import com.recall.recall.dto.CustomerBatchRequestDTO;
 import com.recall.recall.dto.CustomerRequestDTO;
 import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
 import com.recall.recall.dto.ErrorResponseDTO;
 import com.recall.recall.dto.SuccessResponseDTO;
-import com.recall.recall.services.CustomerServiceImpl;
+import com.recall.recall.exception.VersionConflictException;
+import com.recall.recall.hotkeys.HotKeyTracker;
+import com.recall.recall.services.CustomerService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 
 
 
 @RequestMapping("/api/v1/customers")
 @RestController
 public class CustomerController {
-    private final CustomerServiceImpl customerService;
+    private static final Pattern ENTITY_TAG = Pattern.compile("\\s*(W/)?\"([^\"]*)\"\\s*(?:,|$)");
+
+    private final CustomerService customerService;
+    private final int updateRetries;
+    private final CustomerValidatorCache validatorCache;
+    private final HotKeyTracker hotKeys;
 
-    public CustomerController(CustomerServiceImpl customerService) {
+    public CustomerController(CustomerService customerService,
+                              @Value("${recall.customer.update-retries:3}") int updateRetries,
+                              ObjectProvider<CustomerValidatorCache> validatorCache,
+                              ObjectProvider<HotKeyTracker> hotKeys) {
         this.customerService = customerService;
+        this.updateRetries = updateRetries;
+        this.validatorCache = validatorCache.getIfAvailable(CustomerValidatorCache::disabled);
+        this.hotKeys = hotKeys.getIfAvailable(HotKeyTracker::disabled);
     }
 
+    // Responses carrying an ETag that If-None-Match names are turned into 304s before the body is written.
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        hotKeys.recordId(id);
+        Long knownVersion = ifNoneMatch == null ? null : validatorCache.getVersion(id);
+        if (knownVersion != null && CustomerETags.matches(ifNoneMatch, CustomerETags.of(knownVersion))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(CustomerETags.of(knownVersion))
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         return customerService.getCustomerById(id)
-                .map(ResponseEntity::ok)
+                .map(customer -> {
+                    validatorCache.recordVersion(id, customer.getVersion());
+                    return withETag(customer);
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("")
     public ResponseEntity<Page<CustomerResponseDTO>> getAllCustomers(Pageable pageable) {
         Page<CustomerResponseDTO> customerResponseDTOs = customerService.getAllCustomers(pageable);
-        return ResponseEntity.ok(customerResponseDTOs);
+        return ResponseEntity.ok()
+                .eTag(CustomerETags.of(customerResponseDTOs.getContent(), customerResponseDTOs.getNumber(),
+                        customerResponseDTOs.getSize(), customerResponseDTOs.getTotalElements(), customerResponseDTOs.getSort()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(customerResponseDTOs);
+    }
+
+    @GetMapping("/created")
+    public ResponseEntity<CustomerSliceDTO> getCustomersCreatedBetween(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from;
+        if (start == null) {
+            if (days == null || days < 1) {
+                throw new IllegalArgumentException("Either 'from' or a positive 'days' is required");
+            }
+            start = end.minusDays(days);
+        }
+        CustomerSliceDTO slice = customerService.getCustomersCreatedBetween(start, end, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(CustomerETags.of(slice.getContent(), slice.getNextCursor()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(slice);
     }
 
     @PostMapping("")
     public ResponseEntity<CustomerResponseDTO> createCustomer(@Valid @RequestBody CustomerRequestDTO customerRequestDTO) {
+        hotKeys.recordEmail(customerRequestDTO.getEmail());
         CustomerResponseDTO savedCustomer = customerService.createCustomer(customerRequestDTO);
         return ResponseEntity.ok(savedCustomer);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<CustomerResponseDTO>> createCustomers(@Valid @RequestBody CustomerBatchRequestDTO customerBatchRequestDTO) {
+        customerBatchRequestDTO.getCustomers().forEach(customer -> hotKeys.recordEmail(customer.getEmail()));
+        List<CustomerResponseDTO> savedCustomers = customerService.createCustomers(customerBatchRequestDTO.getCustomers());
+        return ResponseEntity.ok(savedCustomers);
+    }
+
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<CustomerResponseDTO> restoreCustomer(@PathVariable Long id) {
+        hotKeys.recordId(id);
+        CustomerResponseDTO restored = customerService.restoreCustomer(id);
+        recordCommittedVersion(restored);
+        return withETag(restored);
+    }
+
     @PutMapping("")
-    public ResponseEntity<CustomerResponseDTO> updateCustomer(@Valid @RequestBody CustomerRequestDTO customerRequestDTO) {
-        CustomerResponseDTO updated = customerService.updateCustomer(customerRequestDTO);
-        return ResponseEntity.ok(updated);
+    public ResponseEntity<CustomerResponseDTO> updateCustomer(@Valid @RequestBody CustomerRequestDTO customerRequestDTO,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<Long> acceptedVersions = parseIfMatch(ifMatch);
+        hotKeys.recordId(customerRequestDTO.getId());
+        hotKeys.recordEmail(customerRequestDTO.getEmail());
+        CustomerResponseDTO updated;
+        if (acceptedVersions == null) {
+            updated = updateWithRetry(customerRequestDTO);
+        } else {
+            try {
+                updated = customerService.updateCustomer(customerRequestDTO, acceptedVersions);
+            } catch (OptimisticLockingFailureException ex) {
+                throw new VersionConflictException(customerRequestDTO.getId());
+            }
+        }
+        recordCommittedVersion(updated);
+        return withETag(updated);
+    }
+
+    // Writes come back flushed, so this is the new version; it only lands once committed, and the cache keeps
+    // the higher of it and whatever a concurrent GET read before the commit. Warm-up calls this inside a
+    // transaction it rolls back, which must record nothing.
+    private void recordCommittedVersion(CustomerResponseDTO customer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            validatorCache.recordVersion(customer.getId(), customer.getVersion());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                validatorCache.recordVersion(customer.getId(), customer.getVersion());
+            }
+        });
+    }
+
+    // Without If-Match the client asked for its fields to win, so a concurrent commit is merged by re-applying them.
+    private CustomerResponseDTO updateWithRetry(CustomerRequestDTO customerRequestDTO) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return customerService.updateCustomer(customerRequestDTO);
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= updateRetries) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static ResponseEntity<CustomerResponseDTO> withETag(CustomerResponseDTO customer) {
+        return ResponseEntity.ok().eTag(CustomerETags.of(customer)).varyBy(HttpHeaders.ACCEPT).body(customer);
+    }
+
+    // RFC 9110 If-Match: "*" matches any current version, so it needs no check (null); otherwise the versions of
+    // the strong tags in the list. Weak tags never match under the strong comparison, so a list of only weak or
+    // foreign tags yields no versions and fails the precondition.
+    private static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        Matcher matcher = ENTITY_TAG.matcher(ifMatch);
+        for (int from = 0; from < ifMatch.length(); from = matcher.end()) {
+            if (!matcher.region(from, ifMatch.length()).lookingAt()) {
+                throw new IllegalArgumentException("If-Match must be * or a list of ETags returned by GET");
+            }
+            if (matcher.group(1) == null) {
+                versionOf(matcher.group(2)).ifPresent(versions::add);
+            }
+        }
+        return versions;
+    }
+
+    // Only the exact text CustomerETags writes matches; "+3" or "03" are other tags under strong comparison.
+    private static Optional<Long> versionOf(String tag) {
+        try {
+            long version = Long.parseLong(tag);
+            return Long.toString(version).equals(tag) ? Optional.of(version) : Optional.empty();
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCustomer(@PathVariable Long id) {
+            hotKeys.recordId(id);
             try {
                 customerService.deleteCustomer(id);
+                validatorCache.invalidate(id);
                 SuccessResponseDTO successResponseDTO = SuccessResponseDTO.builder().message("Customer with id " + id + " deleted successfully.").build();
                 return ResponseEntity.ok(successResponseDTO);
             } catch (Exception e) {
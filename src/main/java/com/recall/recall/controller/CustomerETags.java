@@ -0,0 +1,73 @@
+package com.recall.recall.controller;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Strong ETags for customer representations: the row version when there is one, otherwise a hash of
+ * the fields; list tags hash every element's tag with the page position and total. A tag names the data,
+ * not the media type it was written in, so every response carrying one also sends {@code Vary: Accept}
+ * and caches keep the JSON, CBOR and Smile copies apart.
+ */
+final class CustomerETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CustomerETags() {
+    }
+
+    static String of(CustomerResponseDTO customer) {
+        if (customer.getVersion() != null) {
+            return of(customer.getVersion());
+        }
+        return "\"h" + Long.toHexString(mix(FNV_OFFSET, contentHash(customer))) + "\"";
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(List<CustomerResponseDTO> customers, Object... position) {
+        long hash = FNV_OFFSET;
+        for (Object part : position) {
+            hash = mix(hash, Objects.hashCode(part));
+        }
+        for (CustomerResponseDTO customer : customers) {
+            hash = mix(hash, customer.getId() == null ? 0 : customer.getId());
+            hash = mix(hash, customer.getVersion() != null ? customer.getVersion() : contentHash(customer));
+        }
+        return "\"l" + Long.toHexString(hash) + "\"";
+    }
+
+    /** Whether an If-None-Match value names {@code eTag}; weak comparison, as RFC 9110 asks for GET. */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long contentHash(CustomerResponseDTO customer) {
+        return Objects.hash(customer.getId(), customer.getName(), customer.getEmail(), customer.getCreatedAt());
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
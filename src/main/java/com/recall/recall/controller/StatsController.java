@@ -0,0 +1,47 @@
+package com.recall.recall.controller;
+
+import com.recall.recall.dto.CountDTO;
+import com.recall.recall.dto.CustomerStatsDTO;
+import com.recall.recall.stats.CustomerStats;
+import com.recall.recall.stats.StatsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequestMapping("/api/v1/stats")
+@RestController
+@ConditionalOnProperty(prefix = "recall.stats", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class StatsController {
+
+    private final CustomerStats customerStats;
+    private final int retainedDays;
+
+    public StatsController(CustomerStats customerStats, StatsProperties properties) {
+        this.customerStats = customerStats;
+        this.retainedDays = properties.getRetainedDays();
+    }
+
+    @GetMapping("/customers")
+    public ResponseEntity<CustomerStatsDTO> getCustomerStats(@RequestParam(defaultValue = "30") int days) {
+        if (days < 1 || days > retainedDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + retainedDays);
+        }
+        LocalDate today = LocalDate.now();
+        List<CountDTO> signups = new ArrayList<>(days);
+        for (LocalDate day = today.minusDays(days - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            signups.add(new CountDTO(day.toString(), customerStats.getSignups(day)));
+        }
+        return ResponseEntity.ok(CustomerStatsDTO.builder()
+                .totalCustomers(customerStats.getTotal())
+                .signupsPerDay(signups)
+                .build());
+    }
+}
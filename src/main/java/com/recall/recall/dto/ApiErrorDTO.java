@@ -0,0 +1,14 @@
+package com.recall.recall.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ApiErrorDTO {
+    LocalDateTime timestamp;
+    int status;
+    String error;
+    /** Either a single message or a list of field-level messages. */
+    Object message;
+}
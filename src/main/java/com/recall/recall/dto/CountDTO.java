@@ -0,0 +1,16 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One bucket of an analytics aggregate, e.g. an email domain or a signup day. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountDTO {
+    private String key;
+    private long customers;
+}
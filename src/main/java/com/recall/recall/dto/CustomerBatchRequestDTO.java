@@ -0,0 +1,30 @@
+package com.recall.recall.dto;
+
+import com.recall.recall.validation.BatchLookups;
+import com.recall.recall.validation.FieldChecks;
+import com.recall.recall.validation.UniqueEmails;
+import jakarta.validation.GroupSequence;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.ConvertGroup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@GroupSequence({CustomerBatchRequestDTO.class, BatchLookups.class})
+public class CustomerBatchRequestDTO {
+
+    @NotEmpty(message = "At least one customer is required")
+    @Size(max = 1000, message = "At most 1000 customers per batch")
+    @UniqueEmails(groups = BatchLookups.class)
+    private List<@NotNull @Valid @ConvertGroup(to = FieldChecks.class) CustomerRequestDTO> customers;
+}
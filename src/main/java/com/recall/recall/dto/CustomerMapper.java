@@ -1,23 +1,26 @@
 package com.recall.recall.dto;
 
 import com.recall.recall.entity.Customer;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
 
-@Component
-public class CustomerMapper {
+/**
+ * Generated at compile time as CustomerMapperImpl. Lombok builders are bypassed so the generated code
+ * copies fields straight into the target instead of allocating a builder per conversion; any target
+ * property left unmapped fails the build.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        builder = @Builder(disableBuilder = true),
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CustomerMapper {
 
-    public CustomerResponseDTO toResponseDTO(Customer customer) {
-        if (customer == null) {
-            return null;
-        }
-        return CustomerResponseDTO.builder().id(customer.getId()).name(customer.getName()).email(customer.getEmail()).createdAt(customer.getCreatedAt()).build();
-    }
+    CustomerResponseDTO toResponseDTO(Customer customer);
 
-    public Customer toEntity(CustomerRequestDTO requestDTO) {
-        if (requestDTO == null) {
-            return null;
-        }
-        return Customer.builder().id(requestDTO.getId()).name(requestDTO.getName()).email(requestDTO.getEmail()).build();
-    }
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Customer toEntity(CustomerRequestDTO requestDTO);
 }
-
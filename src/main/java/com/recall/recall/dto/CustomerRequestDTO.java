@@ -1,8 +1,11 @@
 package com.recall.recall.dto;
 
 import com.recall.recall.validation.DuplicateEmail;
+import com.recall.recall.validation.FieldChecks;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,13 +17,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @DuplicateEmail(message="Email already exist")
 public class CustomerRequestDTO {
+    // Batch items only create customers; an id there would turn the save into an overwrite.
+    @Null(message = "Id must not be set when creating customers", groups = FieldChecks.class)
     private Long id;
 
-    @NotBlank(message = "Name is required")
+    @NotBlank(message = "Name is required", groups = {Default.class, FieldChecks.class})
     private String name;
 
-    @Email(message = "Enter a valid email")
-    @NotBlank(message = "Email is required")
+    @Email(message = "Enter a valid email", groups = {Default.class, FieldChecks.class})
+    @NotBlank(message = "Email is required", groups = {Default.class, FieldChecks.class})
     private String email;
 }
 
@@ -1,5 +1,6 @@
 package com.recall.recall.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,5 +18,8 @@ public class CustomerResponseDTO {
     private String name;
     private String email;
     private LocalDateTime createdAt;
+    /** Sent as the ETag rather than in the body. */
+    @JsonIgnore
+    private Long version;
 }
 
@@ -0,0 +1,19 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSliceDTO {
+    private List<CustomerResponseDTO> content;
+    private int size;
+    /** Cursor for the next slice, or null when this is the last one. */
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStatsDTO {
+    private long totalCustomers;
+    /** Live customers per creation day, oldest first. */
+    private List<CountDTO> signupsPerDay;
+}
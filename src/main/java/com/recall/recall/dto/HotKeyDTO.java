@@ -0,0 +1,16 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyDTO {
+    private String key;
+    /** Decayed access count; may overestimate, never underestimates. */
+    private long accesses;
+}
@@ -0,0 +1,23 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyReportDTO {
+    /** How often counts are halved; estimates are weighted accesses over roughly the last few windows. */
+    private String window;
+    private long idAccesses;
+    /** Most accessed customer ids, highest estimate first. */
+    private List<HotKeyDTO> ids;
+    private long emailAccesses;
+    /** Most accessed emails, keyed by their hash rather than the address. */
+    private List<HotKeyDTO> emails;
+}
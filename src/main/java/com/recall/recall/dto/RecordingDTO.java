@@ -0,0 +1,22 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingDTO {
+    private long id;
+    private String name;
+    private String state;
+    private Instant startTime;
+    private Duration duration;
+    private long sizeBytes;
+}
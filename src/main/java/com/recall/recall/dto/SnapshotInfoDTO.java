@@ -0,0 +1,19 @@
+package com.recall.recall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotInfoDTO {
+    private long customers;
+    private int rowGroups;
+    private long sizeBytes;
+    private Instant exportedAt;
+}
@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
@@ -14,7 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name="CUSTOMER")
+@Table(name="CUSTOMER", indexes = {
+        @Index(name = "IDX_CUSTOMER_CREATED_AT", columnList = "CREATED_AT, ID"),
+        @Index(name = "IDX_CUSTOMER_DELETED_AT", columnList = "DELETED_AT")})
+@SQLRestriction("DELETED_AT IS NULL")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CustomerCacheRegions.CUSTOMER)
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,4 +36,15 @@ public class Customer {
     @Column(name= "CREATED_AT", updatable = false)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private LocalDateTime createdAt;
+    @Version
+    @Column(name = "VERSION")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    @Column(name = "DELETED_AT")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime deletedAt;
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
 }
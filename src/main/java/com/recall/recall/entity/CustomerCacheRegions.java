@@ -0,0 +1,14 @@
+package com.recall.recall.entity;
+
+import java.util.List;
+
+public final class CustomerCacheRegions {
+    public static final String CUSTOMER = "customer";
+    public static final String EMAIL_QUERIES = "customer-email-queries";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> ALL = List.of(CUSTOMER, EMAIL_QUERIES, UPDATE_TIMESTAMPS);
+
+    private CustomerCacheRegions() {
+    }
+}
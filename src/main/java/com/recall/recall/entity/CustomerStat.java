@@ -0,0 +1,23 @@
+package com.recall.recall.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One checkpointed customer counter, keyed e.g. {@code total} or {@code signups:2024-05-17}. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "CUSTOMER_STATS")
+public class CustomerStat {
+    @Id
+    @Column(name = "STAT_KEY", length = 64)
+    private String key;
+    @Column(name = "STAT_VALUE", nullable = false)
+    private long value;
+}
@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class BulkheadRejectedException extends RuntimeException {
+    public BulkheadRejectedException(String bulkhead, String reason) {
+        super("Bulkhead '" + bulkhead + "' " + reason, null, false, false);
+    }
+}
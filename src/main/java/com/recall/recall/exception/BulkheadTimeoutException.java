@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class BulkheadTimeoutException extends RuntimeException {
+    public BulkheadTimeoutException(String bulkhead, String reason) {
+        super("Bulkhead '" + bulkhead + "' " + reason, null, false, false);
+    }
+}
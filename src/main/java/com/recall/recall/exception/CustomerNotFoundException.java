@@ -0,0 +1,29 @@
+package com.recall.recall.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Expected miss on a customer lookup. It carries no stack trace and builds its message only when
+ * someone asks for it.
+ */
+public class CustomerNotFoundException extends EntityNotFoundException {
+    private final Long customerId;
+
+    public CustomerNotFoundException(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Customer with id " + customerId + " not found";
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
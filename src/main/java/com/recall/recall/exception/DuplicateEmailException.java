@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class DuplicateEmailException extends RuntimeException {
+    public DuplicateEmailException(String email) {
+        super("Email " + email + " already exists!", null, false, false);
+    }
+}
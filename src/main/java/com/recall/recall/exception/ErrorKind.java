@@ -0,0 +1,62 @@
+package com.recall.recall.exception;
+
+import com.recall.recall.dto.ApiErrorDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public enum ErrorKind {
+    VALIDATION(HttpStatus.BAD_REQUEST, "Validation Error"),
+    CONSTRAINT_VIOLATION(HttpStatus.BAD_REQUEST, "Constraint Violation"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Resource Not Found"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "Invalid Request"),
+    INVALID_ARGUMENT(HttpStatus.BAD_REQUEST, "Invalid Argument"),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "Precondition Failed"),
+    CONFLICT(HttpStatus.CONFLICT, "Conflict"),
+    NOT_IMPLEMENTED(HttpStatus.NOT_IMPLEMENTED, "Not Implemented"),
+    UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable"),
+    TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout"),
+    INTERNAL(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static volatile Tick tick = new Tick(Long.MIN_VALUE, null);
+
+    private final HttpStatus status;
+    private final int statusCode;
+    private final String title;
+
+    ErrorKind(HttpStatus status, String title) {
+        this.status = status;
+        this.statusCode = status.value();
+        this.title = title;
+    }
+
+    public ResponseEntity<ApiErrorDTO> respond(Object message) {
+        return new ResponseEntity<>(new ApiErrorDTO(now(), statusCode, title, message), status);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    // Errors tend to arrive in bursts, so the timestamp is shared by every response within the same millisecond.
+    static LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Tick current = tick;
+        if (current.epochMillis != millis) {
+            current = new Tick(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE));
+            tick = current;
+        }
+        return current.time;
+    }
+
+    private record Tick(long epochMillis, LocalDateTime time) {
+    }
+}
@@ -1,89 +1,97 @@
 package com.recall.recall.exception;
 
+import com.recall.recall.dto.ApiErrorDTO;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @Hidden
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final String MALFORMED_BODY_MESSAGE = "Malformed JSON request body or invalid field types";
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Validation Error");
-        errorResponse.put("message", ex.getBindingResult()
+    public ResponseEntity<ApiErrorDTO> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
+        return ErrorKind.VALIDATION.respond(ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
                 .map(e -> e.getField() + ": " + e.getDefaultMessage())
-                .collect(Collectors.toList()));
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+                .toList());
     }
+
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<?> handleConstraintViolationException(ConstraintViolationException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Constraint Violation");
-        Set<ConstraintViolation<?>> violations = ex.getConstraintViolations();
-        errorResponse.put("message", violations.stream()
+    public ResponseEntity<ApiErrorDTO> handleConstraintViolationException(ConstraintViolationException ex) {
+        return ErrorKind.CONSTRAINT_VIOLATION.respond(ex.getConstraintViolations()
+                .stream()
                 .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                .collect(Collectors.toList()));
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+                .toList());
     }
 
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<?> handleEntityNotFoundException(EntityNotFoundException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.NOT_FOUND.value());
-        errorResponse.put("error", "Resource Not Found");
-        errorResponse.put("message", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ApiErrorDTO> handleEntityNotFoundException(EntityNotFoundException ex) {
+        return ErrorKind.NOT_FOUND.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(SnapshotUnavailableException.class)
+    public ResponseEntity<ApiErrorDTO> handleSnapshotUnavailableException(SnapshotUnavailableException ex) {
+        return ErrorKind.NOT_FOUND.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(RecordingNotFoundException.class)
+    public ResponseEntity<ApiErrorDTO> handleRecordingNotFoundException(RecordingNotFoundException ex) {
+        return ErrorKind.NOT_FOUND.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiErrorDTO> handleVersionConflictException(VersionConflictException ex) {
+        return ErrorKind.PRECONDITION_FAILED.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<ApiErrorDTO> handleDuplicateEmailException(DuplicateEmailException ex) {
+        return ErrorKind.CONFLICT.respond(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorDTO> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return ErrorKind.CONFLICT.respond("The resource was modified concurrently, retry the request");
+    }
+
+    @ExceptionHandler(BulkheadRejectedException.class)
+    public ResponseEntity<ApiErrorDTO> handleBulkheadRejectedException(BulkheadRejectedException ex) {
+        return ErrorKind.UNAVAILABLE.respond(ex.getMessage());
+    }
+
+    // The task is still running and may yet succeed, so unlike a rejection this is not safe to retry blindly.
+    @ExceptionHandler(BulkheadTimeoutException.class)
+    public ResponseEntity<ApiErrorDTO> handleBulkheadTimeoutException(BulkheadTimeoutException ex) {
+        return ErrorKind.TIMEOUT.respond(ex.getMessage());
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<?> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Invalid Request");
-        errorResponse.put("message", "Malformed JSON request body or invalid field types");
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ApiErrorDTO> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        return ErrorKind.INVALID_REQUEST.respond(MALFORMED_BODY_MESSAGE);
+    }
+
+    // Features the configured store backend does not offer, e.g. time-range queries on the mapped store.
+    @ExceptionHandler(OperationNotSupportedException.class)
+    public ResponseEntity<ApiErrorDTO> handleOperationNotSupportedException(OperationNotSupportedException ex) {
+        return ErrorKind.NOT_IMPLEMENTED.respond(ex.getMessage());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<?> handleIllegalArgumentException(IllegalArgumentException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Invalid Argument");
-        errorResponse.put("message", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ApiErrorDTO> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ErrorKind.INVALID_ARGUMENT.respond(ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleGenericException(Exception ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorResponse.put("error", "Internal Server Error");
-        errorResponse.put("message", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ApiErrorDTO> handleGenericException(Exception ex) {
+        return ErrorKind.INTERNAL.respond(ex.getMessage());
     }
 }
-
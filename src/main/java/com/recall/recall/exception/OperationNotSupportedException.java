@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class OperationNotSupportedException extends RuntimeException {
+    public OperationNotSupportedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class RecordingNotFoundException extends RuntimeException {
+    public RecordingNotFoundException(long id) {
+        super("Recording with id " + id + " not found", null, false, false);
+    }
+}
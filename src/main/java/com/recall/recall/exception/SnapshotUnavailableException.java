@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class SnapshotUnavailableException extends RuntimeException {
+    public SnapshotUnavailableException() {
+        super("No customer snapshot has been exported yet", null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.recall.recall.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(Long id) {
+        super("Customer with id " + id + " was modified since it was read", null, false, false);
+    }
+}
@@ -0,0 +1,33 @@
+package com.recall.recall.health;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SaturationProperties.class)
+@ConditionalOnProperty(prefix = "recall.saturation", name = "enabled", havingValue = "true")
+public class SaturationConfig {
+
+    @Bean
+    public static ServiceLatencyPostProcessor serviceLatencyPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new ServiceLatencyPostProcessor(registry);
+    }
+
+    @Bean
+    public SaturationMonitor saturationMonitor(MeterRegistry registry, SaturationProperties properties,
+                                               ApplicationEventPublisher publisher) {
+        return new SaturationMonitor(registry, properties, publisher);
+    }
+
+    @Bean
+    public SaturationHealthIndicator saturationHealthIndicator(SaturationMonitor saturationMonitor) {
+        return new SaturationHealthIndicator(saturationMonitor);
+    }
+}
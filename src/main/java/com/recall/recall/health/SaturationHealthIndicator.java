@@ -0,0 +1,21 @@
+package com.recall.recall.health;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+
+public class SaturationHealthIndicator implements HealthIndicator {
+
+    private final SaturationMonitor monitor;
+
+    public SaturationHealthIndicator(SaturationMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = monitor.isSaturated() ? Health.outOfService() : Health.up();
+        return builder.withDetails(monitor.getLastSample().toDetails())
+                .withDetail("breaches", monitor.getLastBreaches())
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.recall.recall.health;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.server.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples pool, thread, queue, latency and GC pressure and flips the application's readiness to
+ * REFUSING_TRAFFIC as soon as any signal crosses its threshold, so the load balancer drains this
+ * node before latency collapses. Readiness returns only after several consecutive healthy samples.
+ */
+public class SaturationMonitor {
+
+    private static final Logger logger = LogManager.getLogger(SaturationMonitor.class);
+
+    private final MeterRegistry registry;
+    private final SaturationProperties properties;
+    private final ApplicationEventPublisher publisher;
+    private final LongSupplier gcTimeMillis;
+
+    private volatile SaturationSample lastSample = SaturationSample.EMPTY;
+    private volatile List<String> lastBreaches = List.of();
+    private volatile boolean saturated;
+    private volatile boolean started;
+    private volatile int applicationPort = -1;
+    private int healthySamples;
+    private long lastGcMillis = -1;
+    private long lastSampleNanos;
+
+    public SaturationMonitor(MeterRegistry registry, SaturationProperties properties,
+                             ApplicationEventPublisher publisher) {
+        this(registry, properties, publisher, SaturationMonitor::totalGcTimeMillis);
+    }
+
+    SaturationMonitor(MeterRegistry registry, SaturationProperties properties, ApplicationEventPublisher publisher,
+                      LongSupplier gcTimeMillis) {
+        this.registry = registry;
+        this.properties = properties;
+        this.publisher = publisher;
+        this.gcTimeMillis = gcTimeMillis;
+    }
+
+    // Sampling before startup completes could race Boot's own ACCEPTING_TRAFFIC event.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        started = true;
+    }
+
+    // The management server's child context publishes the same event up to this one; only the
+    // application's own server (no namespace) carries the traffic readiness is meant to shed.
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            applicationPort = event.getWebServer().getPort();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recall.saturation.sample-interval:PT5S}")
+    public synchronized void sample() {
+        if (!started) {
+            return;
+        }
+        SaturationSample sample = takeSample();
+        List<String> breaches = sample.breaches(properties);
+        lastSample = sample;
+        lastBreaches = breaches;
+        if (!breaches.isEmpty()) {
+            healthySamples = 0;
+            if (!saturated) {
+                saturated = true;
+                logger.warn("Saturated ({}), refusing traffic: {}", breaches, sample);
+                AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        } else if (saturated && ++healthySamples >= properties.getRecoverySamples()) {
+            saturated = false;
+            logger.info("Saturation cleared after {} healthy samples, accepting traffic: {}", healthySamples, sample);
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    public SaturationSample getLastSample() {
+        return lastSample;
+    }
+
+    public List<String> getLastBreaches() {
+        return lastBreaches;
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    private SaturationSample takeSample() {
+        double activeConnections = sumGauges("hikaricp.connections.active");
+        double maxConnections = sumGauges("hikaricp.connections.max");
+        double busyThreads = sumConnectorGauges("tomcat.threads.busy");
+        double maxThreads = sumConnectorGauges("tomcat.threads.config.max");
+        return new SaturationSample(
+                ratio(activeConnections, maxConnections),
+                (int) sumGauges("hikaricp.connections.pending"),
+                ratio(busyThreads, maxThreads),
+                (int) sumGauges("executor.queued"),
+                serviceP99Millis(),
+                gcTimeRatio());
+    }
+
+    private double sumGauges(String name) {
+        return sum(registry.find(name).gauges());
+    }
+
+    // Tomcat names each connector's pool after its protocol and port, e.g. "http-nio-8080". The management
+    // connector's idle pool would otherwise dilute the application's thread utilization.
+    private double sumConnectorGauges(String name) {
+        int port = applicationPort;
+        if (port <= 0) {
+            return sumGauges(name);
+        }
+        String suffix = "-" + port;
+        return sum(registry.find(name).gauges().stream()
+                .filter(gauge -> {
+                    String connector = gauge.getId().getTag("name");
+                    return connector != null && connector.endsWith(suffix);
+                })
+                .toList());
+    }
+
+    private static double sum(Collection<Gauge> gauges) {
+        double sum = 0;
+        for (Gauge gauge : gauges) {
+            double value = gauge.value();
+            if (Double.isFinite(value)) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    private double serviceP99Millis() {
+        Timer timer = registry.find(ServiceLatencyPostProcessor.TIMER_NAME).timer();
+        if (timer == null) {
+            return 0;
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+
+    private double gcTimeRatio() {
+        long now = System.nanoTime();
+        long gcMillis = gcTimeMillis.getAsLong();
+        double ratio = 0;
+        if (lastGcMillis >= 0 && now > lastSampleNanos) {
+            ratio = (gcMillis - lastGcMillis) / ((now - lastSampleNanos) / 1_000_000.0);
+        }
+        lastGcMillis = gcMillis;
+        lastSampleNanos = now;
+        return Math.max(0, ratio);
+    }
+
+    private static double ratio(double used, double max) {
+        return max > 0 ? used / max : 0;
+    }
+
+    private static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,27 @@
+package com.recall.recall.health;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.saturation")
+public class SaturationProperties {
+    private boolean enabled = false;
+    private Duration sampleInterval = Duration.ofSeconds(5);
+    /** Active / maximum connections across Hikari pools. */
+    private double maxPoolUtilization = 0.9;
+    /** Threads waiting for a pooled connection. */
+    private int maxPendingConnections = 10;
+    /** Busy / maximum Tomcat request threads. */
+    private double maxThreadUtilization = 0.9;
+    /** Tasks queued across instrumented executors. */
+    private int maxExecutorQueueDepth = 500;
+    /** p99 of customer service calls over the last minute. */
+    private Duration maxServiceP99 = Duration.ofMillis(500);
+    /** Fraction of wall time spent in GC since the previous sample. */
+    private double maxGcTimeRatio = 0.2;
+    /** Consecutive healthy samples before traffic is accepted again. */
+    private int recoverySamples = 3;
+}
@@ -0,0 +1,51 @@
+package com.recall.recall.health;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record SaturationSample(double poolUtilization, int pendingConnections, double threadUtilization,
+                               int executorQueueDepth, double serviceP99Millis, double gcTimeRatio) {
+
+    public static final SaturationSample EMPTY = new SaturationSample(0, 0, 0, 0, 0, 0);
+
+    /** Names of the signals above their threshold. */
+    public List<String> breaches(SaturationProperties thresholds) {
+        List<String> breaches = new ArrayList<>();
+        if (poolUtilization > thresholds.getMaxPoolUtilization()) {
+            breaches.add("poolUtilization");
+        }
+        if (pendingConnections > thresholds.getMaxPendingConnections()) {
+            breaches.add("pendingConnections");
+        }
+        if (threadUtilization > thresholds.getMaxThreadUtilization()) {
+            breaches.add("threadUtilization");
+        }
+        if (executorQueueDepth > thresholds.getMaxExecutorQueueDepth()) {
+            breaches.add("executorQueueDepth");
+        }
+        if (serviceP99Millis > thresholds.getMaxServiceP99().toMillis()) {
+            breaches.add("serviceP99Millis");
+        }
+        if (gcTimeRatio > thresholds.getMaxGcTimeRatio()) {
+            breaches.add("gcTimeRatio");
+        }
+        return breaches;
+    }
+
+    public Map<String, Object> toDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("poolUtilization", round(poolUtilization));
+        details.put("pendingConnections", pendingConnections);
+        details.put("threadUtilization", round(threadUtilization));
+        details.put("executorQueueDepth", executorQueueDepth);
+        details.put("serviceP99Millis", round(serviceP99Millis));
+        details.put("gcTimeRatio", round(gcTimeRatio));
+        return details;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
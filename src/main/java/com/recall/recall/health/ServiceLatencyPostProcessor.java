@@ -0,0 +1,53 @@
+package com.recall.recall.health;
+
+import com.recall.recall.services.CustomerService;
+import com.recall.recall.services.CustomerServicePointcut;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+
+/**
+ * Times every {@link CustomerService} call into a one-minute decaying p99, the latency signal of
+ * {@link SaturationMonitor}. The registry is resolved on first call so this post-processor does not
+ * force it to be created early.
+ */
+public class ServiceLatencyPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public static final String TIMER_NAME = "recall.customer.service.latency";
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private volatile Timer timer;
+
+    public ServiceLatencyPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+        MethodInterceptor interceptor = invocation -> {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timer().record(Duration.ofNanos(System.nanoTime() - start));
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(new CustomerServicePointcut(), interceptor);
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private Timer timer() {
+        Timer current = timer;
+        if (current == null) {
+            current = Timer.builder(TIMER_NAME)
+                    .description("Customer service call latency")
+                    .publishPercentiles(0.99)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(registry.getObject());
+            timer = current;
+        }
+        return current;
+    }
+}
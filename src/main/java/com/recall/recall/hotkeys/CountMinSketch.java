@@ -0,0 +1,66 @@
+package com.recall.recall.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency sketch: {@code depth} rows of {@code width} counters, each key landing in one
+ * counter per row. Estimates never undercount; they overcount by at most a few times total/width with
+ * high probability. Updates are a single atomic add per row, so writers never block each other.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        this.depth = depth;
+        int rounded = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.mask = rounded - 1;
+        this.counters = new AtomicLongArray(depth * rounded);
+    }
+
+    /** Counts one occurrence of the key with this 64-bit hash and returns its new estimate. */
+    public long add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long count = counters.incrementAndGet(index(row, h1, h2));
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    /** Halves every counter, so older windows weigh half as much as the current one. */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    public int width() {
+        return mask + 1;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+}
@@ -0,0 +1,119 @@
+package com.recall.recall.hotkeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming top-K over one key space. The sketch estimates every key's frequency in fixed memory; only
+ * keys whose estimate beats the current admission floor are kept as candidates, and the candidate set
+ * is trimmed back to {@code 2 * k} whenever it passes {@code 4 * k}. Trimming is claimed with a CAS, so
+ * recording threads never wait on it.
+ */
+public class HeavyHitters {
+
+    public record Entry(String key, long estimate) {
+    }
+
+    private final CountMinSketch sketch;
+    private final int k;
+    private final ConcurrentHashMap<String, Long> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final LongAdder total = new LongAdder();
+    private volatile long floor;
+
+    public HeavyHitters(int k, int depth, int width) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.sketch = new CountMinSketch(depth, width);
+    }
+
+    public void record(String key) {
+        total.increment();
+        long estimate = sketch.add(hash(key));
+        if (estimate > floor || candidates.size() < 2 * k) {
+            candidates.put(key, estimate);
+            if (candidates.size() > 4 * k) {
+                trim();
+            }
+        }
+    }
+
+    /** The {@code limit} most frequent keys, highest estimate first. */
+    public List<Entry> top(int limit) {
+        return largest(Math.min(limit, k));
+    }
+
+    private List<Entry> largest(int size) {
+        PriorityQueue<Entry> heap = new PriorityQueue<>(size + 1, Comparator.comparingLong(Entry::estimate));
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            heap.offer(new Entry(candidate.getKey(), candidate.getValue()));
+            if (heap.size() > size) {
+                heap.poll();
+            }
+        }
+        List<Entry> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingLong(Entry::estimate).reversed());
+        return top;
+    }
+
+    public long estimate(String key) {
+        return sketch.estimate(hash(key));
+    }
+
+    /** Weighted occurrences in the current window, decayed with the sketch. */
+    public long total() {
+        return total.sum();
+    }
+
+    int candidateCount() {
+        return candidates.size();
+    }
+
+    /** Halves the sketch, the candidates and the total, ending the current window. */
+    public void decay() {
+        sketch.decay();
+        candidates.replaceAll((key, estimate) -> estimate >>> 1);
+        candidates.values().removeIf(estimate -> estimate == 0);
+        long current = total.sumThenReset();
+        total.add(current >>> 1);
+        floor = floor >>> 1;
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Entry> kept = largest(2 * k);
+            long newFloor = kept.isEmpty() ? 0 : kept.get(kept.size() - 1).estimate();
+            floor = newFloor;
+            candidates.values().removeIf(estimate -> estimate < newFloor);
+            if (candidates.size() > 2 * k) {
+                candidates.keySet().retainAll(kept.stream().map(Entry::key).collect(Collectors.toSet()));
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
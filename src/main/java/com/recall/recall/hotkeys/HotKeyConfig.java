@@ -0,0 +1,24 @@
+package com.recall.recall.hotkeys;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HotKeyProperties.class)
+@ConditionalOnProperty(prefix = "recall.hotkeys", name = "enabled", havingValue = "true")
+public class HotKeyConfig {
+
+    @Bean
+    public HotKeyTracker hotKeyTracker(HotKeyProperties properties) {
+        return new HotKeyTracker(properties);
+    }
+
+    @Bean
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyTracker hotKeyTracker) {
+        return new HotKeyEndpoint(hotKeyTracker);
+    }
+}
@@ -0,0 +1,42 @@
+package com.recall.recall.hotkeys;
+
+import com.recall.recall.dto.HotKeyDTO;
+import com.recall.recall.dto.HotKeyReportDTO;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * The hot-key report as the {@code hotkeys} actuator endpoint, served on the management port only.
+ * Emails appear as the hashes the tracker counts them under, never in the clear.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeyEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public HotKeyReportDTO hotKeys(@OptionalParameter Integer limit) {
+        int top = limit != null ? limit : 20;
+        if (top < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return HotKeyReportDTO.builder()
+                .window(hotKeyTracker.getWindow().toString())
+                .idAccesses(hotKeyTracker.idTotal())
+                .ids(toCounts(hotKeyTracker.topIds(top)))
+                .emailAccesses(hotKeyTracker.emailTotal())
+                .emails(toCounts(hotKeyTracker.topEmails(top)))
+                .build();
+    }
+
+    private static List<HotKeyDTO> toCounts(List<HeavyHitters.Entry> entries) {
+        return entries.stream().map(entry -> new HotKeyDTO(entry.key(), entry.estimate())).toList();
+    }
+}
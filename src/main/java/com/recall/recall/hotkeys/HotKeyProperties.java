@@ -0,0 +1,20 @@
+package com.recall.recall.hotkeys;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.hotkeys")
+public class HotKeyProperties {
+    private boolean enabled = false;
+    /** Keys reported per key space; candidates held in memory stay under four times this. */
+    private int topK = 50;
+    /** Sketch rows; each extra row cuts the chance of a large overestimate. */
+    private int depth = 4;
+    /** Counters per sketch row, rounded up to a power of two. */
+    private int width = 4096;
+    /** Counts are halved this often, so a key's weight halves every window it goes quiet. */
+    private Duration decayInterval = Duration.ofMinutes(1);
+}
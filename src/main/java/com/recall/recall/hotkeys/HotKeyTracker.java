@@ -0,0 +1,97 @@
+package com.recall.recall.hotkeys;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Heavy hitters among customer ids and emails seen by the customer endpoints. Memory is fixed by the
+ * sketch size and {@code k}, whatever the key cardinality; every window the counts are halved, so the
+ * report favours what is hot now over what was hot an hour ago. Emails are counted under a truncated
+ * SHA-256 of the normalized address (see {@link #emailKey}), so neither the tracker nor its report
+ * holds them in the clear; to check a suspect, hash it the same way.
+ */
+public class HotKeyTracker {
+
+    private final HeavyHitters ids;
+    private final HeavyHitters emails;
+    private final Duration window;
+
+    public HotKeyTracker(HotKeyProperties properties) {
+        this.ids = new HeavyHitters(properties.getTopK(), properties.getDepth(), properties.getWidth());
+        this.emails = new HeavyHitters(properties.getTopK(), properties.getDepth(), properties.getWidth());
+        this.window = properties.getDecayInterval();
+    }
+
+    private HotKeyTracker() {
+        this.ids = null;
+        this.emails = null;
+        this.window = null;
+    }
+
+    /** A tracker that records nothing, for when hot-key detection is off. */
+    public static HotKeyTracker disabled() {
+        return new HotKeyTracker();
+    }
+
+    public boolean isEnabled() {
+        return ids != null;
+    }
+
+    public void recordId(Long id) {
+        if (ids != null && id != null) {
+            ids.record(id.toString());
+        }
+    }
+
+    public void recordEmail(String email) {
+        if (emails != null && email != null) {
+            emails.record(emailKey(email));
+        }
+    }
+
+    public static String emailKey(String email) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public List<HeavyHitters.Entry> topIds(int limit) {
+        return ids == null ? List.of() : ids.top(limit);
+    }
+
+    public List<HeavyHitters.Entry> topEmails(int limit) {
+        return emails == null ? List.of() : emails.top(limit);
+    }
+
+    public long idTotal() {
+        return ids == null ? 0 : ids.total();
+    }
+
+    public long emailTotal() {
+        return emails == null ? 0 : emails.total();
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Scheduled(fixedRateString = "${recall.hotkeys.decay-interval:PT1M}",
+            initialDelayString = "${recall.hotkeys.decay-interval:PT1M}")
+    public void decay() {
+        if (ids != null) {
+            ids.decay();
+            emails.decay();
+        }
+    }
+}
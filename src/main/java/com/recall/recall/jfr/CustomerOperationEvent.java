@@ -0,0 +1,39 @@
+package com.recall.recall.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.recall.CustomerOperation")
+@Label("Customer Operation")
+@Category({"Recall", "Customer"})
+@Description("A customer service, validator or repository call")
+@StackTrace(false)
+public class CustomerOperationEvent extends Event {
+
+    @Label("Layer")
+    String layer;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Customer Id")
+    @Description("0 when the call is not about a single customer")
+    long customerId;
+
+    @Label("Outcome")
+    @Description("success, a validation result, or the exception class")
+    String outcome;
+
+    /** Fills in the fields and commits; call after {@link #shouldCommit()} so a disabled event costs nothing. */
+    public void record(String layer, String operation, Long customerId, String outcome) {
+        this.layer = layer;
+        this.operation = operation;
+        this.customerId = customerId == null ? 0 : customerId;
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,65 @@
+package com.recall.recall.jfr;
+
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.entity.Customer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Optional;
+
+/**
+ * Wraps each call in a {@link CustomerOperationEvent}. While no recording enables the event the
+ * call goes straight through after one flag check.
+ */
+public class CustomerOperationInterceptor implements MethodInterceptor {
+
+    private final String layer;
+    private final String type;
+
+    public CustomerOperationInterceptor(String layer, String type) {
+        this.layer = layer;
+        this.type = type;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CustomerOperationEvent event = new CustomerOperationEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        String outcome = "success";
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.record(layer, type + "." + invocation.getMethod().getName(),
+                        customerId(invocation.getArguments(), result), outcome);
+            }
+        }
+    }
+
+    static Long customerId(Object[] arguments, Object result) {
+        Long id = switch (result instanceof Optional<?> optional ? optional.orElse(null) : result) {
+            case Customer customer -> customer.getId();
+            case CustomerResponseDTO response -> response.getId();
+            case null, default -> null;
+        };
+        if (id == null && arguments.length > 0) {
+            id = switch (arguments[0]) {
+                case Long number -> number;
+                case Customer customer -> customer.getId();
+                case CustomerRequestDTO request -> request.getId();
+                case null, default -> null;
+            };
+        }
+        return id;
+    }
+}
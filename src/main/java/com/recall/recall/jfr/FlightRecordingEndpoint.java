@@ -0,0 +1,103 @@
+package com.recall.recall.jfr;
+
+import com.recall.recall.dto.RecordingDTO;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * On-demand recordings as the {@code recordings} actuator endpoint, so they are served on the
+ * management port only: GET lists them, POST starts one, POST /{id} stops it, GET /{id} downloads
+ * what it holds so far and DELETE /{id} discards it.
+ */
+@Endpoint(id = "recordings")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordingService recordingService;
+
+    public FlightRecordingEndpoint(FlightRecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    @ReadOperation
+    public List<RecordingDTO> recordings() {
+        return recordingService.list().stream().map(FlightRecordingEndpoint::toDTO).toList();
+    }
+
+    @WriteOperation
+    public RecordingDTO start(@OptionalParameter String name, @OptionalParameter String settings,
+                              @OptionalParameter Duration duration) {
+        return toDTO(recordingService.start(name != null ? name : "recall", settings != null ? settings : "profile",
+                duration != null ? duration : Duration.ofMinutes(5)));
+    }
+
+    @WriteOperation
+    public RecordingDTO stop(@Selector long id) {
+        return toDTO(recordingService.stop(id));
+    }
+
+    @ReadOperation
+    public Resource download(@Selector long id) {
+        return new DumpResource(recordingService.dump(id));
+    }
+
+    @DeleteOperation
+    public void delete(@Selector long id) {
+        recordingService.delete(id);
+    }
+
+    private static RecordingDTO toDTO(Recording recording) {
+        return RecordingDTO.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .duration(recording.getDuration())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    // The dump is a temp file owned by the caller; it is deleted once streamed. Not reporting it as a
+    // file keeps the converter on getInputStream instead of a zero-copy transfer that would skip close().
+    private static final class DumpResource extends FileSystemResource {
+        private final Path file;
+
+        DumpResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
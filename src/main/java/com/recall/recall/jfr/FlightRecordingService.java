@@ -0,0 +1,110 @@
+package com.recall.recall.jfr;
+
+import com.recall.recall.exception.RecordingNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts, stops and dumps on-demand JFR recordings with {@link CustomerOperationEvent} enabled on top
+ * of the chosen JDK settings ("default" or "profile").
+ */
+public class FlightRecordingService {
+
+    private static final Logger logger = LogManager.getLogger(FlightRecordingService.class);
+
+    private final JfrProperties properties;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    public FlightRecordingService(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized Recording start(String name, String settings, Duration duration) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        if (recordings.size() >= properties.getMaxRecordings()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxRecordings()
+                    + " recordings may exist; delete one first");
+        }
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(properties.getMaxDuration()) > 0) {
+            throw new IllegalArgumentException("duration must be positive and at most " + properties.getMaxDuration());
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalArgumentException("Unknown JFR settings '" + settings + "'");
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.enable(CustomerOperationEvent.class);
+        recording.setDuration(duration);
+        recording.setToDisk(true);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        logger.info("Started JFR recording {} '{}' with {} settings for {}", recording.getId(), name, settings, duration);
+        return recording;
+    }
+
+    public Recording stop(long id) {
+        Recording recording = get(id);
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Stopped JFR recording {}", id);
+        }
+        return recording;
+    }
+
+    /** Writes what the recording holds so far to a temporary file the caller must delete. */
+    public Path dump(long id) {
+        Recording recording = get(id);
+        try {
+            Path file = Files.createTempFile("recall-" + id + "-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw new RecordingNotFoundException(id);
+        }
+        recording.close();
+        logger.info("Closed JFR recording {}", id);
+    }
+
+    public List<Recording> list() {
+        return List.copyOf(recordings.values());
+    }
+
+    public Recording get(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new RecordingNotFoundException(id);
+        }
+        return recording;
+    }
+
+    public void close() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+}
@@ -0,0 +1,32 @@
+package com.recall.recall.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(JfrProperties.class)
+@ConditionalOnProperty(prefix = "recall.jfr", name = "enabled", havingValue = "true")
+public class JfrConfig {
+
+    @Bean
+    public static ServiceEventPostProcessor serviceEventPostProcessor() {
+        return new ServiceEventPostProcessor();
+    }
+
+    @Bean
+    public static RepositoryEventPostProcessor repositoryEventPostProcessor() {
+        return new RepositoryEventPostProcessor();
+    }
+
+    @Bean(destroyMethod = "close")
+    public FlightRecordingService flightRecordingService(JfrProperties properties) {
+        return new FlightRecordingService(properties);
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecordingService flightRecordingService) {
+        return new FlightRecordingEndpoint(flightRecordingService);
+    }
+}
@@ -0,0 +1,16 @@
+package com.recall.recall.jfr;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.jfr")
+public class JfrProperties {
+    private boolean enabled = false;
+    /** Recordings that may exist at once, running or stopped. */
+    private int maxRecordings = 2;
+    /** Upper bound for a requested duration; recordings stop themselves after it. */
+    private Duration maxDuration = Duration.ofMinutes(30);
+}
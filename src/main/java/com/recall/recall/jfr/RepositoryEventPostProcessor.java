@@ -0,0 +1,21 @@
+package com.recall.recall.jfr;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link CustomerOperationInterceptor} to every Spring Data repository proxy through the
+ * factory bean, before the proxy is built.
+ */
+public class RepositoryEventPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new CustomerOperationInterceptor(
+                            "repository", repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,17 @@
+package com.recall.recall.jfr;
+
+import com.recall.recall.services.CustomerService;
+import com.recall.recall.services.CustomerServicePointcut;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+/** Emits a {@link CustomerOperationEvent} for every {@link CustomerService} call. */
+public class ServiceEventPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public ServiceEventPostProcessor() {
+        this.advisor = new DefaultPointcutAdvisor(new CustomerServicePointcut(),
+                new CustomerOperationInterceptor("service", CustomerService.class.getSimpleName()));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
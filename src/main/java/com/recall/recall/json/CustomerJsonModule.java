@@ -0,0 +1,15 @@
+package com.recall.recall.json;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+import org.springframework.data.domain.Page;
+import tools.jackson.databind.module.SimpleModule;
+
+public class CustomerJsonModule extends SimpleModule {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CustomerJsonModule() {
+        super("CustomerJsonModule");
+        addSerializer(CustomerResponseDTO.class, new CustomerResponseSerializer());
+        addSerializer((Class) Page.class, new CustomerPageSerializer());
+    }
+}
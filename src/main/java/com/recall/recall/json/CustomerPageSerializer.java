@@ -0,0 +1,108 @@
+package com.recall.recall.json;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Streams a Page in the same shape Jackson gives PageImpl, without introspecting Page, PageRequest
+ * and Sort on every request. Customer rows share one timestamp formatter.
+ */
+public class CustomerPageSerializer extends ValueSerializer<Page<?>> {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGEABLE = new SerializedString("pageable");
+    private static final SerializableString PAGE_NUMBER = new SerializedString("pageNumber");
+    private static final SerializableString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializableString SORT = new SerializedString("sort");
+    private static final SerializableString OFFSET = new SerializedString("offset");
+    private static final SerializableString PAGED = new SerializedString("paged");
+    private static final SerializableString UNPAGED = new SerializedString("unpaged");
+    private static final SerializableString LAST = new SerializedString("last");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString FIRST = new SerializedString("first");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString NUMBER_OF_ELEMENTS = new SerializedString("numberOfElements");
+    private static final SerializableString EMPTY = new SerializedString("empty");
+    private static final SerializableString SORTED = new SerializedString("sorted");
+    private static final SerializableString UNSORTED = new SerializedString("unsorted");
+
+    @Override
+    public void serialize(Page<?> page, JsonGenerator gen, SerializationContext ctxt) {
+        gen.writeStartObject(page);
+        gen.writeName(CONTENT);
+        gen.writeStartArray(page.getContent(), page.getNumberOfElements());
+        IsoTimestampFormatter formatter = new IsoTimestampFormatter();
+        for (Object element : page.getContent()) {
+            if (element instanceof CustomerResponseDTO customer) {
+                CustomerResponseSerializer.write(customer, gen, ctxt, formatter);
+            } else if (element == null) {
+                gen.writeNull();
+            } else {
+                ctxt.writeValue(gen, element);
+            }
+        }
+        gen.writeEndArray();
+        gen.writeName(PAGEABLE);
+        writePageable(page.getPageable(), gen);
+        gen.writeName(LAST);
+        gen.writeBoolean(page.isLast());
+        gen.writeName(TOTAL_PAGES);
+        gen.writeNumber(page.getTotalPages());
+        gen.writeName(TOTAL_ELEMENTS);
+        gen.writeNumber(page.getTotalElements());
+        gen.writeName(FIRST);
+        gen.writeBoolean(page.isFirst());
+        gen.writeName(SIZE);
+        gen.writeNumber(page.getSize());
+        gen.writeName(NUMBER);
+        gen.writeNumber(page.getNumber());
+        gen.writeName(SORT);
+        writeSort(page.getSort(), gen);
+        gen.writeName(NUMBER_OF_ELEMENTS);
+        gen.writeNumber(page.getNumberOfElements());
+        gen.writeName(EMPTY);
+        gen.writeBoolean(page.isEmpty());
+        gen.writeEndObject();
+    }
+
+    private static void writePageable(Pageable pageable, JsonGenerator gen) {
+        if (pageable.isUnpaged()) {
+            gen.writeString("INSTANCE");
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeName(PAGE_NUMBER);
+        gen.writeNumber(pageable.getPageNumber());
+        gen.writeName(PAGE_SIZE);
+        gen.writeNumber(pageable.getPageSize());
+        gen.writeName(SORT);
+        writeSort(pageable.getSort(), gen);
+        gen.writeName(OFFSET);
+        gen.writeNumber(pageable.getOffset());
+        gen.writeName(PAGED);
+        gen.writeBoolean(true);
+        gen.writeName(UNPAGED);
+        gen.writeBoolean(false);
+        gen.writeEndObject();
+    }
+
+    private static void writeSort(Sort sort, JsonGenerator gen) {
+        gen.writeStartObject();
+        gen.writeName(EMPTY);
+        gen.writeBoolean(sort.isEmpty());
+        gen.writeName(SORTED);
+        gen.writeBoolean(sort.isSorted());
+        gen.writeName(UNSORTED);
+        gen.writeBoolean(sort.isUnsorted());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,57 @@
+package com.recall.recall.json;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.cfg.DateTimeFeature;
+
+import java.time.LocalDateTime;
+
+/** Writes CustomerResponseDTO field by field, producing the same output as the bean serializer. */
+public class CustomerResponseSerializer extends ValueSerializer<CustomerResponseDTO> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+
+    @Override
+    public void serialize(CustomerResponseDTO value, JsonGenerator gen, SerializationContext ctxt) {
+        write(value, gen, ctxt, new IsoTimestampFormatter());
+    }
+
+    static void write(CustomerResponseDTO value, JsonGenerator gen, SerializationContext ctxt,
+                      IsoTimestampFormatter formatter) {
+        gen.writeStartObject(value);
+        gen.writeName(ID);
+        if (value.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.getId());
+        }
+        gen.writeName(NAME);
+        gen.writeString(value.getName());
+        gen.writeName(EMAIL);
+        gen.writeString(value.getEmail());
+        gen.writeName(CREATED_AT);
+        writeTimestamp(value.getCreatedAt(), gen, ctxt, formatter);
+        gen.writeEndObject();
+    }
+
+    private static void writeTimestamp(LocalDateTime createdAt, JsonGenerator gen, SerializationContext ctxt,
+                                       IsoTimestampFormatter formatter) {
+        if (createdAt == null) {
+            gen.writeNull();
+            return;
+        }
+        int length = ctxt.isEnabled(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS) ? -1 : formatter.format(createdAt);
+        if (length < 0) {
+            ctxt.writeValue(gen, createdAt);
+        } else {
+            gen.writeString(formatter.buffer(), 0, length);
+        }
+    }
+}
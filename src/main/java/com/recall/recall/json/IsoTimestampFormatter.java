@@ -0,0 +1,70 @@
+package com.recall.recall.json;
+
+import java.time.LocalDateTime;
+
+/**
+ * Formats LocalDateTime exactly like DateTimeFormatter.ISO_LOCAL_DATE_TIME into a reused buffer.
+ * The date part is only rewritten when the day changes, which is the common case within a page.
+ * Not thread-safe: create one per serialization call.
+ */
+final class IsoTimestampFormatter {
+
+    private static final int DATE_LENGTH = 10;
+    private static final int SECONDS_END = 19;
+
+    private final char[] buffer = new char[29];
+    private int cachedYear = -1;
+    private int cachedMonth;
+    private int cachedDay;
+
+    IsoTimestampFormatter() {
+        buffer[4] = '-';
+        buffer[7] = '-';
+        buffer[DATE_LENGTH] = 'T';
+        buffer[13] = ':';
+        buffer[16] = ':';
+        buffer[SECONDS_END] = '.';
+    }
+
+    char[] buffer() {
+        return buffer;
+    }
+
+    /** Returns the formatted length, or -1 when the year needs a sign and must use the JDK formatter. */
+    int format(LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        int month = value.getMonthValue();
+        int day = value.getDayOfMonth();
+        if (year != cachedYear || month != cachedMonth || day != cachedDay) {
+            writeDigits(year, 0, 4);
+            writeDigits(month, 5, 2);
+            writeDigits(day, 8, 2);
+            cachedYear = year;
+            cachedMonth = month;
+            cachedDay = day;
+        }
+        writeDigits(value.getHour(), 11, 2);
+        writeDigits(value.getMinute(), 14, 2);
+        writeDigits(value.getSecond(), 17, 2);
+        int nanos = value.getNano();
+        if (nanos == 0) {
+            return SECONDS_END;
+        }
+        writeDigits(nanos, SECONDS_END + 1, 9);
+        int length = buffer.length;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private void writeDigits(int value, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
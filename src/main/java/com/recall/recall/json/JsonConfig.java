@@ -0,0 +1,15 @@
+package com.recall.recall.json;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recall.json", name = "streaming-writer", havingValue = "true", matchIfMissing = true)
+    public CustomerJsonModule customerJsonModule() {
+        return new CustomerJsonModule();
+    }
+}
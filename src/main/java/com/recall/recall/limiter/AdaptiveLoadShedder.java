@@ -0,0 +1,35 @@
+package com.recall.recall.limiter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class AdaptiveLoadShedder {
+    private final ConcurrencyLimiterProperties properties;
+    private final Map<TrafficClass, GradientConcurrencyLimiter> limiters = new EnumMap<>(TrafficClass.class);
+
+    public AdaptiveLoadShedder(ConcurrencyLimiterProperties properties) {
+        this.properties = properties;
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            ConcurrencyLimiterProperties.Limit limit = properties.forClass(trafficClass);
+            limiters.put(trafficClass, new GradientConcurrencyLimiter(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), limit.getSmoothing(), limit.getTolerance()));
+        }
+    }
+
+    public boolean tryAcquire(TrafficClass trafficClass) {
+        GradientConcurrencyLimiter limiter = limiters.get(trafficClass);
+        int priority = properties.forClass(trafficClass).getPriority();
+        for (TrafficClass other : TrafficClass.values()) {
+            if (other != trafficClass && properties.forClass(other).getPriority() < priority
+                    && limiters.get(other).isSaturated()) {
+                limiter.recordRejection();
+                return false;
+            }
+        }
+        return limiter.tryAcquire();
+    }
+
+    public GradientConcurrencyLimiter limiter(TrafficClass trafficClass) {
+        return limiters.get(trafficClass);
+    }
+}
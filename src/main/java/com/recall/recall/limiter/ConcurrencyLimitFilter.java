@@ -0,0 +1,117 @@
+package com.recall.recall.limiter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements Ordered {
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    private static final Logger logger = LogManager.getLogger(ConcurrencyLimitFilter.class);
+    private static final String CUSTOMER_API_PREFIX = "/api/v1/customers";
+    private static final String ASYNC_CUSTOMER_API_PREFIX = "/api/v1/async/customers";
+    private static final byte[] REJECTED_BODY =
+            "{\"error\":\"Service Unavailable\",\"details\":\"Server is at capacity, retry later\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveLoadShedder loadShedder;
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(AdaptiveLoadShedder loadShedder, int retryAfterSeconds) {
+        this.loadShedder = loadShedder;
+        this.retryAfter = Integer.toString(retryAfterSeconds);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith(CUSTOMER_API_PREFIX) && !uri.startsWith(ASYNC_CUSTOMER_API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = TrafficClass.of(request.getMethod());
+        if (!loadShedder.tryAcquire(trafficClass)) {
+            logger.warn("Shedding {} request {} {}", trafficClass.tag(), request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+        GradientConcurrencyLimiter limiter = loadShedder.limiter(trafficClass);
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The servlet thread is back before the work is done; hold the permit until the response completes.
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+            } else if (response.getStatus() < 500) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.releaseWithoutSample();
+            }
+            released = true;
+        } finally {
+            if (!released) {
+                limiter.releaseWithoutSample();
+            }
+        }
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final GradientConcurrencyLimiter limiter;
+        private final long start;
+        private volatile boolean failed;
+
+        private ReleaseOnComplete(GradientConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (!failed && event.getSuppliedResponse() instanceof HttpServletResponse response
+                    && response.getStatus() < 500) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.releaseWithoutSample();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.recall.recall.limiter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimiterProperties.class)
+@ConditionalOnProperty(prefix = "recall.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimiterConfig {
+
+    @Bean
+    public AdaptiveLoadShedder adaptiveLoadShedder(ConcurrencyLimiterProperties properties) {
+        return new AdaptiveLoadShedder(properties);
+    }
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(AdaptiveLoadShedder adaptiveLoadShedder,
+                                                         ConcurrencyLimiterProperties properties) {
+        return new ConcurrencyLimitFilter(adaptiveLoadShedder, properties.getRetryAfterSeconds());
+    }
+
+    @Bean
+    public ConcurrencyLimiterMetrics concurrencyLimiterMetrics(AdaptiveLoadShedder adaptiveLoadShedder) {
+        return new ConcurrencyLimiterMetrics(adaptiveLoadShedder);
+    }
+}
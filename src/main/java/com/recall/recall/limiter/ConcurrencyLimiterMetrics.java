@@ -0,0 +1,36 @@
+package com.recall.recall.limiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+    private final AdaptiveLoadShedder loadShedder;
+
+    public ConcurrencyLimiterMetrics(AdaptiveLoadShedder loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            GradientConcurrencyLimiter limiter = loadShedder.limiter(trafficClass);
+            Gauge.builder("recall.limiter.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", trafficClass.tag())
+                    .register(registry);
+            Gauge.builder("recall.limiter.in.flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                    .description("Requests currently holding a concurrency permit")
+                    .tag("class", trafficClass.tag())
+                    .register(registry);
+            FunctionCounter.builder("recall.limiter.accepted", limiter, GradientConcurrencyLimiter::getAccepted)
+                    .tag("class", trafficClass.tag())
+                    .register(registry);
+            FunctionCounter.builder("recall.limiter.rejected", limiter, GradientConcurrencyLimiter::getRejected)
+                    .description("Requests shed with 503")
+                    .tag("class", trafficClass.tag())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.recall.recall.limiter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "recall.limiter")
+public class ConcurrencyLimiterProperties {
+    private boolean enabled = true;
+    private int retryAfterSeconds = 1;
+    private Limit read = new Limit(20, 4, 200, 0.2, 1.5, 1);
+    private Limit write = new Limit(10, 2, 100, 0.2, 1.5, 2);
+
+    public Limit forClass(TrafficClass trafficClass) {
+        return trafficClass == TrafficClass.READ ? read : write;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private double smoothing;
+        private double tolerance;
+        /** Lower value wins; lower-priority traffic is shed while a higher-priority class is saturated. */
+        private int priority;
+    }
+}
@@ -0,0 +1,106 @@
+package com.recall.recall.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency-gradient concurrency limit. The limit shrinks when the short-term round trip time
+ * drifts above the long-term baseline and grows by roughly sqrt(limit) while latency is flat.
+ */
+public class GradientConcurrencyLimiter {
+    private static final double SHORT_RTT_ALPHA = 0.5;
+    private static final double LONG_RTT_ALPHA = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) estimatedLimit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        accepted.increment();
+        return true;
+    }
+
+    public void release(long rttNanos) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            onSample(rttNanos, inFlightAtRelease);
+        }
+    }
+
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public boolean isSaturated() {
+        return inFlight.get() >= (int) estimatedLimit;
+    }
+
+    public void recordRejection() {
+        rejected.increment();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_ALPHA;
+        longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+        // Let the baseline recover quickly after a sustained latency drop.
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        double limit = estimatedLimit;
+        if (inFlightAtSample < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
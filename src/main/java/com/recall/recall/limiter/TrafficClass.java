@@ -0,0 +1,17 @@
+package com.recall.recall.limiter;
+
+public enum TrafficClass {
+    READ,
+    WRITE;
+
+    public static TrafficClass of(String httpMethod) {
+        return switch (httpMethod) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
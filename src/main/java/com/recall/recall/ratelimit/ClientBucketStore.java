@@ -0,0 +1,41 @@
+package com.recall.recall.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Buckets per client in a size-bounded Caffeine cache. A bucket left alone for the burst window has
+ * refilled completely, so expiring it after that much idle time loses nothing; past {@code maxClients}
+ * Caffeine evicts the least valuable entries, and an evicted client starts again with a full bucket.
+ * Expiry and eviction run as Caffeine maintenance, not as a sweep on the request thread.
+ */
+public class ClientBucketStore {
+    private final Cache<String, TokenBucket> buckets;
+
+    public ClientBucketStore(int maxClients, long burstNanos) {
+        this(maxClients, burstNanos, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    ClientBucketStore(int maxClients, long burstNanos, Ticker ticker, Executor executor) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+    }
+
+    public TokenBucket bucketFor(String clientKey, long nowNanos) {
+        return buckets.get(clientKey, key -> new TokenBucket(nowNanos));
+    }
+
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,17 @@
+package com.recall.recall.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "recall.ratelimit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties) {
+        return new RateLimitFilter(properties);
+    }
+}
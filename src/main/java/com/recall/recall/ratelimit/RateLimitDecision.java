@@ -0,0 +1,4 @@
+package com.recall.recall.ratelimit;
+
+public record RateLimitDecision(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+}
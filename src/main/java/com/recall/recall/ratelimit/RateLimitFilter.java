@@ -0,0 +1,127 @@
+package com.recall.recall.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilter extends OncePerRequestFilter implements Ordered {
+    public static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    public static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    public static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private static final byte[] REJECTED_BODY =
+            "{\"error\":\"Too Many Requests\",\"details\":\"Rate limit exceeded, retry later\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final List<CompiledRule> rules;
+    private final CompiledRule defaultRule;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule, properties.getMaxClients()))
+                .toList();
+        this.defaultRule = new CompiledRule(properties.getDefaultRule(), properties.getMaxClients());
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        CompiledRule rule = match(request.getMethod(), path);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long now = System.nanoTime();
+        RateLimitDecision decision = rule.store.bucketFor(clientKey(request), now)
+                .tryConsume(now, rule.emissionIntervalNanos, rule.burstNanos);
+
+        response.setHeader(RATE_LIMIT_LIMIT, rule.limitHeader);
+        response.setHeader(RATE_LIMIT_REMAINING, Long.toString(decision.remaining()));
+        response.setHeader(RATE_LIMIT_RESET, Long.toString(toSecondsCeil(decision.resetNanos())));
+        if (!decision.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(toSecondsCeil(decision.retryAfterNanos())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private CompiledRule match(String method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return defaultRule.matches(method, path) ? defaultRule : null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        // An unknown key would let a client mint fresh buckets at will, so only issued keys are trusted.
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static final class CompiledRule {
+        private final String method;
+        private final List<PathPattern> patterns;
+        private final long emissionIntervalNanos;
+        private final long burstNanos;
+        private final String limitHeader;
+        private final ClientBucketStore store;
+
+        private CompiledRule(RateLimitProperties.Rule rule, int maxClients) {
+            if (rule.getCapacity() < 1 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Rate limit for " + rule.getPath() + " needs capacity >= 1 and a positive refill rate");
+            }
+            this.method = rule.getMethod();
+            this.patterns = Arrays.stream(rule.getPath().split(","))
+                    .map(String::trim)
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rule.getRefillPerSecond());
+            this.burstNanos = emissionIntervalNanos * rule.getCapacity();
+            this.limitHeader = Integer.toString(rule.getCapacity());
+            this.store = new ClientBucketStore(maxClients, burstNanos);
+        }
+
+        private boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && patterns.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
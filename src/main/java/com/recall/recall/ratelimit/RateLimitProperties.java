@@ -0,0 +1,35 @@
+package com.recall.recall.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "recall.ratelimit")
+public class RateLimitProperties {
+    private boolean enabled = false;
+    private String apiKeyHeader = "X-API-Key";
+    /** Keys issued to clients; a request gets its own bucket by key only if it presents one of these, otherwise by address. */
+    private Set<String> apiKeys = new HashSet<>();
+    private int maxClients = 100_000;
+    private Rule defaultRule = new Rule(null, "/api/v1/customers/**,/api/v1/async/customers/**", 100, 50);
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        /** HTTP method to match, or null for any method. */
+        private String method;
+        /** Comma-separated path patterns; a request matching any of them draws from the same buckets. */
+        private String path;
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,30 @@
+package com.recall.recall.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket stored as a single theoretical arrival time (GCRA), so consuming a token is one CAS
+ * and a bucket that has fully refilled carries no state worth keeping.
+ */
+public final class TokenBucket {
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(long nowNanos) {
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    public RateLimitDecision tryConsume(long nowNanos, long emissionIntervalNanos, long burstNanos) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long allowAt = newTat - burstNanos;
+            if (nowNanos < allowAt) {
+                return new RateLimitDecision(false, 0, tat - nowNanos, allowAt - nowNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                long remaining = (burstNanos - (newTat - nowNanos)) / emissionIntervalNanos;
+                return new RateLimitDecision(true, remaining, newTat - nowNanos, 0);
+            }
+        }
+    }
+}
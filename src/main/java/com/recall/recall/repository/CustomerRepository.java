@@ -1,13 +1,98 @@
 package com.recall.recall.repository;
 
 import com.recall.recall.entity.Customer;
+import com.recall.recall.entity.CustomerCacheRegions;
+import com.recall.recall.snapshot.SnapshotRow;
+import com.recall.recall.stats.DailyCount;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CustomerCacheRegions.EMAIL_QUERIES)
+    })
     boolean existsByEmail(String email);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CustomerCacheRegions.EMAIL_QUERIES)
+    })
     boolean existsByEmailAndIdNot(String email, Long id);
 
     boolean existsById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select c.email from Customer c")
+    Stream<String> streamAllEmails();
+
+    @Query("select c.id as id, c.email as email from Customer c where c.email in :emails")
+    List<EmailOwner> findEmailOwners(@Param("emails") Collection<String> emails);
+
+    @Query("select c from Customer c where c.createdAt < :to"
+            + " and (c.createdAt > :afterCreatedAt or (c.createdAt = :afterCreatedAt and c.id > :afterId))"
+            + " order by c.createdAt asc, c.id asc")
+    List<Customer> findCreatedBefore(@Param("to") LocalDateTime to,
+                                     @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Customer c where c.id in :ids")
+    List<Customer> lockAllById(@Param("ids") Collection<Long> ids);
+
+    // Tombstones are hidden from entity queries by @SQLRestriction, so the purge goes through native SQL.
+    @Query(value = "SELECT COUNT(*) FROM CUSTOMER WHERE DELETED_AT IS NOT NULL", nativeQuery = true)
+    long countTombstones();
+
+    @Query(value = "SELECT ID FROM CUSTOMER WHERE DELETED_AT < :cutoff ORDER BY DELETED_AT LIMIT :limit", nativeQuery = true)
+    List<Long> findTombstoneIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Native statements evict every L2 region unless they name the tables they touch.
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "CUSTOMER"))
+    @Query(value = "DELETE FROM CUSTOMER WHERE ID IN (:ids) AND DELETED_AT IS NOT NULL", nativeQuery = true)
+    int purgeTombstones(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.recall.recall.snapshot.SnapshotRow(c.id, c.name, c.email, c.createdAt)"
+            + " from Customer c where c.id > :afterId order by c.id asc")
+    List<SnapshotRow> findSnapshotRows(@Param("afterId") Long afterId, Limit limit);
+
+    // Restores keep the archived id, which save() would replace with a generated one; the row starts at version 0.
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "CUSTOMER"))
+    @Query(value = "INSERT INTO CUSTOMER (ID, NAME, EMAIL, CREATED_AT, VERSION) VALUES (:id, :name, :email, :createdAt, 0)", nativeQuery = true)
+    int insertWithId(@Param("id") Long id, @Param("name") String name, @Param("email") String email,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    // Oldest first along IDX_CUSTOMER_CREATED_AT (CREATED_AT, ID); tombstoned rows are included.
+    @Query(value = "SELECT ID FROM CUSTOMER WHERE CREATED_AT < :cutoff ORDER BY CREATED_AT, ID LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "CUSTOMER"))
+    @Query(value = "DELETE FROM CUSTOMER WHERE ID IN (:ids) AND CREATED_AT < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("select new com.recall.recall.stats.DailyCount(cast(c.createdAt as LocalDate), count(c))"
+            + " from Customer c where c.createdAt >= :since group by cast(c.createdAt as LocalDate)")
+    List<DailyCount> countCreatedPerDaySince(@Param("since") LocalDateTime since);
 }
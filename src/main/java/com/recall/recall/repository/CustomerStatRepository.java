@@ -0,0 +1,25 @@
+package com.recall.recall.repository;
+
+import com.recall.recall.entity.CustomerStat;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CustomerStatRepository extends JpaRepository<CustomerStat, String> {
+
+    // Adds in the database rather than writing back a value read earlier, so concurrent nodes don't overwrite each other.
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "CUSTOMER_STATS"))
+    @Query(value = "MERGE INTO CUSTOMER_STATS s"
+            + " USING (SELECT CAST(:key AS VARCHAR(64)) AS STAT_KEY, CAST(:delta AS BIGINT) AS STAT_VALUE) d"
+            + " ON s.STAT_KEY = d.STAT_KEY"
+            + " WHEN MATCHED THEN UPDATE SET s.STAT_VALUE = s.STAT_VALUE + d.STAT_VALUE"
+            + " WHEN NOT MATCHED THEN INSERT (STAT_KEY, STAT_VALUE) VALUES (d.STAT_KEY, d.STAT_VALUE)", nativeQuery = true)
+    int addToValue(@Param("key") String key, @Param("delta") long delta);
+}
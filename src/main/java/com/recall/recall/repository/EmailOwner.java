@@ -0,0 +1,7 @@
+package com.recall.recall.repository;
+
+/** Projection of the customer id holding an email, used by batch duplicate checks. */
+public interface EmailOwner {
+    Long getId();
+    String getEmail();
+}
@@ -0,0 +1,117 @@
+package com.recall.recall.retention;
+
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.store.EmailHashIndex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes customers older than the configured age in batches of ids taken oldest first from
+ * IDX_CUSTOMER_CREATED_AT. Each batch is its own short transaction and batches are paced to
+ * {@code maxRowsPerSecond}, so a large backlog never holds locks or undo for the whole purge. Once a
+ * batch commits its ids go out on the invalidation bus and the emails of the live customers in it leave
+ * the email index, as they do for deletes through the service. The cron tick only hands the purge to the
+ * job's own executor.
+ */
+public class CustomerRetentionJob {
+
+    private static final Logger logger = LogManager.getLogger(CustomerRetentionJob.class);
+
+    private final CustomerRepository customerRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final EmailHashIndex emailHashIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+    private final Clock clock;
+    private final Executor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CustomerRetentionJob(CustomerRepository customerRepository, CacheInvalidationBus invalidationBus,
+                                EmailHashIndex emailHashIndex, TransactionTemplate transactionTemplate,
+                                RetentionProperties properties, Clock clock, Executor executor) {
+        this.customerRepository = customerRepository;
+        this.invalidationBus = invalidationBus;
+        this.emailHashIndex = emailHashIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    @Scheduled(cron = "${recall.retention.cron:0 0 3 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Previous retention purge is still running, skipping this one");
+            return;
+        }
+        boolean started = false;
+        try {
+            executor.execute(() -> {
+                try {
+                    purge();
+                } catch (RuntimeException ex) {
+                    logger.error("Retention purge failed", ex);
+                } finally {
+                    running.set(false);
+                }
+            });
+            started = true;
+        } finally {
+            if (!started) {
+                running.set(false);
+            }
+        }
+    }
+
+    int purge() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(properties.getMaxAgeDays());
+        int batchSize = properties.getBatchSize();
+        long minNanosPerBatch = TimeUnit.SECONDS.toNanos(batchSize) / Math.max(1, properties.getMaxRowsPerSecond());
+        int total = 0;
+        while (true) {
+            long batchStarted = System.nanoTime();
+            List<Long> ids = customerRepository.findIdsCreatedBefore(cutoff, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            // Locking the live rows first keeps a concurrent soft delete from removing the same email twice.
+            List<String> emails = new ArrayList<>();
+            Integer deleted = transactionTemplate.execute(status -> {
+                customerRepository.lockAllById(ids).forEach(customer -> emails.add(customer.getEmail()));
+                return customerRepository.deleteCreatedBefore(ids, cutoff);
+            });
+            total += deleted == null ? 0 : deleted;
+            ids.forEach(invalidationBus::invalidate);
+            emails.forEach(emailHashIndex::remove);
+            if (ids.size() < batchSize || !pause(minNanosPerBatch - (System.nanoTime() - batchStarted))) {
+                break;
+            }
+        }
+        logger.info("Retention purge removed {} customers created before {}", total, cutoff);
+        return total;
+    }
+
+    private static boolean pause(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.recall.recall.retention;
+
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.store.EmailHashIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RetentionProperties.class)
+@ConditionalOnProperty(prefix = "recall.retention", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class RetentionConfig {
+
+    @Bean
+    public CustomerRetentionJob customerRetentionJob(CustomerRepository customerRepository,
+                                                     CacheInvalidationBus invalidationBus, EmailHashIndex emailHashIndex,
+                                                     PlatformTransactionManager transactionManager,
+                                                     RetentionProperties properties) {
+        Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CustomerRetentionJob(customerRepository, invalidationBus, emailHashIndex,
+                new TransactionTemplate(transactionManager), properties, Clock.systemDefaultZone(), executor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.recall.recall.retention;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "recall.retention")
+public class RetentionProperties {
+    private boolean enabled = false;
+    /** Customers created longer ago than this are purged. */
+    private int maxAgeDays = 365;
+    /** Ids deleted per transaction. */
+    private int batchSize = 1000;
+    private int maxRowsPerSecond = 5000;
+    private String cron = "0 0 3 * * *";
+}
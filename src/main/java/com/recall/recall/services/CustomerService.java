@@ -2,10 +2,16 @@ package com.recall.recall.services;
 
 import com.recall.recall.dto.CustomerRequestDTO;
 import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CustomerService {
 
@@ -13,12 +19,26 @@ public interface CustomerService {
 
     Page<CustomerResponseDTO> getAllCustomers(Pageable pageable);
 
+    CustomerSliceDTO getCustomersCreatedBetween(LocalDateTime from, LocalDateTime to, String cursor, int size);
+
     CustomerResponseDTO createCustomer(CustomerRequestDTO customerRequestDTO);
+
+    List<CustomerResponseDTO> createCustomers(List<CustomerRequestDTO> customerRequestDTOs);
+
+    /** Ids of the customers currently holding each of the given emails; emails nobody holds are absent. */
+    Map<String, List<Long>> findCustomerIdsByEmails(Collection<String> emails);
+
     boolean existsByEmail(String email);
 
     boolean existsByEmailAndIdNot(String email, Long id);
 
     void deleteCustomer(Long id);
 
+    /** Moves an archived customer back into the hot tier. */
+    CustomerResponseDTO restoreCustomer(Long id);
+
     CustomerResponseDTO updateCustomer(CustomerRequestDTO customerRequestDTO);
+
+    /** Updates only if the stored version is one of {@code acceptedVersions}; null skips the check. */
+    CustomerResponseDTO updateCustomer(CustomerRequestDTO customerRequestDTO, Set<Long> acceptedVersions);
 }
@@ -1,41 +1,74 @@
 package com.recall.recall.services;
 
+import com.recall.recall.archive.CustomerArchive;
+import com.recall.recall.cache.CacheInvalidationBus;
 import com.recall.recall.dto.*;
 import com.recall.recall.entity.Customer;
+import com.recall.recall.exception.CustomerNotFoundException;
+import com.recall.recall.exception.DuplicateEmailException;
+import com.recall.recall.exception.VersionConflictException;
 import com.recall.recall.repository.CustomerRepository;
-import jakarta.persistence.EntityNotFoundException;
+import com.recall.recall.repository.EmailOwner;
+import com.recall.recall.softdelete.SoftDeleteProperties;
+import com.recall.recall.stats.CustomerStats;
+import com.recall.recall.store.EmailHashIndex;
 import jakarta.transaction.Transactional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
 public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final EmailHashIndex emailHashIndex;
+    private final boolean softDelete;
+    private final CustomerArchive customerArchive;
+    private final CustomerStats customerStats;
+    private final CacheInvalidationBus invalidationBus;
     private static final Logger logger = LogManager.getLogger(CustomerServiceImpl.class);
+    private static final int MAX_SLICE_SIZE = 500;
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 500;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper, EmailHashIndex emailHashIndex,
+                               SoftDeleteProperties softDeleteProperties, CustomerArchive customerArchive,
+                               CustomerStats customerStats, CacheInvalidationBus invalidationBus) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.emailHashIndex = emailHashIndex;
+        this.softDelete = softDeleteProperties.isEnabled();
+        this.customerArchive = customerArchive;
+        this.customerStats = customerStats;
+        this.invalidationBus = invalidationBus;
+    }
+
+    // A tombstone can still be served from the second-level cache, so loads by id check the flag too.
+    private Optional<Customer> findLiveCustomer(Long id) {
+        return customerRepository.findById(id).filter(customer -> !customer.isDeleted());
     }
 
     private Customer getCustomerOrThrow(Long id) {
-        return customerRepository.findById(id)
+        return findLiveCustomer(id)
                 .orElseThrow(() -> {
                     logger.warn("Customer with id {} not found", id);
-                    return  new EntityNotFoundException("Customer with id " + id + " not found");
+                    return new CustomerNotFoundException(id);
                 });
     }
 
     public Optional<CustomerResponseDTO> getCustomerById(Long id) {
         try {
-            Optional<Customer> customer = customerRepository.findById(id);
+            Optional<Customer> customer = findLiveCustomer(id).or(() -> customerArchive.findById(id));
             return customer.map(customerMapper::toResponseDTO);
         } catch (DataAccessException ex) {
             logger.error("Error retrieving customer with id {}: {}", id, ex.getMessage());
@@ -51,11 +84,43 @@ public class CustomerServiceImpl implements CustomerService {
         }
     }
 
+    public CustomerSliceDTO getCustomersCreatedBetween(LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        CustomerCursor position = cursor == null ? CustomerCursor.start(from) : CustomerCursor.decode(cursor);
+        if (position.createdAt().isBefore(from)) {
+            position = CustomerCursor.start(from);
+        }
+        // One extra row tells whether another slice follows without a count query.
+        List<Customer> customers = customerRepository.findCreatedBefore(to, position.createdAt(), position.id(), Limit.of(size + 1));
+        boolean hasMore = customers.size() > size;
+        List<Customer> slice = hasMore ? customers.subList(0, size) : customers;
+        String nextCursor = null;
+        if (hasMore) {
+            Customer last = slice.get(slice.size() - 1);
+            nextCursor = new CustomerCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return CustomerSliceDTO.builder()
+                .content(slice.stream().map(customerMapper::toResponseDTO).toList())
+                .size(slice.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Transactional
     public CustomerResponseDTO createCustomer(CustomerRequestDTO customerRequestDTO) {
         try {
             Customer customer = customerMapper.toEntity(customerRequestDTO);
             Customer savedCustomer = customerRepository.save(customer);
+            emailHashIndex.add(savedCustomer.getEmail());
+            afterCommit(() -> {
+                customerStats.recordCreated(savedCustomer.getCreatedAt());
+                invalidationBus.invalidate(savedCustomer.getId());
+            });
             logger.info("customer successfully created with id {}", savedCustomer.getId());
             return customerMapper.toResponseDTO(savedCustomer);
         } catch (DataAccessException ex) {
@@ -64,38 +129,130 @@ public class CustomerServiceImpl implements CustomerService {
         }
     }
 
+    @Transactional
+    public List<CustomerResponseDTO> createCustomers(List<CustomerRequestDTO> customerRequestDTOs) {
+        try {
+            List<Customer> savedCustomers = customerRepository.saveAll(
+                    customerRequestDTOs.stream().map(customerMapper::toEntity).toList());
+            savedCustomers.forEach(customer -> emailHashIndex.add(customer.getEmail()));
+            afterCommit(() -> savedCustomers.forEach(customer -> {
+                customerStats.recordCreated(customer.getCreatedAt());
+                invalidationBus.invalidate(customer.getId());
+            }));
+            logger.info("{} customers successfully created", savedCustomers.size());
+            return savedCustomers.stream().map(customerMapper::toResponseDTO).toList();
+        } catch (DataAccessException ex) {
+            logger.error("Error creating customers: {}", ex.getMessage());
+            throw ex;
+        }
+    }
+
+    public Map<String, List<Long>> findCustomerIdsByEmails(Collection<String> emails) {
+        List<String> candidates = emails.stream().filter(emailHashIndex::mightContain).distinct().toList();
+        Map<String, List<Long>> owners = new HashMap<>();
+        // Chunked so the IN list stays within driver and plan-cache friendly sizes.
+        for (int from = 0; from < candidates.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = candidates.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, candidates.size()));
+            for (EmailOwner owner : customerRepository.findEmailOwners(chunk)) {
+                owners.computeIfAbsent(owner.getEmail(), email -> new ArrayList<>(1)).add(owner.getId());
+            }
+        }
+        return owners;
+    }
+
     public boolean existsByEmail(String email) {
+        if (!emailHashIndex.mightContain(email)) {
+            return false;
+        }
         return customerRepository.existsByEmail(email);
     }
     public boolean existsByEmailAndIdNot(String email, Long id) {
+        if (!emailHashIndex.mightContain(email)) {
+            return false;
+        }
         return customerRepository.existsByEmailAndIdNot(email, id);
     }
     @Transactional
     public void deleteCustomer(Long id) {
         Customer customer = getCustomerOrThrow(id);
         try {
-            customerRepository.delete(customer);
+            if (softDelete) {
+                customer.setDeletedAt(LocalDateTime.now());
+                customerRepository.save(customer);
+            } else {
+                customerRepository.delete(customer);
+            }
+            removeFromEmailIndexAfterCommit(customer.getEmail());
+            afterCommit(() -> {
+                customerStats.recordDeleted(customer.getCreatedAt());
+                invalidationBus.invalidate(id);
+            });
             logger.info("Customer deleted with id {}", id);
         } catch (DataAccessException ex) {
             logger.error("Error deleting customer with id {}: {}", id, ex.getMessage());
             throw ex;
         }
     }
+    @Transactional
+    public CustomerResponseDTO restoreCustomer(Long id) {
+        Optional<Customer> hotCustomer = findLiveCustomer(id);
+        if (hotCustomer.isPresent()) {
+            return customerMapper.toResponseDTO(hotCustomer.get());
+        }
+        Customer archived = customerArchive.findById(id).orElseThrow(() -> {
+            logger.warn("Customer with id {} not found in archive", id);
+            return new CustomerNotFoundException(id);
+        });
+        // EMAIL has no unique constraint, and a new customer may have taken the address while this one was archived.
+        if (existsByEmail(archived.getEmail())) {
+            logger.warn("Customer with id {} cannot be restored, its email is taken", id);
+            throw new DuplicateEmailException(archived.getEmail());
+        }
+        customerRepository.insertWithId(archived.getId(), archived.getName(), archived.getEmail(), archived.getCreatedAt());
+        // The archive keeps no version; report the inserted row's, so the ETag works for a later If-Match.
+        archived.setVersion(0L);
+        emailHashIndex.add(archived.getEmail());
+        afterCommit(() -> {
+            customerArchive.remove(id);
+            customerStats.recordCreated(archived.getCreatedAt());
+            invalidationBus.invalidate(id);
+        });
+        logger.info("Customer restored from archive with id {}", id);
+        return customerMapper.toResponseDTO(archived);
+    }
+
     @Transactional
     public CustomerResponseDTO updateCustomer(CustomerRequestDTO customerRequestDTO) {
+        return updateCustomer(customerRequestDTO, null);
+    }
+
+    // A writer that commits between this check and the flush still fails, on the version column at commit.
+    @Transactional
+    public CustomerResponseDTO updateCustomer(CustomerRequestDTO customerRequestDTO, Set<Long> acceptedVersions) {
         Long id = customerRequestDTO.getId();
-        Optional<Customer> optionalCustomer = customerRepository.findById(id);
+        Optional<Customer> optionalCustomer = findLiveCustomer(id);
         if (optionalCustomer.isEmpty()) {
             logger.error("Customer with id {} not found for update", id);
-            throw new EntityNotFoundException("Customer with id " + id + " not found");
+            throw new CustomerNotFoundException(id);
         }
         Customer existingCustomer = optionalCustomer.get();
+        if (acceptedVersions != null && !acceptedVersions.contains(existingCustomer.getVersion())) {
+            logger.warn("Customer with id {} is at version {}, not one of {}", id, existingCustomer.getVersion(), acceptedVersions);
+            throw new VersionConflictException(id);
+        }
+        String previousEmail = existingCustomer.getEmail();
         if(customerRequestDTO.getName() != null)
             existingCustomer.setName(customerRequestDTO.getName());
         if(customerRequestDTO.getEmail() != null)
             existingCustomer.setEmail(customerRequestDTO.getEmail());
         try {
-            Customer customer = customerRepository.save(existingCustomer);
+            // @Version only moves at flush; flushing here lets the response and its ETag carry the new version.
+            Customer customer = customerRepository.saveAndFlush(existingCustomer);
+            if (customerRequestDTO.getEmail() != null && !customerRequestDTO.getEmail().equals(previousEmail)) {
+                emailHashIndex.add(customerRequestDTO.getEmail());
+                removeFromEmailIndexAfterCommit(previousEmail);
+            }
+            afterCommit(() -> invalidationBus.invalidate(id));
             logger.info("customer successfully updated with id {}", id);
             return customerMapper.toResponseDTO(customer);
         } catch (DataAccessException ex) {
@@ -104,4 +261,22 @@ public class CustomerServiceImpl implements CustomerService {
         }
     }
 
+    // A rolled-back removal would leave a false negative in the index, so removals wait for the commit.
+    private void removeFromEmailIndexAfterCommit(String email) {
+        afterCommit(() -> emailHashIndex.remove(email));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.recall.recall.services;
+
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/** Matches the {@link CustomerService} contract on its implementations, not toString/equals or private helpers. */
+public class CustomerServicePointcut extends StaticMethodMatcherPointcut {
+
+    public CustomerServicePointcut() {
+        setClassFilter(new RootClassFilter(CustomerService.class));
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return ReflectionUtils.findMethod(CustomerService.class, method.getName(), method.getParameterTypes()) != null;
+    }
+}
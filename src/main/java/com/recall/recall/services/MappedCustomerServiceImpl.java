@@ -0,0 +1,121 @@
+package com.recall.recall.services;
+
+import com.recall.recall.dto.CustomerMapper;
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
+import com.recall.recall.entity.Customer;
+import com.recall.recall.exception.CustomerNotFoundException;
+import com.recall.recall.store.MappedCustomerStore;
+import com.recall.recall.store.MappedStoreProperties;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "mapped")
+public class MappedCustomerServiceImpl implements CustomerService {
+    private final MappedCustomerStore customerStore;
+    private final CustomerMapper customerMapper;
+    private final double compactionThreshold;
+    private static final Logger logger = LogManager.getLogger(MappedCustomerServiceImpl.class);
+
+    public MappedCustomerServiceImpl(MappedCustomerStore customerStore, CustomerMapper customerMapper,
+                                     MappedStoreProperties properties) {
+        this.customerStore = customerStore;
+        this.customerMapper = customerMapper;
+        this.compactionThreshold = properties.getCompactionThreshold();
+    }
+
+    public Optional<CustomerResponseDTO> getCustomerById(Long id) {
+        return customerStore.findById(id).map(customerMapper::toResponseDTO);
+    }
+
+    public Page<CustomerResponseDTO> getAllCustomers(Pageable pageable) {
+        long total = customerStore.count();
+        List<Customer> customers = pageable.isPaged()
+                ? customerStore.scan(pageable.getOffset(), pageable.getPageSize())
+                : customerStore.scan(0, (int) Math.min(total, Integer.MAX_VALUE));
+        return new PageImpl<>(customers.stream().map(customerMapper::toResponseDTO).toList(), pageable, total);
+    }
+
+    public CustomerSliceDTO getCustomersCreatedBetween(LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        throw new OperationNotSupportedException("Time-range queries are not supported by the mapped customer store");
+    }
+
+    public CustomerResponseDTO createCustomer(CustomerRequestDTO customerRequestDTO) {
+        Customer saved = customerStore.insert(customerRequestDTO.getName(), customerRequestDTO.getEmail());
+        logger.info("customer successfully created with id {}", saved.getId());
+        return customerMapper.toResponseDTO(saved);
+    }
+
+    public List<CustomerResponseDTO> createCustomers(List<CustomerRequestDTO> customerRequestDTOs) {
+        return customerRequestDTOs.stream().map(this::createCustomer).toList();
+    }
+
+    public Map<String, List<Long>> findCustomerIdsByEmails(Collection<String> emails) {
+        return customerStore.findIdsByEmails(new HashSet<>(emails));
+    }
+
+    public boolean existsByEmail(String email) {
+        return customerStore.existsByEmail(email, null);
+    }
+
+    public boolean existsByEmailAndIdNot(String email, Long id) {
+        return customerStore.existsByEmail(email, id);
+    }
+
+    public void deleteCustomer(Long id) {
+        if (!customerStore.delete(id)) {
+            logger.warn("Customer with id {} not found", id);
+            throw new CustomerNotFoundException(id);
+        }
+        logger.info("Customer deleted with id {}", id);
+        compactIfNeeded();
+    }
+
+    public CustomerResponseDTO restoreCustomer(Long id) {
+        throw new OperationNotSupportedException("Archive restore is not supported by the mapped customer store");
+    }
+
+    public CustomerResponseDTO updateCustomer(CustomerRequestDTO customerRequestDTO) {
+        Long id = customerRequestDTO.getId();
+        Customer existingCustomer = customerStore.findById(id).orElseThrow(() -> {
+            logger.error("Customer with id {} not found for update", id);
+            return new CustomerNotFoundException(id);
+        });
+        if (customerRequestDTO.getName() != null)
+            existingCustomer.setName(customerRequestDTO.getName());
+        if (customerRequestDTO.getEmail() != null)
+            existingCustomer.setEmail(customerRequestDTO.getEmail());
+        Customer customer = customerStore.update(existingCustomer);
+        logger.info("customer successfully updated with id {}", id);
+        compactIfNeeded();
+        return customerMapper.toResponseDTO(customer);
+    }
+
+    public CustomerResponseDTO updateCustomer(CustomerRequestDTO customerRequestDTO, Set<Long> acceptedVersions) {
+        if (acceptedVersions != null) {
+            throw new IllegalArgumentException("If-Match is not supported by the mapped customer store");
+        }
+        return updateCustomer(customerRequestDTO);
+    }
+
+    private void compactIfNeeded() {
+        if (customerStore.deadRatio() > compactionThreshold) {
+            customerStore.compactInBackground();
+        }
+    }
+}
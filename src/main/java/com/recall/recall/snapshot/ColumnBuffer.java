@@ -0,0 +1,65 @@
+package com.recall.recall.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/** Growable byte buffer for one column of a row group, with zig-zag varint encoding. */
+final class ColumnBuffer {
+
+    private byte[] bytes = new byte[4096];
+    private int size;
+
+    void writeVarLong(long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        ensureCapacity(10);
+        while ((zigZag & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        bytes[size++] = (byte) zigZag;
+    }
+
+    void writeBytes(byte[] value) {
+        writeVarLong(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    static void skipBytes(ByteBuffer buffer) {
+        int length = (int) readVarLong(buffer);
+        buffer.position(buffer.position() + length);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
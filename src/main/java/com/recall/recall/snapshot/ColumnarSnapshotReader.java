@@ -0,0 +1,171 @@
+package com.recall.recall.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Read-only view of a snapshot written by {@link ColumnarSnapshotWriter}. Each row group is memory-mapped
+ * separately, and every aggregate decodes only the columns it needs; row groups whose created-at range
+ * misses the query are skipped from their header alone. Safe for concurrent scans.
+ */
+public class ColumnarSnapshotReader {
+
+    private static final int TRAILER_BYTES = 3 * Long.BYTES + Integer.BYTES;
+    private static final int CREATED_AT_COLUMN = 1;
+    private static final int DOMAIN_DICTIONARY_COLUMN = 2;
+    private static final int DOMAIN_CODES_COLUMN = 3;
+
+    private final ByteBuffer[] rowGroups;
+    private final long rowCount;
+    private final Instant exportedAt;
+    private final long sizeBytes;
+
+    private ColumnarSnapshotReader(ByteBuffer[] rowGroups, long rowCount, Instant exportedAt, long sizeBytes) {
+        this.rowGroups = rowGroups;
+        this.rowCount = rowCount;
+        this.exportedAt = exportedAt;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public static ColumnarSnapshotReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + Integer.BYTES + TRAILER_BYTES) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES, TRAILER_BYTES);
+            long rowCount = trailer.getLong();
+            long exportedAtMillis = trailer.getLong();
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != ColumnarSnapshotWriter.MAGIC) {
+                throw new IOException("Snapshot " + file + " has no valid footer");
+            }
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, size - TRAILER_BYTES - footerOffset);
+            int groupCount = footer.getInt();
+            long[] offsets = new long[groupCount + 1];
+            for (int i = 0; i < groupCount; i++) {
+                offsets[i] = footer.getLong();
+            }
+            offsets[groupCount] = footerOffset;
+            ByteBuffer[] rowGroups = new ByteBuffer[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                rowGroups[i] = channel.map(FileChannel.MapMode.READ_ONLY, offsets[i], offsets[i + 1] - offsets[i]);
+            }
+            return new ColumnarSnapshotReader(rowGroups, rowCount, Instant.ofEpochMilli(exportedAtMillis), size);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getRowGroupCount() {
+        return rowGroups.length;
+    }
+
+    public Instant getExportedAt() {
+        return exportedAt;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /** Customers per email domain, decoded from the domain dictionary and code columns only. */
+    public Map<String, Long> countByEmailDomain() {
+        Map<String, Long> counts = new HashMap<>();
+        for (ByteBuffer rowGroup : rowGroups) {
+            RowGroup group = new RowGroup(rowGroup);
+            ByteBuffer dictionary = group.column(DOMAIN_DICTIONARY_COLUMN);
+            String[] domains = new String[(int) ColumnBuffer.readVarLong(dictionary)];
+            for (int i = 0; i < domains.length; i++) {
+                byte[] domain = new byte[(int) ColumnBuffer.readVarLong(dictionary)];
+                dictionary.get(domain);
+                domains[i] = new String(domain, StandardCharsets.UTF_8);
+            }
+            long[] perCode = new long[domains.length];
+            ByteBuffer codes = group.column(DOMAIN_CODES_COLUMN);
+            for (int i = 0; i < group.rows; i++) {
+                perCode[(int) ColumnBuffer.readVarLong(codes)]++;
+            }
+            for (int i = 0; i < domains.length; i++) {
+                counts.merge(domains[i], perCode[i], Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Customers created in {@code [from, to)}, bucketed by day, or by month (keyed on its first day) when
+     * {@code byMonth} is set. Only the created-at column is decoded.
+     */
+    public SortedMap<LocalDate, Long> countCreatedBetween(LocalDateTime from, LocalDateTime to, boolean byMonth) {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+        Map<Long, Long> perDay = new HashMap<>();
+        for (ByteBuffer rowGroup : rowGroups) {
+            RowGroup group = new RowGroup(rowGroup);
+            if (group.maxSecond < fromSecond || group.minSecond >= toSecond) {
+                continue;
+            }
+            ByteBuffer column = group.column(CREATED_AT_COLUMN);
+            long second = 0;
+            for (int i = 0; i < group.rows; i++) {
+                second += ColumnBuffer.readVarLong(column);
+                if (second >= fromSecond && second < toSecond) {
+                    perDay.merge(Math.floorDiv(second, 86_400L), 1L, Long::sum);
+                }
+            }
+        }
+        SortedMap<LocalDate, Long> buckets = new TreeMap<>();
+        perDay.forEach((epochDay, count) -> {
+            LocalDate day = LocalDate.ofEpochDay(epochDay);
+            buckets.merge(byMonth ? day.withDayOfMonth(1) : day, count, Long::sum);
+        });
+        return buckets;
+    }
+
+    private static final class RowGroup {
+        private final ByteBuffer buffer;
+        private final int rows;
+        private final long minId;
+        private final long maxId;
+        private final long minSecond;
+        private final long maxSecond;
+        private final int[] columnStarts = new int[ColumnarSnapshotWriter.COLUMN_COUNT];
+        private final int[] columnLengths = new int[ColumnarSnapshotWriter.COLUMN_COUNT];
+
+        private RowGroup(ByteBuffer mapped) {
+            buffer = mapped.duplicate();
+            rows = buffer.getInt();
+            minId = buffer.getLong();
+            maxId = buffer.getLong();
+            minSecond = buffer.getLong();
+            maxSecond = buffer.getLong();
+            for (int i = 0; i < columnLengths.length; i++) {
+                columnLengths[i] = buffer.getInt();
+            }
+            int start = buffer.position();
+            for (int i = 0; i < columnLengths.length; i++) {
+                columnStarts[i] = start;
+                start += columnLengths[i];
+            }
+        }
+
+        private ByteBuffer column(int index) {
+            return buffer.duplicate().position(columnStarts[index]).limit(columnStarts[index] + columnLengths[index]);
+        }
+    }
+}
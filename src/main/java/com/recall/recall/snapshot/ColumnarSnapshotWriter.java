@@ -0,0 +1,148 @@
+package com.recall.recall.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams customers into a column-oriented snapshot file. Only the current row group is held in memory,
+ * so memory stays bounded by {@code rowGroupSize} however many customers are exported.
+ * <p>
+ * Layout: {@code int MAGIC, int VERSION}, then row groups, then a footer of row-group offsets followed by
+ * {@code long rowCount, long exportedAtEpochMilli, long footerOffset, int MAGIC}. Each row group starts
+ * with its row count, id and created-at min/max, and the byte length of each column, followed by the
+ * columns: id deltas, created-at second deltas, the email-domain dictionary, domain codes, email local
+ * parts and names.
+ */
+public class ColumnarSnapshotWriter implements Closeable {
+
+    static final int MAGIC = 0x52435331;
+    static final int VERSION = 1;
+    static final int COLUMN_COUNT = 6;
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final List<Long> rowGroupOffsets = new ArrayList<>();
+    private final ColumnBuffer ids = new ColumnBuffer();
+    private final ColumnBuffer createdAt = new ColumnBuffer();
+    private final ColumnBuffer domainDictionary = new ColumnBuffer();
+    private final ColumnBuffer domainCodes = new ColumnBuffer();
+    private final ColumnBuffer localParts = new ColumnBuffer();
+    private final ColumnBuffer names = new ColumnBuffer();
+    private final Map<String, Integer> domainCodeByName = new HashMap<>();
+    private final List<String> domains = new ArrayList<>();
+    private long position;
+    private long rowCount;
+    private int groupRows;
+    private long previousId;
+    private long previousSecond;
+    private long minId;
+    private long maxId;
+    private long minSecond;
+    private long maxSecond;
+
+    public ColumnarSnapshotWriter(Path file, int rowGroupSize) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        this.rowGroupSize = rowGroupSize;
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        position = 2 * Integer.BYTES;
+    }
+
+    public void add(SnapshotRow row) throws IOException {
+        long id = row.id();
+        long second = row.createdAt() == null ? 0 : row.createdAt().toEpochSecond(ZoneOffset.UTC);
+        if (groupRows == 0) {
+            minId = maxId = id;
+            minSecond = maxSecond = second;
+            previousId = 0;
+            previousSecond = 0;
+        }
+        ids.writeVarLong(id - previousId);
+        createdAt.writeVarLong(second - previousSecond);
+        previousId = id;
+        previousSecond = second;
+        minId = Math.min(minId, id);
+        maxId = Math.max(maxId, id);
+        minSecond = Math.min(minSecond, second);
+        maxSecond = Math.max(maxSecond, second);
+
+        String email = row.email() == null ? "" : row.email();
+        int at = email.lastIndexOf('@');
+        String domain = at < 0 ? "" : email.substring(at + 1).toLowerCase();
+        Integer code = domainCodeByName.get(domain);
+        if (code == null) {
+            code = domains.size();
+            domainCodeByName.put(domain, code);
+            domains.add(domain);
+        }
+        domainCodes.writeVarLong(code);
+        localParts.writeBytes((at < 0 ? email : email.substring(0, at)).getBytes(StandardCharsets.UTF_8));
+        names.writeBytes((row.name() == null ? "" : row.name()).getBytes(StandardCharsets.UTF_8));
+
+        rowCount++;
+        if (++groupRows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (groupRows > 0) {
+                flushRowGroup();
+            }
+            long footerOffset = position;
+            out.writeInt(rowGroupOffsets.size());
+            for (long offset : rowGroupOffsets) {
+                out.writeLong(offset);
+            }
+            out.writeLong(rowCount);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        domainDictionary.writeVarLong(domains.size());
+        for (String domain : domains) {
+            domainDictionary.writeBytes(domain.getBytes(StandardCharsets.UTF_8));
+        }
+        ColumnBuffer[] columns = {ids, createdAt, domainDictionary, domainCodes, localParts, names};
+        rowGroupOffsets.add(position);
+        out.writeInt(groupRows);
+        out.writeLong(minId);
+        out.writeLong(maxId);
+        out.writeLong(minSecond);
+        out.writeLong(maxSecond);
+        position += Integer.BYTES + 4 * Long.BYTES;
+        for (ColumnBuffer column : columns) {
+            out.writeInt(column.size());
+            position += Integer.BYTES;
+        }
+        for (ColumnBuffer column : columns) {
+            column.writeTo(out);
+            position += column.size();
+            column.reset();
+        }
+        domainCodeByName.clear();
+        domains.clear();
+        groupRows = 0;
+    }
+}
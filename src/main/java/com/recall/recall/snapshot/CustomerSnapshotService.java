@@ -0,0 +1,121 @@
+package com.recall.recall.snapshot;
+
+import com.recall.recall.exception.SnapshotUnavailableException;
+import com.recall.recall.repository.CustomerRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exports CUSTOMER into a columnar snapshot and serves analytics scans from it, so aggregate queries
+ * never reach H2. The export streams id-ordered keyset pages into a temporary file that replaces the
+ * previous snapshot atomically; scans in flight keep reading the snapshot they started on. Scheduled
+ * and requested exports run on the service's own executor, one at a time.
+ */
+public class CustomerSnapshotService {
+
+    private static final Logger logger = LogManager.getLogger(CustomerSnapshotService.class);
+
+    private final CustomerRepository customerRepository;
+    private final SnapshotProperties properties;
+    private final Path file;
+    private final Executor executor;
+    private final AtomicBoolean exporting = new AtomicBoolean();
+    private volatile ColumnarSnapshotReader current;
+
+    public CustomerSnapshotService(CustomerRepository customerRepository, SnapshotProperties properties,
+                                   Executor executor) {
+        this.customerRepository = customerRepository;
+        this.properties = properties;
+        this.executor = executor;
+        this.file = Path.of(properties.getPath());
+        if (Files.exists(file)) {
+            try {
+                current = ColumnarSnapshotReader.open(file);
+            } catch (IOException ex) {
+                logger.warn("Ignoring unreadable customer snapshot {}: {}", file, ex.getMessage());
+            }
+        }
+    }
+
+    /** Starts an export on the service's executor; returns false when one is already running, which covers this request. */
+    @Scheduled(cron = "${recall.snapshot.cron:0 0 4 * * *}")
+    public boolean exportInBackground() {
+        if (!exporting.compareAndSet(false, true)) {
+            return false;
+        }
+        boolean started = false;
+        try {
+            executor.execute(() -> {
+                try {
+                    export();
+                } catch (RuntimeException ex) {
+                    logger.error("Customer snapshot export failed", ex);
+                } finally {
+                    exporting.set(false);
+                }
+            });
+            started = true;
+        } finally {
+            if (!started) {
+                exporting.set(false);
+            }
+        }
+        return true;
+    }
+
+    public boolean isExporting() {
+        return exporting.get();
+    }
+
+    synchronized ColumnarSnapshotReader export() {
+        long started = System.nanoTime();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, "customers", ".tmp");
+            try {
+                try (ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(temporary, properties.getRowGroupSize())) {
+                    long afterId = 0;
+                    List<SnapshotRow> rows;
+                    do {
+                        rows = customerRepository.findSnapshotRows(afterId, Limit.of(properties.getFetchSize()));
+                        for (SnapshotRow row : rows) {
+                            writer.add(row);
+                        }
+                        if (!rows.isEmpty()) {
+                            afterId = rows.get(rows.size() - 1).id();
+                        }
+                    } while (rows.size() == properties.getFetchSize());
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            current = ColumnarSnapshotReader.open(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Customer snapshot export failed", ex);
+        }
+        logger.info("Exported {} customers to snapshot in {} ms", current.getRowCount(),
+                (System.nanoTime() - started) / 1_000_000);
+        return current;
+    }
+
+    public ColumnarSnapshotReader current() {
+        ColumnarSnapshotReader reader = current;
+        if (reader == null) {
+            throw new SnapshotUnavailableException();
+        }
+        return reader;
+    }
+}
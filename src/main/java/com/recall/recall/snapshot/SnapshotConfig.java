@@ -0,0 +1,30 @@
+package com.recall.recall.snapshot;
+
+import com.recall.recall.repository.CustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SnapshotProperties.class)
+@ConditionalOnProperty(prefix = "recall.snapshot", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class SnapshotConfig {
+
+    @Bean
+    public CustomerSnapshotService customerSnapshotService(CustomerRepository customerRepository,
+                                                           SnapshotProperties properties) {
+        Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CustomerSnapshotService(customerRepository, properties, executor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.recall.recall.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "recall.snapshot")
+public class SnapshotProperties {
+    private boolean enabled = false;
+    private String path = "data/snapshot/customers.rcs";
+    /** Rows buffered per row group; bounds writer memory. */
+    private int rowGroupSize = 65_536;
+    /** Rows fetched per keyset query while exporting. */
+    private int fetchSize = 5_000;
+    private String cron = "0 0 4 * * *";
+}
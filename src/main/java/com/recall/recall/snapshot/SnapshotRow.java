@@ -0,0 +1,7 @@
+package com.recall.recall.snapshot;
+
+import java.time.LocalDateTime;
+
+/** Customer columns exported to the snapshot, read by JPQL constructor expression to bypass the entity cache. */
+public record SnapshotRow(Long id, String name, String email, LocalDateTime createdAt) {
+}
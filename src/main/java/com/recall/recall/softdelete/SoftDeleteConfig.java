@@ -0,0 +1,39 @@
+package com.recall.recall.softdelete;
+
+import com.recall.recall.repository.CustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(SoftDeleteProperties.class)
+public class SoftDeleteConfig {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "recall.soft-delete", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+    static class PurgeConfig {
+
+        @Bean
+        public TombstonePurger tombstonePurger(CustomerRepository customerRepository, SoftDeleteProperties properties) {
+            Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tombstone-purge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            return new TombstonePurger(customerRepository, properties.getPurge(), Clock.systemDefaultZone(), executor);
+        }
+
+        @Bean
+        public TombstonePurgeMetrics tombstonePurgeMetrics(TombstonePurger tombstonePurger) {
+            return new TombstonePurgeMetrics(tombstonePurger);
+        }
+    }
+}
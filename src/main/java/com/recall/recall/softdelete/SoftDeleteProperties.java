@@ -0,0 +1,27 @@
+package com.recall.recall.softdelete;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.soft-delete")
+public class SoftDeleteProperties {
+    /** Mark deleted customers with DELETED_AT instead of deleting the row in the request. */
+    private boolean enabled = false;
+    private Purge purge = new Purge();
+
+    @Data
+    public static class Purge {
+        /** How long a tombstone is kept before the purge job may remove it. */
+        private Duration gracePeriod = Duration.ofHours(24);
+        /** Delay between purge runs, read by the scheduler. */
+        private Duration interval = Duration.ofMinutes(1);
+        private int batchSize = 500;
+        private int maxRowsPerSecond = 1000;
+        /** Off-peak window in local hours, [start, end); equal values mean any time. */
+        private int offPeakStartHour = 1;
+        private int offPeakEndHour = 5;
+    }
+}
@@ -0,0 +1,30 @@
+package com.recall.recall.softdelete;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class TombstonePurgeMetrics implements MeterBinder {
+    private final TombstonePurger purger;
+
+    public TombstonePurgeMetrics(TombstonePurger purger) {
+        this.purger = purger;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recall.purge.backlog", purger, TombstonePurger::getBacklog)
+                .description("Soft-deleted customers waiting to be purged")
+                .register(registry);
+        Gauge.builder("recall.purge.last.run.rate", purger, TombstonePurger::getLastRunRowsPerSecond)
+                .description("Rows per second removed by the last purge run")
+                .baseUnit("rows/s")
+                .register(registry);
+        FunctionCounter.builder("recall.purge.purged", purger, TombstonePurger::getPurged)
+                .description("Customer tombstones removed")
+                .register(registry);
+        FunctionCounter.builder("recall.purge.batches", purger, TombstonePurger::getBatches)
+                .register(registry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.recall.recall.softdelete;
+
+import com.recall.recall.repository.CustomerRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Removes soft-deleted customers in small batches, each in its own transaction, paced to
+ * {@code maxRowsPerSecond} and only inside the off-peak window, so cleanup never holds long locks on
+ * CUSTOMER while it is serving traffic. The scheduled tick only counts the backlog; draining it can take
+ * hours, so it runs on the purger's own executor and the shared scheduler thread is never held.
+ */
+public class TombstonePurger {
+
+    private static final Logger logger = LogManager.getLogger(TombstonePurger.class);
+
+    private final CustomerRepository customerRepository;
+    private final SoftDeleteProperties.Purge purge;
+    private final Clock clock;
+    private final Executor executor;
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final AtomicLong backlog = new AtomicLong();
+    private final LongAdder purged = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile double lastRunRowsPerSecond;
+
+    public TombstonePurger(CustomerRepository customerRepository, SoftDeleteProperties.Purge purge, Clock clock,
+                           Executor executor) {
+        this.customerRepository = customerRepository;
+        this.purge = purge;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    @Scheduled(fixedDelayString = "${recall.soft-delete.purge.interval:PT1M}")
+    public void run() {
+        // A purge started by an earlier tick is still draining; it keeps the backlog gauge current itself.
+        if (!purging.compareAndSet(false, true)) {
+            return;
+        }
+        boolean started = false;
+        try {
+            backlog.set(customerRepository.countTombstones());
+            if (backlog.get() > 0 && inOffPeakWindow()) {
+                executor.execute(() -> {
+                    try {
+                        purgeBacklog();
+                    } catch (RuntimeException ex) {
+                        logger.error("Tombstone purge failed", ex);
+                    } finally {
+                        purging.set(false);
+                    }
+                });
+                started = true;
+            }
+        } finally {
+            if (!started) {
+                purging.set(false);
+            }
+        }
+    }
+
+    int purgeBacklog() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(purge.getGracePeriod());
+        long minNanosPerBatch = TimeUnit.SECONDS.toNanos(purge.getBatchSize()) / Math.max(1, purge.getMaxRowsPerSecond());
+        long started = System.nanoTime();
+        int total = 0;
+        while (inOffPeakWindow()) {
+            long batchStarted = System.nanoTime();
+            List<Long> ids = customerRepository.findTombstoneIds(cutoff, purge.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+            int deleted = customerRepository.purgeTombstones(ids);
+            total += deleted;
+            purged.add(deleted);
+            batches.increment();
+            backlog.addAndGet(-deleted);
+            if (ids.size() < purge.getBatchSize() || !pause(minNanosPerBatch - (System.nanoTime() - batchStarted))) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        lastRunRowsPerSecond = elapsed == 0 ? 0 : total * 1e9 / elapsed;
+        if (total > 0) {
+            logger.info("Purged {} customer tombstones at {} rows/s", total, Math.round(lastRunRowsPerSecond));
+        }
+        return total;
+    }
+
+    boolean inOffPeakWindow() {
+        int start = purge.getOffPeakStartHour();
+        int end = purge.getOffPeakEndHour();
+        if (start == end) {
+            return true;
+        }
+        int hour = LocalDateTime.now(clock).getHour();
+        return start < end ? hour >= start && hour < end : hour >= start || hour < end;
+    }
+
+    private static boolean pause(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    public long getPurged() {
+        return purged.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public double getLastRunRowsPerSecond() {
+        return lastRunRowsPerSecond;
+    }
+}
@@ -0,0 +1,115 @@
+package com.recall.recall.stats;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory customer counters maintained by the service on every committed create and delete, so
+ * totals and per-day signups are read without touching CUSTOMER. Signups count the live customers
+ * created on each day, matching what a rebuild from the table computes. Each counter is the last
+ * persisted value plus this node's increments not yet checkpointed; only those increments are written
+ * back, so nodes sharing CUSTOMER_STATS add to each other's counts instead of overwriting them.
+ */
+public class CustomerStats {
+
+    /** Increments recorded since the last drain, to be added to the persisted counters. */
+    public record Pending(long total, Map<LocalDate, Long> signups) {
+        public boolean isEmpty() {
+            return total == 0 && signups.isEmpty();
+        }
+    }
+
+    private final LongAdder total = new LongAdder();
+    private final ConcurrentHashMap<LocalDate, LongAdder> signups = new ConcurrentHashMap<>();
+    private final AtomicLong pendingTotal = new AtomicLong();
+    private final ConcurrentHashMap<LocalDate, AtomicLong> pendingSignups = new ConcurrentHashMap<>();
+    // Increments share the read lock; reset takes the write lock so none lands between reading the
+    // pending increments and replacing the counters.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void recordCreated(LocalDateTime createdAt) {
+        add(createdAt, 1);
+    }
+
+    public void recordDeleted(LocalDateTime createdAt) {
+        add(createdAt, -1);
+    }
+
+    private void add(LocalDateTime createdAt, long delta) {
+        lock.readLock().lock();
+        try {
+            total.add(delta);
+            pendingTotal.addAndGet(delta);
+            if (createdAt != null) {
+                LocalDate day = createdAt.toLocalDate();
+                signups.computeIfAbsent(day, key -> new LongAdder()).add(delta);
+                pendingSignups.computeIfAbsent(day, key -> new AtomicLong()).addAndGet(delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getSignups(LocalDate day) {
+        LongAdder count = signups.get(day);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Replaces every counter with the persisted values, e.g. after loading a checkpoint or rebuilding
+     * from the table; increments not yet drained stay on top.
+     */
+    public void reset(long totalCustomers, Map<LocalDate, Long> signupsPerDay) {
+        lock.writeLock().lock();
+        try {
+            signups.clear();
+            signupsPerDay.forEach((day, count) -> signups.computeIfAbsent(day, key -> new LongAdder()).add(count));
+            pendingSignups.forEach((day, delta) -> signups.computeIfAbsent(day, key -> new LongAdder()).add(delta.get()));
+            total.reset();
+            total.add(totalCustomers + pendingTotal.get());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Takes the increments recorded since the previous call; ones recorded meanwhile are reported next time. */
+    public Pending drainPending() {
+        Map<LocalDate, Long> days = new HashMap<>();
+        pendingSignups.forEach((day, delta) -> {
+            long drained = delta.getAndSet(0);
+            if (drained != 0) {
+                days.put(day, drained);
+            }
+        });
+        return new Pending(pendingTotal.getAndSet(0), days);
+    }
+
+    /** Puts back increments drained by a checkpoint that then failed to persist them. */
+    public void restorePending(Pending pending) {
+        pendingTotal.addAndGet(pending.total());
+        pending.signups().forEach((day, delta) ->
+                pendingSignups.computeIfAbsent(day, key -> new AtomicLong()).addAndGet(delta));
+    }
+
+    /** Drops in-memory days before {@code oldest}; their checkpointed rows stay in the summary table. */
+    public void evictBefore(LocalDate oldest) {
+        lock.writeLock().lock();
+        try {
+            signups.keySet().removeIf(day -> day.isBefore(oldest));
+            pendingSignups.entrySet().removeIf(entry -> entry.getKey().isBefore(oldest) && entry.getValue().get() == 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.recall.recall.stats;
+
+import com.recall.recall.entity.CustomerStat;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.repository.CustomerStatRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists {@link CustomerStats} to CUSTOMER_STATS and restores it on startup. Each checkpoint adds
+ * this node's increments to the stored counters and reloads them, so nodes sharing the table see each
+ * other's changes. Increments since the last checkpoint are lost on a crash, so a node trusts the table
+ * only if it shut down cleanly last time; otherwise, and on the nightly schedule, the counters are
+ * rebuilt from CUSTOMER.
+ */
+public class CustomerStatsCheckpointer {
+
+    static final String TOTAL_KEY = "total";
+    static final String SIGNUPS_PREFIX = "signups:";
+    static final String CLEAN_SHUTDOWN_PREFIX = "clean-shutdown:";
+
+    private static final Logger logger = LogManager.getLogger(CustomerStatsCheckpointer.class);
+
+    private final CustomerStats customerStats;
+    private final CustomerStatRepository statRepository;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StatsProperties properties;
+    private final Clock clock;
+    private final String cleanShutdownKey;
+
+    public CustomerStatsCheckpointer(CustomerStats customerStats, CustomerStatRepository statRepository,
+                                     CustomerRepository customerRepository, TransactionTemplate transactionTemplate,
+                                     StatsProperties properties, Clock clock) {
+        this.customerStats = customerStats;
+        this.statRepository = statRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.cleanShutdownKey = CLEAN_SHUTDOWN_PREFIX + properties.getNodeId();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Optional<CustomerStat> cleanShutdown = statRepository.findById(cleanShutdownKey);
+        if (cleanShutdown.isEmpty() || cleanShutdown.get().getValue() != 1) {
+            logger.info("No clean stats checkpoint found for node {}, rebuilding customer stats", properties.getNodeId());
+            rebuild();
+        } else {
+            refresh();
+            logger.info("Customer stats loaded from checkpoint: {} customers", customerStats.getTotal());
+        }
+        // Until this node's next clean shutdown the table may miss some of its increments.
+        statRepository.save(new CustomerStat(cleanShutdownKey, 0));
+    }
+
+    @Scheduled(fixedDelayString = "${recall.stats.checkpoint-interval:PT1M}")
+    public int checkpoint() {
+        CustomerStats.Pending pending = customerStats.drainPending();
+        if (!pending.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (pending.total() != 0) {
+                        statRepository.addToValue(TOTAL_KEY, pending.total());
+                    }
+                    pending.signups().forEach((day, delta) -> statRepository.addToValue(SIGNUPS_PREFIX + day, delta));
+                });
+            } catch (RuntimeException ex) {
+                customerStats.restorePending(pending);
+                throw ex;
+            }
+        }
+        refresh();
+        return pending.signups().size() + (pending.total() != 0 ? 1 : 0);
+    }
+
+    /**
+     * Recomputes every counter from CUSTOMER; also corrects drift from bulk deletes that bypass the service
+     * and from increments a crashed node never checkpointed. Increments recorded while the counts run are
+     * kept pending and added on top of the recomputed values.
+     */
+    @Scheduled(cron = "${recall.stats.rebuild-cron:0 15 3 * * *}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        LocalDate oldest = oldestRetainedDay();
+        // Whatever was pending is already in CUSTOMER and so in the counts below.
+        CustomerStats.Pending superseded = customerStats.drainPending();
+        long total;
+        Map<LocalDate, Long> signups = new LinkedHashMap<>();
+        try {
+            total = customerRepository.count();
+            for (DailyCount count : customerRepository.countCreatedPerDaySince(oldest.atStartOfDay())) {
+                signups.put(count.day(), count.customers());
+            }
+            List<CustomerStat> rows = new ArrayList<>();
+            rows.add(new CustomerStat(TOTAL_KEY, total));
+            signups.forEach((day, count) -> rows.add(new CustomerStat(SIGNUPS_PREFIX + day, count)));
+            // Retained days whose customers are all gone no longer show up in the counts.
+            for (CustomerStat stat : statRepository.findAll()) {
+                LocalDate day = signupsDay(stat);
+                if (day != null && !day.isBefore(oldest) && !signups.containsKey(day)) {
+                    rows.add(new CustomerStat(stat.getKey(), 0));
+                }
+            }
+            statRepository.saveAll(rows);
+        } catch (RuntimeException ex) {
+            customerStats.restorePending(superseded);
+            throw ex;
+        }
+        customerStats.reset(total, signups);
+        checkpoint();
+        logger.info("Customer stats rebuilt in {} ms: {} customers, {} days", (System.nanoTime() - start) / 1_000_000,
+                total, signups.size());
+    }
+
+    public void shutdown() {
+        checkpoint();
+        statRepository.save(new CustomerStat(cleanShutdownKey, 1));
+    }
+
+    /** Reloads the counters from the table, which includes what every node has checkpointed so far. */
+    private void refresh() {
+        LocalDate oldest = oldestRetainedDay();
+        long total = 0;
+        Map<LocalDate, Long> signups = new HashMap<>();
+        for (CustomerStat stat : statRepository.findAll()) {
+            LocalDate day = signupsDay(stat);
+            if (TOTAL_KEY.equals(stat.getKey())) {
+                total = stat.getValue();
+            } else if (day != null && !day.isBefore(oldest)) {
+                signups.put(day, stat.getValue());
+            }
+        }
+        customerStats.reset(total, signups);
+        customerStats.evictBefore(oldest);
+    }
+
+    private static LocalDate signupsDay(CustomerStat stat) {
+        return stat.getKey().startsWith(SIGNUPS_PREFIX)
+                ? LocalDate.parse(stat.getKey().substring(SIGNUPS_PREFIX.length()))
+                : null;
+    }
+
+    private LocalDate oldestRetainedDay() {
+        return LocalDate.now(clock).minusDays(properties.getRetainedDays() - 1L);
+    }
+}
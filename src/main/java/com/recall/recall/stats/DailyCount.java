@@ -0,0 +1,6 @@
+package com.recall.recall.stats;
+
+import java.time.LocalDate;
+
+public record DailyCount(LocalDate day, Long customers) {
+}
@@ -0,0 +1,40 @@
+package com.recall.recall.stats;
+
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.repository.CustomerStatRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(StatsProperties.class)
+public class StatsConfig {
+
+    @Bean
+    public CustomerStats customerStats() {
+        return new CustomerStats();
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "recall.stats", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+    static class CheckpointConfig {
+
+        @Bean(destroyMethod = "shutdown")
+        public CustomerStatsCheckpointer customerStatsCheckpointer(CustomerStats customerStats,
+                                                                   CustomerStatRepository statRepository,
+                                                                   CustomerRepository customerRepository,
+                                                                   PlatformTransactionManager transactionManager,
+                                                                   StatsProperties properties) {
+            return new CustomerStatsCheckpointer(customerStats, statRepository, customerRepository,
+                    new TransactionTemplate(transactionManager), properties, Clock.systemDefaultZone());
+        }
+    }
+}
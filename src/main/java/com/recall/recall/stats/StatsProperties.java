@@ -0,0 +1,18 @@
+package com.recall.recall.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.stats")
+public class StatsProperties {
+    private boolean enabled = false;
+    private Duration checkpointInterval = Duration.ofMinutes(1);
+    private String rebuildCron = "0 15 3 * * *";
+    /** Days of per-day signups kept in memory and recomputed by a rebuild. */
+    private int retainedDays = 400;
+    /** Stable per-node name; a node trusts the checkpoint only after its own last shutdown was clean. */
+    private String nodeId = "local";
+}
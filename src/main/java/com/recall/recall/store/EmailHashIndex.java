@@ -0,0 +1,204 @@
+package com.recall.recall.store;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Off-heap multiset of 64-bit hashes of normalized emails, 8 bytes per slot. A miss proves the email is
+ * not stored; a hit only means it might be, so callers confirm hits against the database.
+ *
+ * <p>Reads are lock-free; writes are serialized. Removed hashes are left as tombstones so a concurrent
+ * reader never loses its probe chain.
+ */
+public class EmailHashIndex {
+    private static final VarHandle SLOT = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = 1;
+    private static final double MAX_LOAD = 0.85;
+    private static final double GROWTH = 1.5;
+    private static final int CHUNK_SHIFT = 20;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final boolean enabled;
+    private volatile Table table;
+    private volatile boolean ready;
+
+    public EmailHashIndex(long expectedCustomers) {
+        this.enabled = true;
+        this.table = new Table(Math.max(64, (long) (expectedCustomers / MAX_LOAD) + 1));
+    }
+
+    private EmailHashIndex() {
+        this.enabled = false;
+    }
+
+    /** An index that holds nothing and sends every lookup to the database. */
+    public static EmailHashIndex disabled() {
+        return new EmailHashIndex();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean mightContain(String email) {
+        if (!enabled || !ready || email == null) {
+            return true;
+        }
+        long hash = hash(email);
+        Table current = table;
+        long slot = current.home(hash);
+        for (long probes = 0; probes < current.capacity; probes++) {
+            long value = current.getAcquire(slot);
+            if (value == hash) {
+                return true;
+            }
+            if (value == EMPTY) {
+                return false;
+            }
+            slot = current.next(slot);
+        }
+        return false;
+    }
+
+    public synchronized void add(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        Table current = table;
+        if (current.used + 1 > current.capacity * MAX_LOAD) {
+            long capacity = current.live + 1 > current.capacity * MAX_LOAD / GROWTH
+                    ? (long) (current.capacity * GROWTH)
+                    : current.capacity;
+            current = rebuild(current, capacity);
+        }
+        current.insert(hash(email));
+    }
+
+    public synchronized void remove(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        long hash = hash(email);
+        Table current = table;
+        long slot = current.home(hash);
+        for (long probes = 0; probes < current.capacity; probes++) {
+            long value = current.getAcquire(slot);
+            if (value == hash) {
+                current.setRelease(slot, TOMBSTONE);
+                current.live--;
+                return;
+            }
+            if (value == EMPTY) {
+                return;
+            }
+            slot = current.next(slot);
+        }
+    }
+
+    /** Marks the initial load complete; until then every lookup goes to the database. */
+    public void markReady() {
+        ready = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long size() {
+        return enabled ? table.live : 0;
+    }
+
+    public long offHeapBytes() {
+        return enabled ? table.capacity * Long.BYTES : 0;
+    }
+
+    public double bytesPerEntry() {
+        return enabled ? (double) offHeapBytes() / Math.max(1, table.live) : 0;
+    }
+
+    private Table rebuild(Table current, long capacity) {
+        Table rebuilt = new Table(capacity);
+        for (long slot = 0; slot < current.capacity; slot++) {
+            long value = current.getAcquire(slot);
+            if (value != EMPTY && value != TOMBSTONE) {
+                rebuilt.insert(value);
+            }
+        }
+        table = rebuilt;
+        return rebuilt;
+    }
+
+    static long hash(String email) {
+        int start = 0;
+        int end = email.length();
+        while (start < end && Character.isWhitespace(email.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(email.charAt(end - 1))) {
+            end--;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= Character.toLowerCase(email.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        hash = OffHeapLongLongMap.mix(hash);
+        return hash == EMPTY || hash == TOMBSTONE ? hash + 2 : hash;
+    }
+
+    private static final class Table {
+        private final ByteBuffer[] chunks;
+        private final long capacity;
+        private long used;
+        private long live;
+
+        private Table(long capacity) {
+            this.capacity = capacity;
+            int chunkCount = (int) ((capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+            this.chunks = new ByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long slots = Math.min(1L << CHUNK_SHIFT, capacity - ((long) i << CHUNK_SHIFT));
+                chunks[i] = ByteBuffer.allocateDirect((int) slots * Long.BYTES).order(ByteOrder.nativeOrder());
+            }
+        }
+
+        private long home(long hash) {
+            return Math.unsignedMultiplyHigh(hash, capacity);
+        }
+
+        private long next(long slot) {
+            return slot + 1 == capacity ? 0 : slot + 1;
+        }
+
+        private void insert(long hash) {
+            long slot = home(hash);
+            long reusable = -1;
+            while (true) {
+                long value = getAcquire(slot);
+                if (value == TOMBSTONE && reusable < 0) {
+                    reusable = slot;
+                } else if (value == EMPTY) {
+                    if (reusable < 0) {
+                        reusable = slot;
+                        used++;
+                    }
+                    setRelease(reusable, hash);
+                    live++;
+                    return;
+                }
+                slot = next(slot);
+            }
+        }
+
+        private long getAcquire(long slot) {
+            return (long) SLOT.getAcquire(chunks[(int) (slot >>> CHUNK_SHIFT)], (int) (slot & CHUNK_MASK) * Long.BYTES);
+        }
+
+        private void setRelease(long slot, long value) {
+            SLOT.setRelease(chunks[(int) (slot >>> CHUNK_SHIFT)], (int) (slot & CHUNK_MASK) * Long.BYTES, value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.recall.recall.store;
+
+import com.recall.recall.repository.CustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmailIndexProperties.class)
+public class EmailIndexConfig {
+
+    @Bean
+    public EmailHashIndex emailHashIndex(EmailIndexProperties properties) {
+        return properties.isEnabled()
+                ? new EmailHashIndex(properties.getExpectedCustomers())
+                : EmailHashIndex.disabled();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recall.email-index", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+    public EmailIndexLoader emailIndexLoader(CustomerRepository customerRepository, EmailHashIndex emailHashIndex) {
+        return new EmailIndexLoader(customerRepository, emailHashIndex);
+    }
+}
@@ -0,0 +1,34 @@
+package com.recall.recall.store;
+
+import com.recall.recall.repository.CustomerRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+public class EmailIndexLoader {
+    private static final Logger logger = LogManager.getLogger(EmailIndexLoader.class);
+
+    private final CustomerRepository customerRepository;
+    private final EmailHashIndex emailHashIndex;
+
+    public EmailIndexLoader(CustomerRepository customerRepository, EmailHashIndex emailHashIndex) {
+        this.customerRepository = customerRepository;
+        this.emailHashIndex = emailHashIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        try (Stream<String> emails = customerRepository.streamAllEmails()) {
+            emails.forEach(emailHashIndex::add);
+        }
+        emailHashIndex.markReady();
+        logger.info("Email index loaded {} entries in {} ms ({} bytes/entry off-heap)", emailHashIndex.size(),
+                (System.nanoTime() - start) / 1_000_000, String.format("%.1f", emailHashIndex.bytesPerEntry()));
+    }
+}
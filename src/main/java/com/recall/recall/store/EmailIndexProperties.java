@@ -0,0 +1,11 @@
+package com.recall.recall.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "recall.email-index")
+public class EmailIndexProperties {
+    private boolean enabled = false;
+    private long expectedCustomers = 1_000_000;
+}
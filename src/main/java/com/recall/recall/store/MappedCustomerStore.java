@@ -0,0 +1,679 @@
+package com.recall.recall.store;
+
+import com.recall.recall.entity.Customer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Append-only customer log mapped into memory in fixed-size segments, with off-heap id to offset and
+ * email to offset indexes. Updates append a new version of the record and deletes append a tombstone;
+ * {@link #compact()} rewrites the log with only the live records, and {@link #compactInBackground()}
+ * does so off the caller's thread.
+ *
+ * <p>Record layout: {@code int length, byte type, long id} followed for PUT records by
+ * {@code long epochSecond, int nano, short nameLength, name, short emailLength, email}. A length of
+ * {@code 0xFFFF} stands for a null field.
+ */
+public class MappedCustomerStore implements Closeable {
+    private static final Logger logger = LogManager.getLogger(MappedCustomerStore.class);
+
+    static final String LOG_FILE = "customers.log";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int END_OF_SEGMENT = -1;
+    private static final int HEADER_BYTES = Integer.BYTES + 1 + Long.BYTES;
+    private static final long DELETED = -1;
+    /** Email index value for a hash that more than one live record has had since the log was opened. */
+    private static final long SHARED = -2;
+    private static final int NULL_LENGTH = 0xFFFF;
+    /** Records visited per read-lock hold while compaction copies the log. */
+    private static final int COMPACTION_CHUNK = 4096;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "customer-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel channel;
+    private List<MappedByteBuffer> segments;
+    private OffHeapLongLongMap index;
+    private OffHeapLongLongMap emailIndex;
+    private long writeOffset;
+    private long liveCount;
+    private long liveBytes;
+    private long maxId;
+
+    public MappedCustomerStore(Path directory, int segmentSize, long expectedCustomers) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            open(directory.resolve(LOG_FILE), expectedCustomers);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open customer log in " + directory, ex);
+        }
+        logger.info("Opened mapped customer store at {} with {} customers", directory, liveCount);
+    }
+
+    public Optional<Customer> findById(long id) {
+        if (id <= 0) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long offset = index.get(id);
+            return offset < 0 ? Optional.empty() : Optional.of(readCustomer(offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean existsById(long id) {
+        if (id <= 0) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return index.get(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Customer insert(String name, String email) {
+        lock.writeLock().lock();
+        try {
+            Customer customer = Customer.builder().id(maxId + 1).name(name).email(email).createdAt(LocalDateTime.now()).build();
+            append(customer);
+            return customer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Customer update(Customer customer) {
+        lock.writeLock().lock();
+        try {
+            if (customer.getId() == null || customer.getId() <= 0 || index.get(customer.getId()) < 0) {
+                throw new IllegalArgumentException("Customer " + customer.getId() + " does not exist");
+            }
+            append(customer);
+            return customer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(long id) {
+        if (id <= 0) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            long offset = index.get(id);
+            if (offset < 0) {
+                return false;
+            }
+            int recordBytes = recordLength(offset);
+            writeTombstone(reserve(HEADER_BYTES), id);
+            index.put(id, DELETED);
+            unindexEmail(offset);
+            liveCount--;
+            liveBytes -= recordBytes;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Visits live customers in log order, skipping the first {@code skip}, until {@code limit} are returned. */
+    public List<Customer> scan(long skip, int limit) {
+        List<Customer> result = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            long[] remainingToSkip = {skip};
+            forEachLiveRecord(offset -> {
+                if (result.size() >= limit) {
+                    return;
+                }
+                if (remainingToSkip[0] > 0) {
+                    remainingToSkip[0]--;
+                } else {
+                    result.add(readCustomer(offset));
+                }
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean existsByEmail(String email, Long excludedId) {
+        if (email == null) {
+            return false;
+        }
+        byte[] wanted = email.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            long offset = emailIndex.get(emailKey(wanted));
+            if (offset != SHARED) {
+                return offset >= 0 && emailEquals(offset, wanted) && (excludedId == null || idAt(offset) != excludedId);
+            }
+            boolean[] found = {false};
+            forEachLiveRecord(candidate -> {
+                if (!found[0] && emailEquals(candidate, wanted) && (excludedId == null || idAt(candidate) != excludedId)) {
+                    found[0] = true;
+                }
+            });
+            return found[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of live customers whose email is in {@code emails}, looked up through the email index; one pass
+     * over the log covers the emails whose hash more than one record has had.
+     */
+    public Map<String, List<Long>> findIdsByEmails(Set<String> emails) {
+        Map<String, List<Long>> owners = new HashMap<>();
+        if (emails.isEmpty()) {
+            return owners;
+        }
+        lock.readLock().lock();
+        try {
+            Set<String> shared = new HashSet<>();
+            for (String email : emails) {
+                if (email == null) {
+                    continue;
+                }
+                byte[] wanted = email.getBytes(StandardCharsets.UTF_8);
+                long offset = emailIndex.get(emailKey(wanted));
+                if (offset == SHARED) {
+                    shared.add(email);
+                } else if (offset >= 0 && emailEquals(offset, wanted)) {
+                    owners.computeIfAbsent(email, key -> new ArrayList<>(1)).add(idAt(offset));
+                }
+            }
+            if (!shared.isEmpty()) {
+                forEachLiveRecord(offset -> {
+                    String email = readEmail(offset);
+                    if (shared.contains(email)) {
+                        owners.computeIfAbsent(email, key -> new ArrayList<>(1)).add(idAt(offset));
+                    }
+                });
+            }
+            return owners;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double deadRatio() {
+        lock.readLock().lock();
+        try {
+            return writeOffset == 0 ? 0 : 1 - (double) liveBytes / writeOffset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log keeping only the latest version of each live customer. Live records up to the
+     * current end of the log are copied a chunk at a time, each under a short read lock, so writers carry
+     * on between chunks; only replaying what was appended meanwhile and swapping the files take the write
+     * lock. A record superseded after its chunk was copied is fixed up by that replay.
+     */
+    public void compact() {
+        compactionLock.lock();
+        try {
+            Path target = directory.resolve(LOG_FILE + ".compact");
+            Path scratch = directory.resolve("compact");
+            Files.deleteIfExists(target);
+            // A crash mid-compaction leaves a partial log here; reopening it would replay its records, deleted ones included.
+            Files.deleteIfExists(scratch.resolve(LOG_FILE));
+            try (MappedCustomerStore compacted = new MappedCustomerStore(scratch, segmentSize, count())) {
+                long copiedUpTo;
+                lock.readLock().lock();
+                try {
+                    copiedUpTo = writeOffset;
+                } finally {
+                    lock.readLock().unlock();
+                }
+                for (long offset = 0; offset < copiedUpTo; ) {
+                    lock.readLock().lock();
+                    try {
+                        offset = copyLiveRecords(compacted, offset, copiedUpTo);
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+                lock.writeLock().lock();
+                try {
+                    replayInto(compacted, copiedUpTo);
+                    if (maxId > 0 && index.get(maxId) < 0) {
+                        // Keep the highest id ever issued so ids are not reused after compaction.
+                        compacted.writeTombstone(compacted.reserve(HEADER_BYTES), maxId);
+                    }
+                    compacted.flush();
+                    compacted.closeChannel();
+                    Files.move(compacted.directory.resolve(LOG_FILE), target, StandardCopyOption.REPLACE_EXISTING);
+                    long before = writeOffset;
+                    closeChannel();
+                    Files.move(target, directory.resolve(LOG_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    open(directory.resolve(LOG_FILE), liveCount);
+                    logger.info("Compacted customer log from {} to {} bytes", before, writeOffset);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            Files.deleteIfExists(scratch);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Compaction of customer log failed", ex);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /** Queues {@link #compact()} on the store's own thread unless a compaction is already queued or running. */
+    public void compactInBackground() {
+        if (!compactionQueued.compareAndSet(false, true)) {
+            return;
+        }
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (RuntimeException ex) {
+                logger.error("Background compaction of customer log failed", ex);
+            } finally {
+                compactionQueued.set(false);
+            }
+        });
+    }
+
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                flush();
+                closeChannel();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot close customer log", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open(Path file, long expectedCustomers) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments = new ArrayList<>();
+        index = new OffHeapLongLongMap(Math.max(expectedCustomers, 1024));
+        emailIndex = new OffHeapLongLongMap(Math.max(expectedCustomers, 1024));
+        liveCount = 0;
+        liveBytes = 0;
+        maxId = 0;
+        long segmentCount = Math.max(1, (channel.size() + segmentSize - 1) / segmentSize);
+        for (int i = 0; i < segmentCount; i++) {
+            mapSegment(i);
+        }
+        writeOffset = recover();
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /** Replays the log to rebuild the index and returns the offset where the next record goes. */
+    private long recover() {
+        long offset = 0;
+        while (offset < (long) segments.size() * segmentSize) {
+            MappedByteBuffer segment = segment(offset);
+            int position = position(offset);
+            int length = segmentSize - position >= Integer.BYTES ? segment.getInt(position) : END_OF_SEGMENT;
+            if (length == 0) {
+                break;
+            }
+            if (length == END_OF_SEGMENT) {
+                offset = (offset / segmentSize + 1) * segmentSize;
+                continue;
+            }
+            long id = segment.getLong(position + 5);
+            maxId = Math.max(maxId, id);
+            long previous = index.get(id);
+            if (previous >= 0) {
+                liveCount--;
+                liveBytes -= recordLength(previous);
+                unindexEmail(previous);
+            }
+            if (segment.get(position + 4) == PUT) {
+                index.put(id, offset);
+                indexEmail(offset);
+                liveCount++;
+                liveBytes += Integer.BYTES + length;
+            } else {
+                index.put(id, DELETED);
+            }
+            offset += Integer.BYTES + length;
+        }
+        return offset;
+    }
+
+    /** Applies the records appended from {@code from} onwards to {@code compacted}, in log order. */
+    private void replayInto(MappedCustomerStore compacted, long from) {
+        long offset = from;
+        while (offset < writeOffset) {
+            MappedByteBuffer segment = segment(offset);
+            int position = position(offset);
+            int length = segmentSize - position >= Integer.BYTES ? segment.getInt(position) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                offset = (offset / segmentSize + 1) * segmentSize;
+                continue;
+            }
+            if (segment.get(position + 4) == PUT) {
+                compacted.append(readCustomer(offset));
+            } else {
+                compacted.delete(segment.getLong(position + 5));
+            }
+            offset += Integer.BYTES + length;
+        }
+    }
+
+    /** Copies live records from {@code from} towards {@code end}, at most one chunk; returns where to resume. */
+    private long copyLiveRecords(MappedCustomerStore compacted, long from, long end) {
+        long offset = from;
+        for (int visited = 0; offset < end && visited < COMPACTION_CHUNK; visited++) {
+            MappedByteBuffer segment = segment(offset);
+            int position = position(offset);
+            int length = segmentSize - position >= Integer.BYTES ? segment.getInt(position) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                offset = (offset / segmentSize + 1) * segmentSize;
+                continue;
+            }
+            if (segment.get(position + 4) == PUT && index.get(segment.getLong(position + 5)) == offset) {
+                compacted.append(readCustomer(offset));
+            }
+            offset += Integer.BYTES + length;
+        }
+        return offset;
+    }
+
+    private void append(Customer customer) {
+        byte[] name = bytes(customer.getName());
+        byte[] email = bytes(customer.getEmail());
+        int length = 1 + Long.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES + size(name) + Short.BYTES + size(email);
+        long offset = reserve(Integer.BYTES + length);
+        MappedByteBuffer segment = segment(offset);
+        int position = position(offset);
+        LocalDateTime createdAt = customer.getCreatedAt() != null ? customer.getCreatedAt() : LocalDateTime.now();
+        segment.put(position + 4, PUT);
+        segment.putLong(position + 5, customer.getId());
+        segment.putLong(position + 13, createdAt.toEpochSecond(ZoneOffset.UTC));
+        segment.putInt(position + 21, createdAt.getNano());
+        putField(segment, position + 25, name);
+        putField(segment, position + 27 + size(name), email);
+        // The length is written last so a torn append reads back as the end of the log.
+        segment.putInt(position, length);
+
+        long previous = index.put(customer.getId(), offset);
+        if (previous >= 0) {
+            liveBytes -= recordLength(previous);
+            unindexEmail(previous);
+        } else {
+            liveCount++;
+        }
+        liveBytes += Integer.BYTES + length;
+        maxId = Math.max(maxId, customer.getId());
+        indexEmail(offset);
+    }
+
+    // An email hash maps to the one live record carrying it; once two records share it, lookups of that
+    // hash fall back to scanning the log until the next compaction rebuilds the index.
+    private void indexEmail(long offset) {
+        byte[] email = readEmailBytes(offset);
+        if (email == null) {
+            return;
+        }
+        long key = emailKey(email);
+        long current = emailIndex.get(key);
+        emailIndex.put(key, current == OffHeapLongLongMap.MISSING || current == DELETED ? offset : SHARED);
+    }
+
+    private void unindexEmail(long offset) {
+        byte[] email = readEmailBytes(offset);
+        if (email == null) {
+            return;
+        }
+        long key = emailKey(email);
+        if (emailIndex.get(key) == offset) {
+            emailIndex.put(key, DELETED);
+        }
+    }
+
+    private void writeTombstone(long offset, long id) {
+        MappedByteBuffer segment = segment(offset);
+        int position = position(offset);
+        segment.put(position + 4, DELETE);
+        segment.putLong(position + 5, id);
+        segment.putInt(position, HEADER_BYTES - Integer.BYTES);
+        maxId = Math.max(maxId, id);
+    }
+
+    private long reserve(int bytes) {
+        if (bytes > segmentSize) {
+            throw new IllegalArgumentException("Record of " + bytes + " bytes exceeds the segment size");
+        }
+        int position = position(writeOffset);
+        if (position + bytes > segmentSize) {
+            if (segmentSize - position >= Integer.BYTES) {
+                segment(writeOffset).putInt(position, END_OF_SEGMENT);
+            }
+            writeOffset = (writeOffset / segmentSize + 1) * segmentSize;
+        }
+        int segmentIndex = (int) (writeOffset / segmentSize);
+        while (segmentIndex >= segments.size()) {
+            mapSegment(segments.size());
+        }
+        long offset = writeOffset;
+        writeOffset += bytes;
+        return offset;
+    }
+
+    private void mapSegment(int segmentIndex) {
+        try {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segmentIndex * segmentSize, segmentSize));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot map segment " + segmentIndex + " of the customer log", ex);
+        }
+    }
+
+    private void forEachLiveRecord(LongConsumer visitor) {
+        long offset = 0;
+        while (offset < writeOffset) {
+            MappedByteBuffer segment = segment(offset);
+            int position = position(offset);
+            int length = segmentSize - position >= Integer.BYTES ? segment.getInt(position) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                offset = (offset / segmentSize + 1) * segmentSize;
+                continue;
+            }
+            if (segment.get(position + 4) == PUT && index.get(segment.getLong(position + 5)) == offset) {
+                visitor.accept(offset);
+            }
+            offset += Integer.BYTES + length;
+        }
+    }
+
+    private Customer readCustomer(long offset) {
+        MappedByteBuffer segment = segment(offset);
+        int position = position(offset);
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(segment.getLong(position + 13), segment.getInt(position + 21), ZoneOffset.UTC);
+        return Customer.builder()
+                .id(segment.getLong(position + 5))
+                .name(string(readField(segment, position + 25)))
+                .email(string(readEmailBytes(offset)))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private String readEmail(long offset) {
+        return string(readEmailBytes(offset));
+    }
+
+    private byte[] readEmailBytes(long offset) {
+        MappedByteBuffer segment = segment(offset);
+        int position = position(offset);
+        return readField(segment, position + 27 + size(segment.getShort(position + 25)));
+    }
+
+    private boolean emailEquals(long offset, byte[] wanted) {
+        MappedByteBuffer segment = segment(offset);
+        int position = position(offset);
+        int emailAt = position + 27 + size(segment.getShort(position + 25));
+        int length = Short.toUnsignedInt(segment.getShort(emailAt));
+        if (length == NULL_LENGTH || length != wanted.length) {
+            return false;
+        }
+        for (int i = 0; i < wanted.length; i++) {
+            if (segment.get(emailAt + 2 + i) != wanted[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long idAt(long offset) {
+        return segment(offset).getLong(position(offset) + 5);
+    }
+
+    private int recordLength(long offset) {
+        return Integer.BYTES + segment(offset).getInt(position(offset));
+    }
+
+    private MappedByteBuffer segment(long offset) {
+        return segments.get((int) (offset / segmentSize));
+    }
+
+    private int position(long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("Field exceeds " + (NULL_LENGTH - 1) + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int size(byte[] field) {
+        return field == null ? 0 : field.length;
+    }
+
+    /** Bytes taken by a field whose stored length is {@code length}. */
+    private static int size(short length) {
+        int unsigned = Short.toUnsignedInt(length);
+        return unsigned == NULL_LENGTH ? 0 : unsigned;
+    }
+
+    private static void putField(MappedByteBuffer segment, int at, byte[] field) {
+        segment.putShort(at, (short) (field == null ? NULL_LENGTH : field.length));
+        if (field != null) {
+            segment.put(at + 2, field);
+        }
+    }
+
+    private static byte[] readField(MappedByteBuffer segment, int at) {
+        int length = Short.toUnsignedInt(segment.getShort(at));
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] field = new byte[length];
+        segment.get(at + 2, field);
+        return field;
+    }
+
+    private static String string(byte[] field) {
+        return field == null ? null : new String(field, StandardCharsets.UTF_8);
+    }
+
+    /** Exact-bytes hash for the email index; 0 is the map's empty key. */
+    private static long emailKey(byte[] email) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : email) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash = OffHeapLongLongMap.mix(hash);
+        return hash == 0 ? 1 : hash;
+    }
+}
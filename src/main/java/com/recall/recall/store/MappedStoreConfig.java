@@ -0,0 +1,20 @@
+package com.recall.recall.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(MappedStoreProperties.class)
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "mapped")
+public class MappedStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedCustomerStore mappedCustomerStore(MappedStoreProperties properties) {
+        return new MappedCustomerStore(Path.of(properties.getPath()), properties.getSegmentSize(),
+                properties.getExpectedCustomers());
+    }
+}
@@ -0,0 +1,15 @@
+package com.recall.recall.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "recall.store.mapped")
+public class MappedStoreProperties {
+    private String path = "data/customers";
+    private int segmentSize = 64 * 1024 * 1024;
+    /** Initial size of the direct-memory id index, which grows on demand; each customer costs about 23-46 bytes. */
+    private long expectedCustomers = 1_000_000;
+    /** Compact in the background after a write once this share of the log is superseded records or tombstones. */
+    private double compactionThreshold = 0.5;
+}
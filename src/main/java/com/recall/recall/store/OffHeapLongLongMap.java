@@ -0,0 +1,149 @@
+package com.recall.recall.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Open-addressing long-to-long hash map whose slots live in direct memory, 16 bytes per slot.
+ * Key 0 is reserved for empty slots. Not thread-safe; callers guard writes.
+ */
+public class OffHeapLongLongMap {
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_CHUNK_SHIFT = 20;
+    private static final double MAX_LOAD = 0.7;
+
+    private ByteBuffer[] chunks;
+    private int chunkShift;
+    private long capacity;
+    private long size;
+
+    public OffHeapLongLongMap(long expectedEntries) {
+        allocate(Math.max(16, Long.highestOneBit((long) (expectedEntries / MAX_LOAD)) << 1));
+    }
+
+    public long get(long key) {
+        checkKey(key);
+        long mask = capacity - 1;
+        for (long slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keyAt(slot);
+            if (current == key) {
+                return valueAt(slot);
+            }
+            if (current == 0) {
+                return MISSING;
+            }
+        }
+    }
+
+    public long put(long key, long value) {
+        checkKey(key);
+        if (size + 1 > capacity * MAX_LOAD) {
+            resize(capacity << 1);
+        }
+        long mask = capacity - 1;
+        for (long slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keyAt(slot);
+            if (current == key) {
+                long previous = valueAt(slot);
+                setValue(slot, value);
+                return previous;
+            }
+            if (current == 0) {
+                setValue(slot, value);
+                setKey(slot, key);
+                size++;
+                return MISSING;
+            }
+        }
+    }
+
+    public void forEach(LongLongConsumer consumer) {
+        for (long slot = 0; slot < capacity; slot++) {
+            long key = keyAt(slot);
+            if (key != 0) {
+                consumer.accept(key, valueAt(slot));
+            }
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long offHeapBytes() {
+        return capacity * SLOT_BYTES;
+    }
+
+    private void resize(long newCapacity) {
+        ByteBuffer[] oldChunks = chunks;
+        int oldShift = chunkShift;
+        long oldCapacity = capacity;
+        allocate(newCapacity);
+        long oldMask = (1L << oldShift) - 1;
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer chunk = oldChunks[(int) (slot >>> oldShift)];
+            int offset = (int) (slot & oldMask) * SLOT_BYTES;
+            long key = chunk.getLong(offset);
+            if (key != 0) {
+                put(key, chunk.getLong(offset + 8));
+            }
+        }
+    }
+
+    private void allocate(long newCapacity) {
+        capacity = newCapacity;
+        size = 0;
+        chunkShift = (int) Math.min(MAX_CHUNK_SHIFT, Long.numberOfTrailingZeros(newCapacity));
+        int chunkCount = (int) (newCapacity >>> chunkShift);
+        chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = ByteBuffer.allocateDirect((1 << chunkShift) * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    private long keyAt(long slot) {
+        return chunk(slot).getLong(offset(slot));
+    }
+
+    private long valueAt(long slot) {
+        return chunk(slot).getLong(offset(slot) + 8);
+    }
+
+    private void setKey(long slot, long key) {
+        chunk(slot).putLong(offset(slot), key);
+    }
+
+    private void setValue(long slot, long value) {
+        chunk(slot).putLong(offset(slot) + 8, value);
+    }
+
+    private ByteBuffer chunk(long slot) {
+        return chunks[(int) (slot >>> chunkShift)];
+    }
+
+    private int offset(long slot) {
+        return (int) (slot & ((1L << chunkShift) - 1)) * SLOT_BYTES;
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,64 @@
+package com.recall.recall.validation;
+
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.services.CustomerService;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Collection counterpart of {@link DuplicateEmailValidator}: one lookup for every email in the batch
+ * instead of one query per item, plus detection of emails repeated inside the batch. Violations are
+ * reported on {@code [index].email} with the single-item message.
+ */
+@Component
+@AllArgsConstructor
+public class BatchDuplicateEmailValidator implements ConstraintValidator<UniqueEmails, Collection<CustomerRequestDTO>> {
+    private final CustomerService customerService;
+
+    @Override
+    public boolean isValid(Collection<CustomerRequestDTO> customerRequestDTOs, ConstraintValidatorContext context) {
+        if (customerService == null || customerRequestDTOs == null || customerRequestDTOs.isEmpty()) {
+            return true;
+        }
+        Set<String> emails = new HashSet<>();
+        for (CustomerRequestDTO customerRequestDTO : customerRequestDTOs) {
+            if (customerRequestDTO != null && customerRequestDTO.getEmail() != null) {
+                emails.add(customerRequestDTO.getEmail());
+            }
+        }
+        Map<String, List<Long>> owners = customerService.findCustomerIdsByEmails(emails);
+        Set<String> seen = new HashSet<>();
+        boolean valid = true;
+        int index = 0;
+        for (CustomerRequestDTO customerRequestDTO : customerRequestDTOs) {
+            String email = customerRequestDTO == null ? null : customerRequestDTO.getEmail();
+            if (email != null && (!seen.add(email) || ownedByOther(owners.get(email), customerRequestDTO.getId()))) {
+                if (valid) {
+                    context.disableDefaultConstraintViolation();
+                    valid = false;
+                }
+                context.buildConstraintViolationWithTemplate("Email " + email + " already exists!")
+                        .addPropertyNode("email").inIterable().atIndex(index)
+                        .addConstraintViolation();
+            }
+            index++;
+        }
+        return valid;
+    }
+
+    private static boolean ownedByOther(List<Long> ownerIds, Long id) {
+        if (ownerIds == null) {
+            return false;
+        }
+        for (Long ownerId : ownerIds) {
+            if (!ownerId.equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
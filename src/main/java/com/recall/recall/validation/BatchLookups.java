@@ -0,0 +1,9 @@
+package com.recall.recall.validation;
+
+/**
+ * Validation group for batch constraints that query the store, such as {@link UniqueEmails}. Batch
+ * payloads order it after their own and per-item constraints, so an oversized or malformed batch is
+ * rejected before any lookup runs.
+ */
+public interface BatchLookups {
+}
@@ -1,7 +1,8 @@
 package com.recall.recall.validation;
 
 import com.recall.recall.dto.CustomerRequestDTO;
-import com.recall.recall.services.CustomerServiceImpl;
+import com.recall.recall.jfr.CustomerOperationEvent;
+import com.recall.recall.services.CustomerService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,7 @@ import org.springframework.stereotype.Component;
 @Component
 @AllArgsConstructor
 public class DuplicateEmailValidator implements ConstraintValidator<DuplicateEmail, CustomerRequestDTO> {
-    private final CustomerServiceImpl customerService;
+    private final CustomerService customerService;
 
     @Override
     public void initialize(DuplicateEmail constraintAnnotation) {
@@ -23,12 +24,18 @@ public class DuplicateEmailValidator implements ConstraintValidator<DuplicateEma
         }
         Long id = customerRequestDTO.getId();
         String email = customerRequestDTO.getEmail();
+        CustomerOperationEvent event = new CustomerOperationEvent();
+        event.begin();
         boolean isDuplicate;
         if (id == null) {
             isDuplicate = customerService.existsByEmail(email);
         } else {
             isDuplicate = customerService.existsByEmailAndIdNot(email, id);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.record("validator", "DuplicateEmailValidator.isValid", id, isDuplicate ? "duplicate" : "unique");
+        }
         if (isDuplicate) {
             context.disableDefaultConstraintViolation();
             context.buildConstraintViolationWithTemplate("Email " + email + " already exists!")
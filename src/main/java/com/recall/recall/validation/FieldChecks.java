@@ -0,0 +1,10 @@
+package com.recall.recall.validation;
+
+/**
+ * Validation group holding the per-field constraints of CustomerRequestDTO without the per-item
+ * duplicate-email query, plus a check that no id is set, since batch items only create customers.
+ * Batch payloads convert their elements to this group and check emails once for the whole collection
+ * through {@link UniqueEmails}.
+ */
+public interface FieldChecks {
+}
@@ -0,0 +1,18 @@
+package com.recall.recall.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE })
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = BatchDuplicateEmailValidator.class)
+public @interface UniqueEmails {
+    String message() default "Emails must be unique";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
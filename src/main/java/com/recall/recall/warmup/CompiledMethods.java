@@ -0,0 +1,54 @@
+package com.recall.recall.warmup;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts of methods in the code cache by compiler, read from HotSpot's Compiler.codelist diagnostic
+ * command. On a JVM without it every count is -1.
+ */
+public record CompiledMethods(int total, int c1, int c2, int application) {
+
+    static final CompiledMethods UNAVAILABLE = new CompiledMethods(-1, -1, -1, -1);
+
+    public static CompiledMethods snapshot(String applicationPackage) {
+        try {
+            String codelist = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "compilerCodelist",
+                    new Object[]{null}, new String[]{String[].class.getName()});
+            return parse(codelist, applicationPackage);
+        } catch (Exception | LinkageError ex) {
+            return UNAVAILABLE;
+        }
+    }
+
+    // Lines read "<compile id> <tier> <state> <method> [addresses]"; tiers 1-3 are C1, 4 is C2.
+    static CompiledMethods parse(String codelist, String applicationPackage) {
+        int total = 0;
+        int c1 = 0;
+        int c2 = 0;
+        int application = 0;
+        for (String line : codelist.split("\n")) {
+            String[] fields = line.trim().split(" ", 5);
+            if (fields.length < 4) {
+                continue;
+            }
+            int tier;
+            try {
+                tier = Integer.parseInt(fields[1]);
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            total++;
+            if (tier >= 1 && tier <= 3) {
+                c1++;
+            } else if (tier == 4) {
+                c2++;
+            }
+            if (fields[3].startsWith(applicationPackage)) {
+                application++;
+            }
+        }
+        return new CompiledMethods(total, c1, c2, application);
+    }
+}
@@ -0,0 +1,34 @@
+package com.recall.recall.warmup;
+
+import com.recall.recall.controller.CustomerController;
+import com.recall.recall.exception.GlobalExceptionHandler;
+import com.recall.recall.store.EmailHashIndex;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(prefix = "recall.warmup", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "recall.store", name = "backend", havingValue = "jpa", matchIfMissing = true)
+public class WarmupConfig {
+
+    @Bean
+    public WarmupRunner warmupRunner(CustomerController customerController, GlobalExceptionHandler exceptionHandler,
+                                     JsonMapper jsonMapper, Validator validator,
+                                     PlatformTransactionManager transactionManager, EmailHashIndex emailHashIndex,
+                                     WarmupProperties properties) {
+        return new WarmupRunner(customerController, exceptionHandler, jsonMapper, validator,
+                new TransactionTemplate(transactionManager), emailHashIndex, properties);
+    }
+
+    @Bean
+    public WarmupHealthIndicator warmupHealthIndicator(WarmupRunner warmupRunner) {
+        return new WarmupHealthIndicator(warmupRunner);
+    }
+}
@@ -0,0 +1,22 @@
+package com.recall.recall.warmup;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupRunner runner;
+
+    public WarmupHealthIndicator(WarmupRunner runner) {
+        this.runner = runner;
+    }
+
+    @Override
+    public Health health() {
+        WarmupReport report = runner.getReport();
+        if (report == null) {
+            return Health.outOfService().withDetail("state", "warming up").build();
+        }
+        return Health.up().withDetails(report.toDetails()).build();
+    }
+}
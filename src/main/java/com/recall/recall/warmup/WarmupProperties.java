@@ -0,0 +1,22 @@
+package com.recall.recall.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recall.warmup")
+public class WarmupProperties {
+    private boolean enabled = false;
+    /** Readiness is held for at most this long, settled or not. */
+    private Duration budget = Duration.ofSeconds(60);
+    /** Calls per round; compilation activity is measured between rounds. */
+    private int roundSize = 200;
+    /** A round counts as settled when JIT time is below this fraction of its wall time. */
+    private double settleRatio = 0.02;
+    /** Consecutive settled rounds before warm-up stops early. */
+    private int settleRounds = 3;
+    /** Also run create, update and delete, each in a transaction that is rolled back. */
+    private boolean writes = true;
+}
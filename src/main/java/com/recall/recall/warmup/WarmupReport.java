@@ -0,0 +1,26 @@
+package com.recall.recall.warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record WarmupReport(int rounds, long calls, long elapsedMillis, long compilationMillis, boolean settled,
+                           CompiledMethods before, CompiledMethods after, String error) {
+
+    public Map<String, Object> toDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("rounds", rounds);
+        details.put("calls", calls);
+        details.put("elapsedMillis", elapsedMillis);
+        details.put("compilationMillis", compilationMillis);
+        details.put("settled", settled);
+        details.put("compiledMethods", after.total());
+        details.put("compiledMethodsDelta", after.total() < 0 ? -1 : after.total() - before.total());
+        details.put("c1Methods", after.c1());
+        details.put("c2Methods", after.c2());
+        details.put("applicationMethods", after.application());
+        if (error != null) {
+            details.put("error", error);
+        }
+        return details;
+    }
+}
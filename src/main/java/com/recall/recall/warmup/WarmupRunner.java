@@ -0,0 +1,193 @@
+package com.recall.recall.warmup;
+
+import com.recall.recall.controller.CustomerController;
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.exception.GlobalExceptionHandler;
+import com.recall.recall.store.EmailHashIndex;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drives the customer read, validation, serialization and error paths, plus rolled-back writes,
+ * until JIT activity settles or the budget runs out. It runs inside the ApplicationReadyEvent
+ * listener, and Boot publishes ACCEPTING_TRAFFIC only after every listener returns, so readiness
+ * stays down until warm-up is done. Nothing it writes is committed, and the scratch emails the service
+ * adds to the email index ahead of commit are taken back out once the write transaction rolls back.
+ */
+public class WarmupRunner {
+
+    private static final Logger logger = LogManager.getLogger(WarmupRunner.class);
+    private static final String APPLICATION_PACKAGE = "com.recall.";
+    private static final long MISSING_ID = Long.MAX_VALUE - 1;
+
+    private final CustomerController customerController;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailHashIndex emailHashIndex;
+    private final WarmupProperties properties;
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+
+    private volatile WarmupReport report;
+    private long calls;
+
+    public WarmupRunner(CustomerController customerController, GlobalExceptionHandler exceptionHandler,
+                        JsonMapper jsonMapper, Validator validator, TransactionTemplate transactionTemplate,
+                        EmailHashIndex emailHashIndex, WarmupProperties properties) {
+        this.customerController = customerController;
+        this.exceptionHandler = exceptionHandler;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.emailHashIndex = emailHashIndex;
+        this.properties = properties;
+    }
+
+    // Ahead of other ready listeners, so the saturation monitor does not sample warm-up latencies.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warmUp() {
+        report = run();
+        logger.info("Warm-up finished: {}", report.toDetails());
+    }
+
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    WarmupReport run() {
+        CompiledMethods before = CompiledMethods.snapshot(APPLICATION_PACKAGE);
+        long start = System.nanoTime();
+        long deadline = start + properties.getBudget().toNanos();
+        long compileStart = compilationMillis();
+        int rounds = 0;
+        int settledRounds = 0;
+        String error = null;
+        calls = 0;
+        try {
+            while (System.nanoTime() < deadline && settledRounds < properties.getSettleRounds()) {
+                long roundStart = System.nanoTime();
+                long roundCompileStart = compilationMillis();
+                round();
+                rounds++;
+                long roundMillis = Math.max(1, (System.nanoTime() - roundStart) / 1_000_000);
+                long roundCompileMillis = compilationMillis() - roundCompileStart;
+                boolean settled = compilation.isCompilationTimeMonitoringSupported()
+                        && roundCompileMillis < properties.getSettleRatio() * roundMillis;
+                settledRounds = settled ? settledRounds + 1 : 0;
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Warm-up stopped after {} rounds: {}", rounds, ex.toString());
+            error = ex.toString();
+        }
+        return new WarmupReport(rounds, calls, (System.nanoTime() - start) / 1_000_000,
+                compilationMillis() - compileStart, settledRounds >= properties.getSettleRounds(),
+                before, CompiledMethods.snapshot(APPLICATION_PACKAGE), error);
+    }
+
+    private void round() {
+        List<Long> ids = new ArrayList<>();
+        int roundCalls = 0;
+        while (roundCalls < properties.getRoundSize()) {
+            ResponseEntity<Page<CustomerResponseDTO>> page = customerController.getAllCustomers(PageRequest.of(0, 20));
+            serialize(page.getBody());
+            roundCalls++;
+            if (ids.isEmpty() && page.getBody() != null) {
+                page.getBody().forEach(customer -> ids.add(customer.getId()));
+            }
+            for (Long id : ids) {
+                ResponseEntity<CustomerResponseDTO> found = customerController.getCustomerById(id, null);
+                serialize(found.getBody());
+                customerController.getCustomerById(id, found.getHeaders().getETag());
+                roundCalls += 2;
+            }
+            customerController.getCustomerById(MISSING_ID, null);
+            serialize(customerController.getCustomersCreatedBetween(30, null, null, null, 20).getBody());
+            roundCalls += 2;
+
+            validate(CustomerRequestDTO.builder().name("Warm Up").email(scratchEmail()).build());
+            validate(CustomerRequestDTO.builder().name("").email("not-an-email").build());
+            roundCalls += 2;
+
+            try {
+                customerController.updateCustomer(CustomerRequestDTO.builder().id(MISSING_ID).name("Warm Up").build(), null);
+            } catch (EntityNotFoundException ex) {
+                serialize(exceptionHandler.handleEntityNotFoundException(ex).getBody());
+            }
+            try {
+                customerController.getCustomersCreatedBetween(null, null, null, null, 20);
+            } catch (IllegalArgumentException ex) {
+                serialize(exceptionHandler.handleIllegalArgumentException(ex).getBody());
+            }
+            roundCalls += 2;
+
+            if (properties.isWrites()) {
+                writes();
+                roundCalls += 5;
+            }
+        }
+        calls += roundCalls;
+    }
+
+    // One transaction, always rolled back: nothing is committed and no after-commit hook runs. The create
+    // still adds its email to the index before commit, so it is removed here; nobody else holds that email.
+    private void writes() {
+        String email = scratchEmail();
+        try {
+            transactionTemplate.executeWithoutResult(status -> writes(status, email));
+        } finally {
+            emailHashIndex.remove(email);
+        }
+    }
+
+    private void writes(TransactionStatus status, String email) {
+        status.setRollbackOnly();
+        CustomerResponseDTO created = customerController
+                .createCustomer(CustomerRequestDTO.builder().name("Warm Up").email(email).build())
+                .getBody();
+        serialize(created);
+        CustomerRequestDTO update = CustomerRequestDTO.builder().id(created.getId()).name("Warmed Up").build();
+        serialize(customerController.updateCustomer(update, null).getBody());
+        CustomerResponseDTO current = customerController.getCustomerById(created.getId(), null).getBody();
+        serialize(customerController.updateCustomer(update, "\"" + current.getVersion() + "\"").getBody());
+        serialize(customerController.deleteCustomer(created.getId()).getBody());
+    }
+
+    private void validate(CustomerRequestDTO request) {
+        validator.validate(request);
+    }
+
+    private void serialize(Object body) {
+        if (body != null) {
+            jsonMapper.writeValueAsBytes(body);
+        }
+    }
+
+    private long compilationMillis() {
+        return compilation.isCompilationTimeMonitoringSupported() ? compilation.getTotalCompilationTime() : 0;
+    }
+
+    private static String scratchEmail() {
+        return "warmup-" + UUID.randomUUID() + "@warmup.invalid";
+    }
+}
@@ -0,0 +1,3 @@
+-- Supports time-range queries and retention purges on CUSTOMER.CREATED_AT.
+-- Apply once to databases whose schema is not generated by Hibernate.
+CREATE INDEX IF NOT EXISTS IDX_CUSTOMER_CREATED_AT ON CUSTOMER (CREATED_AT, ID);
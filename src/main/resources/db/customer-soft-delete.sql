@@ -0,0 +1,4 @@
+-- Tombstone column for soft deletes; every entity query filters on DELETED_AT IS NULL.
+-- Apply once to databases whose schema is not generated by Hibernate.
+ALTER TABLE CUSTOMER ADD COLUMN IF NOT EXISTS DELETED_AT TIMESTAMP;
+CREATE INDEX IF NOT EXISTS IDX_CUSTOMER_DELETED_AT ON CUSTOMER (DELETED_AT);
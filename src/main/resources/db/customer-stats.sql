@@ -0,0 +1,6 @@
+-- Checkpoint table for the incrementally maintained customer counters (recall.stats.*).
+-- Apply once to databases whose schema is not generated by Hibernate.
+CREATE TABLE IF NOT EXISTS CUSTOMER_STATS (
+    STAT_KEY VARCHAR(64) PRIMARY KEY,
+    STAT_VALUE BIGINT NOT NULL
+);
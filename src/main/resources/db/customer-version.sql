@@ -0,0 +1,3 @@
+-- Optimistic-locking version for customers; existing rows start at 0.
+-- Apply once to databases whose schema is not generated by Hibernate.
+ALTER TABLE CUSTOMER ADD COLUMN IF NOT EXISTS VERSION BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,103 @@
+package com.recall.recall.archive;
+
+import com.recall.recall.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerArchiveTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2020, 1, 1, 10, 15, 30, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    private static Customer customer(long id) {
+        return Customer.builder().id(id).name("Customer " + id).email("customer" + id + "@example.com")
+                .createdAt(CREATED_AT.plusMinutes(id)).build();
+    }
+
+    private static List<Customer> customers(int count) {
+        List<Customer> customers = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            customers.add(customer(id));
+        }
+        Collections.shuffle(customers, new Random(1));
+        return customers;
+    }
+
+    @Test
+    @DisplayName("Archived customers are found by id across blocks")
+    void shouldFindArchivedCustomers() {
+        try (CustomerArchive archive = new CustomerArchive(directory.resolve("customers.archive"), 64)) {
+            archive.append(customers(1000));
+
+            assertEquals(16, archive.blockCount());
+            Customer found = archive.findById(777).orElseThrow();
+            assertEquals("Customer 777", found.getName());
+            assertEquals("customer777@example.com", found.getEmail());
+            assertEquals(CREATED_AT.plusMinutes(777), found.getCreatedAt());
+            assertTrue(archive.findById(1001).isEmpty());
+            // ~50 raw bytes per record compress well below that
+            assertTrue(archive.sizeBytes() < 1000 * 25);
+        }
+    }
+
+    @Test
+    @DisplayName("Removed customers stay hidden after reopening until archived again")
+    void shouldPersistRemovals() {
+        Path file = directory.resolve("customers.archive");
+        try (CustomerArchive archive = new CustomerArchive(file, 64)) {
+            archive.append(customers(200));
+            assertEquals("Customer 42", archive.remove(42).orElseThrow().getName());
+            assertTrue(archive.remove(42).isEmpty());
+        }
+        try (CustomerArchive archive = new CustomerArchive(file, 64)) {
+            assertTrue(archive.findById(42).isEmpty());
+            assertTrue(archive.findById(43).isPresent());
+
+            archive.append(List.of(Customer.builder().id(42L).name("again").email("again@example.com").createdAt(CREATED_AT).build()));
+            assertEquals("again", archive.findById(42).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    @DisplayName("An incomplete trailing frame is discarded on open")
+    void shouldDiscardTornTail() throws Exception {
+        Path file = directory.resolve("customers.archive");
+        try (CustomerArchive archive = new CustomerArchive(file, 64)) {
+            archive.append(customers(10));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 1, 0, 0}), channel.size());
+        }
+        try (CustomerArchive archive = new CustomerArchive(file, 64)) {
+            assertEquals(1, archive.blockCount());
+            assertTrue(archive.findById(5).isPresent());
+            archive.append(List.of(customer(11)));
+            assertTrue(archive.findById(11).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("The disabled archive holds nothing")
+    void disabledArchive() {
+        CustomerArchive archive = CustomerArchive.disabled();
+        archive.append(List.of(customer(1)));
+
+        assertFalse(archive.isEnabled());
+        assertTrue(archive.findById(1).isEmpty());
+        assertTrue(archive.remove(1).isEmpty());
+    }
+}
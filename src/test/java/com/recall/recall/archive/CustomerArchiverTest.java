@@ -0,0 +1,143 @@
+package com.recall.recall.archive;
+
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.entity.Customer;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.stats.CustomerStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CustomerArchiverTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 17, 2, 30);
+
+    @TempDir
+    Path directory;
+
+    private CustomerRepository customerRepository;
+    private CustomerArchive customerArchive;
+    private CustomerStats customerStats;
+    private CacheInvalidationBus invalidationBus;
+    private TransactionTemplate transactionTemplate;
+    private ArchiveProperties properties;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        customerArchive = new CustomerArchive(directory.resolve("customers.archive"), 16);
+        customerStats = mock(CustomerStats.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        properties = new ArchiveProperties();
+        properties.setMaxAge(Duration.ofDays(30));
+        properties.setBatchSize(2);
+        properties.setMaxRowsPerSecond(1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerArchive.close();
+    }
+
+    private CustomerArchiver archiver(Executor executor) {
+        return new CustomerArchiver(customerRepository, customerArchive, customerStats, invalidationBus,
+                transactionTemplate, properties, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), executor);
+    }
+
+    private static Customer customer(long id, long version) {
+        return Customer.builder().id(id).name("Customer " + id).email("customer" + id + "@example.com")
+                .createdAt(NOW.minusDays(60).plusMinutes(id)).version(version).build();
+    }
+
+    @Test
+    @DisplayName("moves unchanged customers and leaves ones updated or deleted since the read in the hot table")
+    void archivesOnlyUnchangedRows() {
+        Customer unchanged = customer(1, 0);
+        Customer updated = customer(2, 0);
+        Customer deleted = customer(3, 0);
+        when(customerRepository.findCreatedBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(unchanged, updated), List.of(deleted));
+        when(customerRepository.lockAllById(List.of(1L, 2L))).thenReturn(List.of(customer(1, 0), customer(2, 1)));
+        when(customerRepository.lockAllById(List.of(3L))).thenReturn(List.of());
+
+        assertEquals(1, archiver(Runnable::run).archiveColdCustomers());
+
+        verify(customerRepository).deleteAllByIdInBatch(List.of(1L));
+        verifyNoMoreInteractions(ignoreStubs(customerRepository));
+        assertTrue(customerArchive.findById(1).isPresent());
+        assertTrue(customerArchive.findById(2).isEmpty());
+        assertTrue(customerArchive.findById(3).isEmpty());
+        verify(customerStats).recordDeleted(unchanged.getCreatedAt());
+        verify(invalidationBus).invalidate(1L);
+        verifyNoMoreInteractions(customerStats, invalidationBus);
+    }
+
+    @Test
+    @DisplayName("a failed delete takes the whole batch back out of the archive")
+    void failedDeleteUnappendsBatch() {
+        when(customerRepository.findCreatedBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(customer(1, 0), customer(2, 0)));
+        when(customerRepository.lockAllById(any())).thenThrow(new IllegalStateException("lock timeout"));
+
+        assertThrows(IllegalStateException.class, () -> archiver(Runnable::run).archiveColdCustomers());
+
+        assertTrue(customerArchive.findById(1).isEmpty());
+        assertTrue(customerArchive.findById(2).isEmpty());
+        verifyNoInteractions(customerStats, invalidationBus);
+    }
+
+    @Test
+    @DisplayName("batches are paced to the configured row rate")
+    void pacesBatches() {
+        properties.setMaxRowsPerSecond(20);
+        when(customerRepository.findCreatedBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(customer(1, 0), customer(2, 0)), List.of(customer(3, 0), customer(4, 0)), List.of());
+        when(customerRepository.lockAllById(any())).thenReturn(List.of());
+
+        long started = System.nanoTime();
+        archiver(Runnable::run).archiveColdCustomers();
+
+        // two full batches of 2 rows at 20 rows/s must take at least 2 x 100ms
+        assertTrue(System.nanoTime() - started >= 200_000_000L);
+    }
+
+    @Test
+    @DisplayName("the cron tick hands the run to the archiver's executor and skips while one is running")
+    void runsOffTheSchedulerThread() {
+        when(customerRepository.findCreatedBefore(any(), any(), any(), any())).thenReturn(List.of());
+        List<Runnable> tasks = new ArrayList<>();
+        CustomerArchiver archiver = archiver(tasks::add);
+
+        archiver.run();
+        archiver.run();
+
+        assertEquals(1, tasks.size());
+        verifyNoInteractions(customerRepository);
+
+        tasks.get(0).run();
+        archiver.run();
+
+        assertEquals(2, tasks.size());
+    }
+}
@@ -0,0 +1,117 @@
+package com.recall.recall.bulkhead;
+
+import com.recall.recall.exception.BulkheadRejectedException;
+import com.recall.recall.exception.BulkheadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Bulkhead bulkhead;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (bulkhead != null) {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Tasks run on the bulkhead and complete the future with their result")
+    void runsTask() throws Exception {
+        bulkhead = new Bulkhead("test", 2, 4, Duration.ofSeconds(5), false);
+
+        CompletableFuture<String> result = bulkhead.submit(() -> Thread.currentThread().getName());
+
+        assertTrue(result.get(5, TimeUnit.SECONDS).startsWith("bulkhead-test-"));
+        assertEquals(1, bulkhead.getAccepted());
+    }
+
+    @Test
+    @DisplayName("A full queue rejects immediately and counts the rejection")
+    void rejectsWhenFull() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5), false);
+        bulkhead.submit(this::blockUntilReleased);
+        bulkhead.submit(this::blockUntilReleased);
+
+        CompletableFuture<String> rejected = bulkhead.submit(() -> "never");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadRejectedException.class, ex.getCause());
+        assertEquals(1, bulkhead.getRejected());
+        assertEquals(2, bulkhead.getAccepted());
+    }
+
+    @Test
+    @DisplayName("A task still queued at the deadline fails and is removed from the queue")
+    void timesOutQueuedTask() {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100), false);
+        bulkhead.submit(this::blockUntilReleased);
+
+        CompletableFuture<String> queued = bulkhead.submit(() -> "late");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadRejectedException.class, ex.getCause());
+        assertTrue(bulkhead.getTimedOut() >= 1);
+        assertEquals(0, bulkhead.executor().getQueue().size());
+    }
+
+    @Test
+    @DisplayName("A started task past the deadline fails as a timeout, not a rejection")
+    void timesOutStartedTask() {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100), false);
+
+        CompletableFuture<String> running = bulkhead.submit(this::blockUntilReleased);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadTimeoutException.class, ex.getCause());
+        assertEquals(1, bulkhead.getTimedOut());
+    }
+
+    @Test
+    @DisplayName("With a queue-only deadline a started task is waited for")
+    void waitsForStartedTask() throws Exception {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100), true);
+
+        CompletableFuture<String> running = bulkhead.submit(this::blockUntilReleased);
+        Thread.sleep(300);
+        release.countDown();
+
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getTimedOut());
+    }
+
+    @Test
+    @DisplayName("Exceptions thrown by the task reach the caller unchanged")
+    void propagatesTaskFailure() {
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5), false);
+
+        CompletableFuture<String> failed = bulkhead.submit(() -> {
+            throw new IllegalArgumentException("bad");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertEquals(0, bulkhead.getTimedOut());
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
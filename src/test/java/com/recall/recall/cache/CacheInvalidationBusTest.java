@@ -0,0 +1,130 @@
+package com.recall.recall.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    private LoopbackInvalidationTransport transport;
+    private CustomerCacheInvalidator nodeAInvalidator;
+    private CustomerCacheInvalidator nodeBInvalidator;
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+    private final List<Runnable> reloads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transport = new LoopbackInvalidationTransport();
+        nodeAInvalidator = mock(CustomerCacheInvalidator.class);
+        nodeBInvalidator = mock(CustomerCacheInvalidator.class);
+        nodeA = new CacheInvalidationBus("a", 1, transport, nodeAInvalidator, 3, Runnable::run);
+        nodeB = new CacheInvalidationBus("b", 1, transport, nodeBInvalidator, 3, reloads::add);
+    }
+
+    @Test
+    @DisplayName("repeated ids are coalesced into one batch delivered to the other nodes only")
+    void coalescesAndBroadcasts() {
+        nodeA.invalidate(1L);
+        nodeA.invalidate(1L);
+        nodeA.invalidate(2L);
+
+        nodeA.flush();
+
+        verify(nodeBInvalidator).invalidate(argThat((Collection<Long> ids) -> Set.copyOf(ids).equals(Set.of(1L, 2L))));
+        verifyNoInteractions(nodeAInvalidator);
+        assertEquals(1, nodeA.getPublishedSequence());
+    }
+
+    @Test
+    @DisplayName("a full batch is flushed without waiting for the interval")
+    void flushesFullBatches() {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        transport.subscribe(messages::add);
+
+        for (long id = 1; id <= 7; id++) {
+            nodeA.invalidate(id);
+        }
+        nodeA.flush();
+
+        assertEquals(List.of(1L, 2L, 3L), messages.stream().map(InvalidationMessage::sequence).toList());
+        assertEquals(7, messages.stream().mapToInt(message -> message.customerIds().size()).sum());
+        assertTrue(messages.stream().allMatch(message -> message.customerIds().size() <= 3));
+    }
+
+    @Test
+    @DisplayName("a sequence gap drops the whole customer cache")
+    void detectsGaps() {
+        nodeB.onMessage(new InvalidationMessage("a", 1, 1, List.of(1L)));
+        nodeB.onMessage(new InvalidationMessage("a", 1, 3, List.of(3L)));
+
+        verify(nodeBInvalidator).invalidate(List.of(1L));
+        verify(nodeBInvalidator, never()).invalidateAll();
+        assertEquals(1, reloads.size());
+        reloads.getFirst().run();
+        verify(nodeBInvalidator).invalidateAll();
+        verify(nodeBInvalidator, never()).invalidate(List.of(3L));
+        assertEquals(1, nodeB.getGaps());
+
+        nodeB.onMessage(new InvalidationMessage("a", 1, 2, List.of(2L)));
+
+        verify(nodeBInvalidator).invalidate(List.of(2L));
+        assertEquals(1, nodeB.getGaps());
+    }
+
+    @Test
+    @DisplayName("gaps reported while a reload is pending share that reload")
+    void coalescesReloads() {
+        nodeB.onMessage(new InvalidationMessage("a", 1, 1, List.of(1L)));
+        nodeB.onMessage(new InvalidationMessage("a", 1, 3, List.of(3L)));
+        nodeB.onMessage(new InvalidationMessage("c", 1, 1, List.of(4L)));
+        nodeB.onMessage(new InvalidationMessage("c", 1, 5, List.of(5L)));
+
+        assertEquals(1, reloads.size());
+        assertEquals(2, nodeB.getGaps());
+        reloads.getFirst().run();
+        nodeB.onMessage(new InvalidationMessage("a", 1, 6, List.of(6L)));
+
+        assertEquals(2, reloads.size());
+    }
+
+    @Test
+    @DisplayName("a node restarted under the same id is tracked from its new epoch")
+    void resetsTrackingOnRestart() {
+        nodeB.onMessage(new InvalidationMessage("a", 1, 40, List.of(1L)));
+
+        nodeB.onMessage(new InvalidationMessage("a", 2, 1, List.of(2L)));
+        nodeB.onMessage(new InvalidationMessage("a", 2, 2, List.of(3L)));
+        // a batch from before the restart arriving late is still applied
+        nodeB.onMessage(new InvalidationMessage("a", 1, 41, List.of(4L)));
+        nodeB.onMessage(new InvalidationMessage("a", 2, 4, List.of(5L)));
+
+        verify(nodeBInvalidator).invalidate(List.of(2L));
+        verify(nodeBInvalidator).invalidate(List.of(3L));
+        verify(nodeBInvalidator).invalidate(List.of(4L));
+        verify(nodeBInvalidator, never()).invalidate(List.of(5L));
+        assertEquals(1, nodeB.getGaps());
+        assertEquals(1, reloads.size());
+    }
+
+    @Test
+    @DisplayName("the disabled bus drops invalidations")
+    void disabledBusIsNoOp() {
+        CacheInvalidationBus disabled = CacheInvalidationBus.disabled();
+
+        disabled.invalidate(1L);
+        disabled.flush();
+
+        assertEquals(0, disabled.getPublishedSequence());
+        verify(nodeBInvalidator, never()).invalidate(anyCollection());
+    }
+}
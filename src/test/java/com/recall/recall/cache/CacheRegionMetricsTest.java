@@ -0,0 +1,35 @@
+package com.recall.recall.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheRegionMetricsTest {
+
+    @Test
+    @DisplayName("Publishes hit, miss, put and size per region")
+    void shouldPublishPerRegionStatistics() {
+        Statistics statistics = mock(Statistics.class);
+        CacheRegionStatistics customer = mock(CacheRegionStatistics.class);
+        when(customer.getHitCount()).thenReturn(7L);
+        when(customer.getMissCount()).thenReturn(3L);
+        when(customer.getPutCount()).thenReturn(3L);
+        when(customer.getElementCountInMemory()).thenReturn(2L);
+        when(statistics.getCacheRegionStatistics("customer")).thenReturn(customer);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new CacheRegionMetrics(statistics, List.of("customer", "unknown")).bindTo(registry);
+
+        assertEquals(7, registry.get("recall.cache.region.hits").tag("region", "customer").functionCounter().count());
+        assertEquals(3, registry.get("recall.cache.region.misses").tag("region", "customer").functionCounter().count());
+        assertEquals(2, registry.get("recall.cache.region.size").tag("region", "customer").gauge().value());
+        assertEquals(0, registry.get("recall.cache.region.hits").tag("region", "unknown").functionCounter().count());
+    }
+}
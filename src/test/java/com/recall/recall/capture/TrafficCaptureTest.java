@@ -0,0 +1,119 @@
+package com.recall.recall.capture;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficCaptureTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Capture log round-trips every field and tolerates a truncated last record")
+    void logRoundTrip() throws IOException {
+        Path file = directory.resolve("requests.rcap");
+        CapturedRequest first = new CapturedRequest(1_000, "GET", "/api/v1/customers/1", Map.of("Accept", "application/json"),
+                new byte[0], false, 200, 2_000_000);
+        CapturedRequest second = new CapturedRequest(5_000_000, "POST", "/api/v1/customers", Map.of(),
+                "{\"name\":\"test\"}".getBytes(StandardCharsets.UTF_8), true, 201, 7_000);
+        try (CaptureLogWriter writer = new CaptureLogWriter(file, 0)) {
+            writer.write(first);
+            writer.write(second);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length + 3));
+
+        List<CapturedRequest> read = CaptureLogReader.readAll(file);
+
+        assertEquals(2, read.size());
+        assertEquals("/api/v1/customers/1", read.get(0).uri());
+        assertEquals(Map.of("Accept", "application/json"), read.get(0).headers());
+        assertEquals(2_000_000, read.get(0).durationNanos());
+        assertEquals("POST", read.get(1).method());
+        assertEquals(5_000_000, read.get(1).offsetNanos());
+        assertEquals("{\"name\":\"test\"}", new String(read.get(1).body(), StandardCharsets.UTF_8));
+        assertEquals(201, read.get(1).status());
+        assertFalse(read.get(0).bodyTruncated());
+        assertTrue(read.get(1).bodyTruncated());
+    }
+
+    @Test
+    @DisplayName("Filter captures sampled customer requests with body, status and kept headers only")
+    void filterCapturesRequest() throws Exception {
+        Path file = directory.resolve("filter.rcap");
+        CaptureProperties properties = new CaptureProperties();
+        properties.setSampleRate(1.0);
+        TrafficRecorder recorder = new TrafficRecorder(new CaptureLogWriter(file, 0), properties.getMaxFileBytes(), 16);
+        TrafficCaptureFilter filter = new TrafficCaptureFilter(recorder, properties);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/customers");
+        request.setContentType("application/json");
+        request.addHeader("If-Match", "\"3\"");
+        request.addHeader("X-API-Key", "secret");
+        request.setContent("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.getInputStream().readAllBytes();
+                resp.setStatus(412);
+            }
+        }));
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        recorder.close();
+
+        List<CapturedRequest> read = CaptureLogReader.readAll(file);
+        assertEquals(1, read.size());
+        assertEquals("PUT", read.get(0).method());
+        assertEquals(412, read.get(0).status());
+        assertEquals("{\"id\":1}", new String(read.get(0).body(), StandardCharsets.UTF_8));
+        assertEquals("\"3\"", read.get(0).headers().get("If-Match"));
+        assertFalse(read.get(0).headers().containsKey("X-API-Key"));
+        assertFalse(read.get(0).bodyTruncated());
+        assertEquals(0, recorder.getDropped());
+    }
+
+    @Test
+    @DisplayName("A body longer than the capture limit is kept up to the limit and marked truncated")
+    void filterMarksTruncatedBody() throws Exception {
+        Path file = directory.resolve("truncated.rcap");
+        CaptureProperties properties = new CaptureProperties();
+        properties.setSampleRate(1.0);
+        properties.setMaxBodyBytes(8);
+        TrafficRecorder recorder = new TrafficRecorder(new CaptureLogWriter(file, 0), properties.getMaxFileBytes(), 16);
+        TrafficCaptureFilter filter = new TrafficCaptureFilter(recorder, properties);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/customers");
+        request.setContentType("application/json");
+        request.setContent("{\"name\":\"longer than eight\"}".getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.getInputStream().readAllBytes();
+            }
+        }));
+        recorder.close();
+
+        List<CapturedRequest> read = CaptureLogReader.readAll(file);
+        assertEquals(1, read.size());
+        assertEquals(8, read.get(0).body().length);
+        assertTrue(read.get(0).bodyTruncated());
+    }
+}
@@ -1,7 +1,12 @@
 package com.recall.recall.controller;
 
+import com.recall.recall.cache.CustomerValidatorCache;
+import com.recall.recall.dto.CustomerBatchRequestDTO;
 import com.recall.recall.dto.CustomerRequestDTO;
 import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
+import com.recall.recall.entity.Customer;
+import com.recall.recall.exception.VersionConflictException;
 import com.recall.recall.services.CustomerServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,16 +16,25 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +48,9 @@ public class CustomerControllerTest {
     @MockitoBean
     private CustomerServiceImpl customerService;
 
+    @MockitoBean
+    private CustomerValidatorCache validatorCache;
+
     private CustomerResponseDTO buildCustomer(Long id, String name, String email, LocalDateTime createdAt) {
         return CustomerResponseDTO.builder().id(id).name(name).email(email).createdAt(createdAt).build();
     }
@@ -127,6 +144,184 @@ public class CustomerControllerTest {
         verify(customerService, times(1)).updateCustomer(any(CustomerRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/customers/{id} returns the version as ETag")
+    void getCustomerById_eTag() throws Exception {
+        CustomerResponseDTO customer = buildCustomer(1L, "test", "test@fake.com", LocalDateTime.now());
+        customer.setVersion(4L);
+        when(customerService.getCustomerById(1L)).thenReturn(Optional.of(customer));
+
+        mockMvc.perform(get("/api/v1/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/customers/{id} answers a cached matching If-None-Match with 304 without loading")
+    void getCustomerById_notModifiedFromValidatorCache() throws Exception {
+        when(validatorCache.getVersion(1L)).thenReturn(4L);
+
+        mockMvc.perform(get("/api/v1/customers/1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(content().string(""));
+
+        verify(customerService, never()).getCustomerById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/customers/{id} loads and returns 304 when the cached validator is unknown but the version matches")
+    void getCustomerById_notModifiedAfterLoad() throws Exception {
+        CustomerResponseDTO customer = buildCustomer(1L, "test", "test@fake.com", LocalDateTime.now());
+        customer.setVersion(4L);
+        when(customerService.getCustomerById(1L)).thenReturn(Optional.of(customer));
+
+        mockMvc.perform(get("/api/v1/customers/1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(validatorCache).recordVersion(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/customers/{id} returns the body when If-None-Match is stale")
+    void getCustomerById_staleIfNoneMatch() throws Exception {
+        CustomerResponseDTO customer = buildCustomer(1L, "test", "test@fake.com", LocalDateTime.now());
+        customer.setVersion(5L);
+        when(validatorCache.getVersion(1L)).thenReturn(5L);
+        when(customerService.getCustomerById(1L)).thenReturn(Optional.of(customer));
+
+        mockMvc.perform(get("/api/v1/customers/1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/customers returns 304 when the page ETag matches")
+    void getAllCustomers_notModified() throws Exception {
+        CustomerResponseDTO customer = buildCustomer(1L, "test", "test@fake.com", LocalDateTime.of(2024, 1, 1, 0, 0));
+        customer.setVersion(2L);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(customerService.getAllCustomers(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(customer), pageable, 1));
+
+        String eTag = mockMvc.perform(get("/api/v1/customers?page=0&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/customers?page=0&size=10").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        customer.setVersion(3L);
+        mockMvc.perform(get("/api/v1/customers?page=0&size=10").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers with If-Match updates the expected version")
+    void updateCustomer_ifMatch() throws Exception {
+        CustomerResponseDTO updated = buildCustomer(1L, "test-updated", "test-updated@fake.com", LocalDateTime.now());
+        updated.setVersion(5L);
+        when(customerService.updateCustomer(any(CustomerRequestDTO.class), eq(Set.of(4L)))).thenReturn(updated);
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers with a stale If-Match returns 412")
+    void updateCustomer_staleIfMatch() throws Exception {
+        when(customerService.updateCustomer(any(CustomerRequestDTO.class), eq(Set.of(3L))))
+                .thenThrow(new VersionConflictException(1L));
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers with a weak If-Match tag never matches and returns 412")
+    void updateCustomer_weakIfMatch() throws Exception {
+        when(customerService.updateCustomer(any(CustomerRequestDTO.class), eq(Set.of())))
+                .thenThrow(new VersionConflictException(1L));
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .header("If-Match", "W/\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers with an If-Match list accepts any of its versions")
+    void updateCustomer_ifMatchList() throws Exception {
+        CustomerResponseDTO updated = buildCustomer(1L, "test-updated", "test-updated@fake.com", LocalDateTime.now());
+        updated.setVersion(5L);
+        when(customerService.updateCustomer(any(CustomerRequestDTO.class), eq(Set.of(3L, 4L)))).thenReturn(updated);
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .header("If-Match", "\"3\", W/\"7\", \"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers with If-Match * updates whatever version is stored")
+    void updateCustomer_ifMatchAny() throws Exception {
+        CustomerResponseDTO updated = buildCustomer(1L, "test-updated", "test-updated@fake.com", LocalDateTime.now());
+        when(customerService.updateCustomer(any(CustomerRequestDTO.class))).thenReturn(updated);
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isOk());
+
+        verify(customerService, never()).updateCustomer(any(CustomerRequestDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers with a malformed If-Match returns 400")
+    void updateCustomer_malformedIfMatch() throws Exception {
+        mockMvc.perform(put("/api/v1/customers")
+                        .header("If-Match", "4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/customers without If-Match retries after a concurrent commit")
+    void updateCustomer_retriesOptimisticLockFailure() throws Exception {
+        CustomerResponseDTO updated = buildCustomer(1L, "test-updated", "test@fake.com", LocalDateTime.now());
+        when(customerService.updateCustomer(any(CustomerRequestDTO.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L))
+                .thenReturn(updated);
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"test-updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("test-updated")));
+
+        verify(customerService, times(2)).updateCustomer(any(CustomerRequestDTO.class));
+    }
+
     @Test
     @DisplayName("DELETE /api/v1/customers/{id} deletes customer")
     void deleteCustomer() throws Exception {
@@ -137,4 +332,110 @@ public class CustomerControllerTest {
 
         verify(customerService, times(1)).deleteCustomer(1L);
     }
+
+    @Test
+    @DisplayName("GET /api/v1/customers/{id} returns CBOR when requested")
+    void getCustomerById_cbor() throws Exception {
+        CustomerResponseDTO customer = buildCustomer(1L, "test", "test@fake.com", LocalDateTime.now());
+        when(customerService.getCustomerById(1L)).thenReturn(Optional.of(customer));
+
+        byte[] body = mockMvc.perform(get("/api/v1/customers/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CustomerResponseDTO decoded = CBORMapper.builder().build().readValue(body, CustomerResponseDTO.class);
+        assertEquals(customer, decoded);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/customers accepts a CBOR body")
+    void createCustomer_cbor() throws Exception {
+        CustomerResponseDTO saved = buildCustomer(1L, "test", "test@fake.com", LocalDateTime.now());
+        when(customerService.createCustomer(any(CustomerRequestDTO.class))).thenReturn(saved);
+        byte[] body = CBORMapper.builder().build()
+                .writeValueAsBytes(CustomerRequestDTO.builder().name("test").email("test@fake.com").build());
+
+        mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(customerService, times(1)).createCustomer(any(CustomerRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/customers/created returns a keyset slice")
+    void getCustomersCreatedBetween() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        CustomerSliceDTO slice = CustomerSliceDTO.builder()
+                .content(List.of(buildCustomer(1L, "test", "test@fake.com", from)))
+                .size(1)
+                .nextCursor("next")
+                .build();
+        when(customerService.getCustomersCreatedBetween(from, to, null, 1)).thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/customers/created?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(customerService, times(1)).getCustomersCreatedBetween(from, to, null, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/customers/created returns 400 without a range")
+    void getCustomersCreatedBetween_missingRange() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/created"))
+                .andExpect(status().isBadRequest());
+
+        verify(customerService, never()).getCustomersCreatedBetween(any(), any(), any(), eq(50));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/customers/batch creates all customers")
+    void createCustomers() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        when(customerService.createCustomers(anyList())).thenReturn(List.of(
+                buildCustomer(1L, "a", "a@fake.com", now), buildCustomer(2L, "b", "b@fake.com", now)));
+
+        mockMvc.perform(post("/api/v1/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customers\":[{\"name\":\"a\",\"email\":\"a@fake.com\"},{\"name\":\"b\",\"email\":\"b@fake.com\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        verify(customerService, times(1)).createCustomers(anyList());
+        verify(customerService, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/customers/batch rejects emails repeated in the batch")
+    void createCustomers_duplicateInBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customers\":[{\"name\":\"a\",\"email\":\"a@fake.com\"},{\"name\":\"b\",\"email\":\"a@fake.com\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message[0]", is("customers[1].email: Email a@fake.com already exists!")));
+
+        verify(customerService, never()).createCustomers(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/customers/{id}/restore returns the restored customer")
+    void restoreCustomer() throws Exception {
+        CustomerResponseDTO restored = buildCustomer(5L, "cold", "cold@fake.com", LocalDateTime.of(2020, 1, 1, 0, 0));
+        when(customerService.restoreCustomer(5L)).thenReturn(restored);
+
+        mockMvc.perform(post("/api/v1/customers/5/restore"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(5)))
+                .andExpect(jsonPath("$.name", is("cold")));
+
+        verify(customerService, times(1)).restoreCustomer(5L);
+    }
 }
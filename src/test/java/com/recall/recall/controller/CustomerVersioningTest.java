@@ -0,0 +1,83 @@
+package com.recall.recall.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Versions and ETags against the real persistence stack, where @Version only moves at flush. */
+@SpringBootTest(properties = "recall.cache.invalidation.enabled=true")
+@AutoConfigureMockMvc
+class CustomerVersioningTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("PUT returns the incremented version, and a second PUT with that ETag succeeds")
+    void putThenPutWithReturnedETag() throws Exception {
+        String email = "versioning-" + UUID.randomUUID() + "@fake.com";
+        long id = create(email);
+
+        MvcResult first = mockMvc.perform(put("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content("{\"id\":" + id + ",\"name\":\"renamed once\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andReturn();
+        assertEquals(1, jsonMapper.readTree(first.getResponse().getContentAsString()).get("version").asLong());
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG))
+                        .content("{\"id\":" + id + ",\"name\":\"renamed twice\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    @DisplayName("A conditional GET with the ETag from before a PUT on the same node gets the new body")
+    void conditionalGetAfterPut() throws Exception {
+        String email = "versioning-" + UUID.randomUUID() + "@fake.com";
+        long id = create(email);
+        mockMvc.perform(get("/api/v1/customers/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        mockMvc.perform(get("/api/v1/customers/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + id + ",\"name\":\"changed\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/customers/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("changed"));
+    }
+
+    private long create(String email) throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"versioned\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return jsonMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+    }
+}
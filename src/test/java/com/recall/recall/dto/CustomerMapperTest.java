@@ -0,0 +1,46 @@
+package com.recall.recall.dto;
+
+import com.recall.recall.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerMapperTest {
+
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+
+    @Test
+    @DisplayName("entity to response DTO copies every field")
+    void toResponseDTO() {
+        LocalDateTime now = LocalDateTime.now();
+        Customer customer = Customer.builder().id(1L).name("test").email("test@fake.com").createdAt(now).build();
+
+        CustomerResponseDTO dto = customerMapper.toResponseDTO(customer);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("test", dto.getName());
+        assertEquals("test@fake.com", dto.getEmail());
+        assertEquals(now, dto.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("request DTO to entity leaves createdAt to Hibernate")
+    void toEntity() {
+        Customer customer = customerMapper.toEntity(new CustomerRequestDTO(2L, "test", "test@fake.com"));
+
+        assertEquals(2L, customer.getId());
+        assertEquals("test", customer.getName());
+        assertEquals("test@fake.com", customer.getEmail());
+        assertNull(customer.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("null input maps to null")
+    void nullInput() {
+        assertNull(customerMapper.toResponseDTO(null));
+        assertNull(customerMapper.toEntity(null));
+    }
+}
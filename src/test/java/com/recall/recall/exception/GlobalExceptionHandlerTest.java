@@ -1,5 +1,6 @@
 package com.recall.recall.exception;
 
+import com.recall.recall.dto.ApiErrorDTO;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -45,18 +46,18 @@ class GlobalExceptionHandlerTest {
         when(bindingResult.getFieldErrors()).thenReturn(fieldErrors);
         MethodArgumentNotValidException exception = new MethodArgumentNotValidException(null, bindingResult);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleMethodArgumentNotValidException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleMethodArgumentNotValidException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertEquals(HttpStatus.BAD_REQUEST.value(), body.get("status"));
-        assertEquals("Validation Error", body.get("error"));
-        assertNotNull(body.get("timestamp"));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), body.getStatus());
+        assertEquals("Validation Error", body.getError());
+        assertNotNull(body.getTimestamp());
 
-        List<String> messages = (List<String>) body.get("message");
+        List<String> messages = (List<String>) body.getMessage();
         assertEquals(2, messages.size());
         assertTrue(messages.contains("name: Name is required"));
         assertTrue(messages.contains("email: Email is invalid"));
@@ -84,18 +85,18 @@ class GlobalExceptionHandlerTest {
 
         ConstraintViolationException exception = new ConstraintViolationException("Validation failed", violations);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleConstraintViolationException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleConstraintViolationException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertEquals(HttpStatus.BAD_REQUEST.value(), body.get("status"));
-        assertEquals("Constraint Violation", body.get("error"));
-        assertNotNull(body.get("timestamp"));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), body.getStatus());
+        assertEquals("Constraint Violation", body.getError());
+        assertNotNull(body.getTimestamp());
 
-        List<String> messages = (List<String>) body.get("message");
+        List<String> messages = (List<String>) body.getMessage();
         assertEquals(2, messages.size());
     }
 
@@ -105,18 +106,18 @@ class GlobalExceptionHandlerTest {
         String errorMessage = "Customer not found with id: 1";
         EntityNotFoundException exception = new EntityNotFoundException(errorMessage);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleEntityNotFoundException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleEntityNotFoundException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertEquals(HttpStatus.NOT_FOUND.value(), body.get("status"));
-        assertEquals("Resource Not Found", body.get("error"));
-        assertEquals(errorMessage, body.get("message"));
-        assertNotNull(body.get("timestamp"));
-        assertInstanceOf(LocalDateTime.class, body.get("timestamp"));
+        assertEquals(HttpStatus.NOT_FOUND.value(), body.getStatus());
+        assertEquals("Resource Not Found", body.getError());
+        assertEquals(errorMessage, body.getMessage());
+        assertNotNull(body.getTimestamp());
+        assertInstanceOf(LocalDateTime.class, body.getTimestamp());
     }
 
     @Test
@@ -124,17 +125,17 @@ class GlobalExceptionHandlerTest {
     void testHandleHttpMessageNotReadableException() {
         HttpMessageNotReadableException exception = mock(HttpMessageNotReadableException.class);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleHttpMessageNotReadableException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleHttpMessageNotReadableException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertEquals(HttpStatus.BAD_REQUEST.value(), body.get("status"));
-        assertEquals("Invalid Request", body.get("error"));
-        assertEquals("Malformed JSON request body or invalid field types", body.get("message"));
-        assertNotNull(body.get("timestamp"));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), body.getStatus());
+        assertEquals("Invalid Request", body.getError());
+        assertEquals("Malformed JSON request body or invalid field types", body.getMessage());
+        assertNotNull(body.getTimestamp());
     }
 
     @Test
@@ -143,17 +144,44 @@ class GlobalExceptionHandlerTest {
         String errorMessage = "Invalid page number";
         IllegalArgumentException exception = new IllegalArgumentException(errorMessage);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleIllegalArgumentException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleIllegalArgumentException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertEquals(HttpStatus.BAD_REQUEST.value(), body.get("status"));
-        assertEquals("Invalid Argument", body.get("error"));
-        assertEquals(errorMessage, body.get("message"));
-        assertNotNull(body.get("timestamp"));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), body.getStatus());
+        assertEquals("Invalid Argument", body.getError());
+        assertEquals(errorMessage, body.getMessage());
+        assertNotNull(body.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Handle unsupported operation exception")
+    void testHandleOperationNotSupportedException() {
+        OperationNotSupportedException exception = new OperationNotSupportedException("Time-range queries are not supported");
+
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleOperationNotSupportedException(exception);
+
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, response.getStatusCode());
+        ApiErrorDTO body = response.getBody();
+        assertNotNull(body);
+        assertEquals("Not Implemented", body.getError());
+        assertEquals("Time-range queries are not supported", body.getMessage());
+    }
+
+    @Test
+    @DisplayName("Handle duplicate email exception")
+    void testHandleDuplicateEmailException() {
+        ResponseEntity<ApiErrorDTO> response =
+                globalExceptionHandler.handleDuplicateEmailException(new DuplicateEmailException("a@b.com"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        ApiErrorDTO body = response.getBody();
+        assertNotNull(body);
+        assertEquals("Conflict", body.getError());
+        assertEquals("Email a@b.com already exists!", body.getMessage());
     }
 
     @Test
@@ -161,17 +189,17 @@ class GlobalExceptionHandlerTest {
     void testHandleGenericException() {
         Exception exception = new Exception("Unexpected error occurred");
 
-        ResponseEntity<?> response = globalExceptionHandler.handleGenericException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleGenericException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), body.get("status"));
-        assertEquals("Internal Server Error", body.get("error"));
-        assertEquals("Unexpected error occurred", body.get("message"));
-        assertNotNull(body.get("timestamp"));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), body.getStatus());
+        assertEquals("Internal Server Error", body.getError());
+        assertEquals("Unexpected error occurred", body.getMessage());
+        assertNotNull(body.getTimestamp());
     }
 
     @Test
@@ -180,14 +208,14 @@ class GlobalExceptionHandlerTest {
         when(bindingResult.getFieldErrors()).thenReturn(Collections.emptyList());
         MethodArgumentNotValidException exception = new MethodArgumentNotValidException(null, bindingResult);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleMethodArgumentNotValidException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleMethodArgumentNotValidException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        List<String> messages = (List<String>) body.get("message");
+        List<String> messages = (List<String>) body.getMessage();
         assertTrue(messages.isEmpty());
     }
 
@@ -197,14 +225,14 @@ class GlobalExceptionHandlerTest {
         Set<ConstraintViolation<?>> violations = new HashSet<>();
         ConstraintViolationException exception = new ConstraintViolationException("Validation failed", violations);
 
-        ResponseEntity<?> response = globalExceptionHandler.handleConstraintViolationException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleConstraintViolationException(exception);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        List<String> messages = (List<String>) body.get("message");
+        List<String> messages = (List<String>) body.getMessage();
         assertTrue(messages.isEmpty());
     }
 
@@ -213,15 +241,14 @@ class GlobalExceptionHandlerTest {
     void testResponseBodyStructure() {
         Exception exception = new Exception("Test error");
 
-        ResponseEntity<?> response = globalExceptionHandler.handleGenericException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleGenericException(exception);
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        ApiErrorDTO body = response.getBody();
         assertNotNull(body);
-        assertTrue(body.containsKey("timestamp"));
-        assertTrue(body.containsKey("status"));
-        assertTrue(body.containsKey("error"));
-        assertTrue(body.containsKey("message"));
-        assertEquals(4, body.size());
+        assertNotNull(body.getTimestamp());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), body.getStatus());
+        assertNotNull(body.getError());
+        assertNotNull(body.getMessage());
     }
 
     @Test
@@ -229,15 +256,26 @@ class GlobalExceptionHandlerTest {
     void testTimestampIsRecent() {
         Exception exception = new Exception("Test error");
 
-        ResponseEntity<?> response = globalExceptionHandler.handleGenericException(exception);
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleGenericException(exception);
 
-        Map<String, Object> body = (Map<String, Object>) response.getBody();
-        LocalDateTime timestamp = (LocalDateTime) body.get("timestamp");
+        ApiErrorDTO body = response.getBody();
+        LocalDateTime timestamp = body.getTimestamp();
         assertNotNull(timestamp);
 
         LocalDateTime now = LocalDateTime.now();
         assertTrue(timestamp.isBefore(now.plusSeconds(1)));
         assertTrue(timestamp.isAfter(now.minusSeconds(5)));
     }
-}
 
+    @Test
+    @DisplayName("Handle stackless customer not found exception")
+    void testHandleCustomerNotFoundException() {
+        CustomerNotFoundException exception = new CustomerNotFoundException(42L);
+
+        ResponseEntity<ApiErrorDTO> response = globalExceptionHandler.handleEntityNotFoundException(exception);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Customer with id 42 not found", response.getBody().getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
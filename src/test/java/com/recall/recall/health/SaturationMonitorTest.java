@@ -0,0 +1,123 @@
+package com.recall.recall.health;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.boot.web.server.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SaturationMonitorTest {
+
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private MeterRegistry registry;
+    private ApplicationEventPublisher publisher;
+    private SaturationMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Gauge.builder("hikaricp.connections.active", activeConnections, AtomicInteger::get).register(registry);
+        Gauge.builder("hikaricp.connections.max", () -> 10).register(registry);
+        publisher = mock(ApplicationEventPublisher.class);
+        SaturationProperties properties = new SaturationProperties();
+        properties.setRecoverySamples(2);
+        monitor = new SaturationMonitor(registry, properties, publisher, () -> 0L);
+        monitor.start();
+    }
+
+    @Test
+    @DisplayName("readiness flips to refusing traffic when the pool is saturated")
+    void refusesTrafficWhenSaturated() {
+        activeConnections.set(10);
+
+        monitor.sample();
+        monitor.sample();
+
+        assertTrue(monitor.isSaturated());
+        assertEquals(List.of("poolUtilization"), monitor.getLastBreaches());
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC), publishedStates());
+        Health health = new SaturationHealthIndicator(monitor).health();
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(1.0, health.getDetails().get("poolUtilization"));
+    }
+
+    @Test
+    @DisplayName("traffic is accepted again only after consecutive healthy samples")
+    void recoversAfterHealthySamples() {
+        activeConnections.set(10);
+        monitor.sample();
+        activeConnections.set(2);
+
+        monitor.sample();
+        assertTrue(monitor.isSaturated());
+        monitor.sample();
+
+        assertFalse(monitor.isSaturated());
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), publishedStates());
+        assertEquals(Status.UP, new SaturationHealthIndicator(monitor).health().getStatus());
+    }
+
+    @Test
+    @DisplayName("thread utilization counts only the application connector, not the management one")
+    void ignoresManagementConnectorThreads() {
+        registerConnector("http-nio-8080", 190, 200);
+        registerConnector("http-nio-8081", 0, 200);
+        monitor.onWebServerInitialized(serverInitialized("management", 8081));
+        monitor.onWebServerInitialized(serverInitialized(null, 8080));
+
+        monitor.sample();
+
+        assertEquals(0.95, monitor.getLastSample().threadUtilization());
+        assertEquals(List.of("threadUtilization"), monitor.getLastBreaches());
+    }
+
+    @Test
+    @DisplayName("nothing is published before the application is ready")
+    void ignoresSamplesBeforeStartup() {
+        SaturationMonitor notStarted = new SaturationMonitor(new SimpleMeterRegistry(), new SaturationProperties(),
+                publisher, () -> 0L);
+
+        notStarted.sample();
+
+        verifyNoInteractions(publisher);
+    }
+
+    private void registerConnector(String name, int busy, int max) {
+        Gauge.builder("tomcat.threads.busy", () -> busy).tag("name", name).register(registry);
+        Gauge.builder("tomcat.threads.config.max", () -> max).tag("name", name).register(registry);
+    }
+
+    private static WebServerInitializedEvent serverInitialized(String namespace, int port) {
+        WebServerApplicationContext context = mock(WebServerApplicationContext.class);
+        when(context.getServerNamespace()).thenReturn(namespace);
+        WebServer server = mock(WebServer.class);
+        when(server.getPort()).thenReturn(port);
+        WebServerInitializedEvent event = mock(WebServerInitializedEvent.class);
+        when(event.getApplicationContext()).thenReturn(context);
+        when(event.getWebServer()).thenReturn(server);
+        return event;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<Object> publishedStates() {
+        ArgumentCaptor<AvailabilityChangeEvent> events = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+        verify(publisher, atLeast(0)).publishEvent(events.capture());
+        return events.getAllValues().stream().map(event -> (Object) event.getState()).toList();
+    }
+}
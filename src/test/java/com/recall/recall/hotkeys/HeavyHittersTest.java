@@ -0,0 +1,102 @@
+package com.recall.recall.hotkeys;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    @DisplayName("Skewed traffic surfaces the hot keys first, with estimates that never undercount")
+    void topKeysUnderSkew() {
+        HeavyHitters hitters = new HeavyHitters(5, 4, 1024);
+        for (int round = 0; round < 200; round++) {
+            hitters.record("hot-1");
+            hitters.record("hot-1");
+            hitters.record("hot-1");
+            hitters.record("hot-2");
+            hitters.record("hot-2");
+            for (int cold = 0; cold < 50; cold++) {
+                hitters.record("cold-" + (round * 50 + cold));
+            }
+        }
+
+        List<HeavyHitters.Entry> top = hitters.top(2);
+
+        assertEquals(List.of("hot-1", "hot-2"), top.stream().map(HeavyHitters.Entry::key).toList());
+        assertTrue(top.get(0).estimate() >= 600);
+        assertTrue(top.get(1).estimate() >= 400);
+        assertTrue(hitters.candidateCount() <= 4 * 5 + 1);
+    }
+
+    @Test
+    @DisplayName("Decay halves the estimates and the window total")
+    void decayHalves() {
+        HeavyHitters hitters = new HeavyHitters(3, 4, 256);
+        for (int i = 0; i < 100; i++) {
+            hitters.record("42");
+        }
+
+        hitters.decay();
+
+        assertEquals(50, hitters.estimate("42"));
+        assertEquals(50, hitters.total());
+        assertEquals(50, hitters.top(1).get(0).estimate());
+    }
+
+    @Test
+    @DisplayName("Concurrent recording loses no counts")
+    void concurrentRecording() throws InterruptedException {
+        HeavyHitters hitters = new HeavyHitters(3, 4, 256);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    hitters.record("7");
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, hitters.estimate("7"));
+        assertEquals(40_000, hitters.total());
+    }
+
+    @Test
+    @DisplayName("Emails are counted under their hash, whatever their case or padding")
+    void emailsAreHashed() {
+        HotKeyProperties properties = new HotKeyProperties();
+        HotKeyTracker tracker = new HotKeyTracker(properties);
+
+        tracker.recordEmail("Alice@Example.com");
+        tracker.recordEmail(" alice@example.com ");
+
+        List<HeavyHitters.Entry> top = tracker.topEmails(10);
+        assertEquals(1, top.size());
+        assertEquals(HotKeyTracker.emailKey("alice@example.com"), top.get(0).key());
+        assertEquals(2, top.get(0).estimate());
+        assertTrue(top.get(0).key().startsWith("sha256:"));
+        assertFalse(top.get(0).key().contains("alice"));
+    }
+
+    @Test
+    @DisplayName("A disabled tracker records nothing")
+    void disabledTracker() {
+        HotKeyTracker tracker = HotKeyTracker.disabled();
+
+        tracker.recordId(1L);
+        tracker.recordEmail("a@b.com");
+        tracker.decay();
+
+        assertFalse(tracker.isEnabled());
+        assertTrue(tracker.topIds(10).isEmpty());
+        assertEquals(0, tracker.emailTotal());
+    }
+}
@@ -0,0 +1,82 @@
+package com.recall.recall.jfr;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.services.CustomerService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerOperationInterceptorTest {
+
+    private final CustomerOperationInterceptor interceptor = new CustomerOperationInterceptor("service", "CustomerService");
+
+    private static MethodInvocation invocation(String method, Object[] arguments) throws Exception {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(CustomerService.class.getMethod(method, Long.class));
+        when(invocation.getArguments()).thenReturn(arguments);
+        return invocation;
+    }
+
+    @Test
+    @DisplayName("records layer, operation, customer id and outcome while a recording is running")
+    void recordsEvents(@TempDir Path directory) throws Throwable {
+        MethodInvocation found = invocation("getCustomerById", new Object[]{7L});
+        when(found.proceed()).thenReturn(Optional.of(CustomerResponseDTO.builder().id(7L).build()));
+        MethodInvocation failed = invocation("deleteCustomer", new Object[]{8L});
+        when(failed.proceed()).thenThrow(new IllegalStateException("boom"));
+        Path file = directory.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(CustomerOperationEvent.class);
+            recording.start();
+            interceptor.invoke(found);
+            assertThrows(IllegalStateException.class, () -> interceptor.invoke(failed));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.recall.CustomerOperation"))
+                .toList();
+        assertEquals(2, events.size());
+        assertEquals("CustomerService.getCustomerById", events.get(0).getString("operation"));
+        assertEquals(7L, events.get(0).getLong("customerId"));
+        assertEquals("success", events.get(0).getString("outcome"));
+        assertEquals("service", events.get(0).getString("layer"));
+        assertEquals("CustomerService.deleteCustomer", events.get(1).getString("operation"));
+        assertEquals(8L, events.get(1).getLong("customerId"));
+        assertEquals("IllegalStateException", events.get(1).getString("outcome"));
+    }
+
+    @Test
+    @DisplayName("passes calls straight through when no recording enables the event")
+    void passesThroughWhenDisabled() throws Throwable {
+        MethodInvocation invocation = invocation("deleteCustomer", new Object[]{1L});
+        when(invocation.proceed()).thenReturn(null);
+
+        assertNull(interceptor.invoke(invocation));
+
+        verify(invocation).proceed();
+        verify(invocation, never()).getArguments();
+    }
+
+    @Test
+    @DisplayName("customer id comes from the result first, then from the first argument")
+    void extractsCustomerId() {
+        assertEquals(9L, CustomerOperationInterceptor.customerId(new Object[]{"a@b.c"},
+                CustomerResponseDTO.builder().id(9L).build()));
+        assertEquals(3L, CustomerOperationInterceptor.customerId(new Object[]{3L}, Boolean.TRUE));
+        assertNull(CustomerOperationInterceptor.customerId(new Object[]{"a@b.c"}, 5L));
+    }
+}
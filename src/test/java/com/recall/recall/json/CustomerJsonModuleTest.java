@@ -0,0 +1,66 @@
+package com.recall.recall.json;
+
+import com.recall.recall.dto.CustomerResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CustomerJsonModuleTest {
+
+    private final JsonMapper defaultMapper = JsonMapper.builder().build();
+    private final JsonMapper streamingMapper = JsonMapper.builder().addModule(new CustomerJsonModule()).build();
+
+    private void assertSameJson(Object value) {
+        assertEquals(defaultMapper.readTree(defaultMapper.writeValueAsString(value)),
+                streamingMapper.readTree(streamingMapper.writeValueAsString(value)));
+    }
+
+    @Test
+    @DisplayName("customer is written exactly like the bean serializer")
+    void customerMatchesDefault() {
+        assertSameJson(CustomerResponseDTO.builder().id(1L).name("test").email("test@fake.com")
+                .createdAt(LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123_000_000)).build());
+        assertSameJson(CustomerResponseDTO.builder().id(2L).name("test").email("test@fake.com")
+                .createdAt(LocalDateTime.of(2024, 5, 17, 10, 15)).build());
+        assertSameJson(CustomerResponseDTO.builder().id(3L).name("test").email("test@fake.com")
+                .createdAt(LocalDateTime.of(2024, 5, 17, 10, 15, 0, 1)).build());
+        assertSameJson(new CustomerResponseDTO());
+    }
+
+    @Test
+    @DisplayName("timestamp text is identical including trimmed fractions")
+    void timestampTextMatchesDefault() {
+        CustomerResponseDTO customer = CustomerResponseDTO.builder().id(1L).name("test").email("test@fake.com")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 120_000_000)).build();
+        assertEquals(defaultMapper.writeValueAsString(customer), streamingMapper.writeValueAsString(customer));
+    }
+
+    @Test
+    @DisplayName("page is written in the same shape as PageImpl")
+    void pageMatchesDefault() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 10, 15, 30);
+        List<CustomerResponseDTO> content = List.of(
+                CustomerResponseDTO.builder().id(1L).name("a").email("a@fake.com").createdAt(createdAt).build(),
+                CustomerResponseDTO.builder().id(2L).name("b").email("b@fake.com")
+                        .createdAt(createdAt.plusDays(1)).build());
+        assertSameJson(new PageImpl<>(content, PageRequest.of(1, 2), 10));
+        assertSameJson(new PageImpl<>(content, PageRequest.of(0, 10, Sort.by("createdAt")), 2));
+        assertSameJson(new PageImpl<>(List.of(), PageRequest.of(3, 10), 0));
+    }
+
+    @Test
+    @DisplayName("pages of other types fall back to their own serializers")
+    void pageOfOtherContent() {
+        Page<String> page = new PageImpl<>(List.of("x", "y"), PageRequest.of(0, 2), 2);
+        assertSameJson(page);
+    }
+}
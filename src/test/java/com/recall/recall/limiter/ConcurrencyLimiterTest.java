@@ -0,0 +1,131 @@
+package com.recall.recall.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Rejects once in-flight requests reach the limit")
+    void shouldRejectAboveLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10, 0.2, 1.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.releaseWithoutSample();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Limit shrinks when latency rises above the baseline")
+    void shouldShrinkLimitWhenLatencyRises() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 2, 100, 0.5, 1.0);
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        int steadyLimit = limiter.getLimit();
+
+        saturateAndRelease(limiter, TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTrue(limiter.getLimit() < steadyLimit,
+                "limit should drop from " + steadyLimit + " but was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Limit grows while latency stays flat")
+    void shouldGrowLimitWhenLatencyIsFlat() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100, 0.5, 1.5);
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    @DisplayName("Lower-priority writes are shed while reads are saturated")
+    void shouldShedLowerPriorityWhenHigherPriorityIsSaturated() {
+        ConcurrencyLimiterProperties properties = new ConcurrencyLimiterProperties();
+        properties.getRead().setInitialLimit(1);
+        properties.getRead().setMinLimit(1);
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(properties);
+
+        assertTrue(shedder.tryAcquire(TrafficClass.READ));
+        assertFalse(shedder.tryAcquire(TrafficClass.WRITE));
+        assertEquals(1, shedder.limiter(TrafficClass.WRITE).getRejected());
+
+        shedder.limiter(TrafficClass.READ).releaseWithoutSample();
+        assertTrue(shedder.tryAcquire(TrafficClass.WRITE));
+    }
+
+    @Test
+    @DisplayName("Filter answers 503 with Retry-After when shedding")
+    void shouldRespondServiceUnavailableWhenShedding() throws Exception {
+        ConcurrencyLimiterProperties properties = new ConcurrencyLimiterProperties();
+        properties.getWrite().setInitialLimit(1);
+        properties.getWrite().setMinLimit(1);
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(properties);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(shedder, 3);
+        shedder.tryAcquire(TrafficClass.WRITE);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/customers"), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Service Unavailable"));
+    }
+
+    @Test
+    @DisplayName("Filter releases the permit after the request completes")
+    void shouldReleasePermitAfterRequest() throws Exception {
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(new ConcurrencyLimiterProperties());
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(shedder, 1);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers/1"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, shedder.limiter(TrafficClass.READ).getInFlight());
+        assertEquals(1, shedder.limiter(TrafficClass.READ).getAccepted());
+    }
+
+    @Test
+    @DisplayName("Filter holds the permit of an async request until the response completes")
+    void shouldHoldPermitUntilAsyncCompletes() throws Exception {
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(new ConcurrencyLimiterProperties());
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(shedder, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/async/customers");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync(req, res));
+
+        assertEquals(1, shedder.limiter(TrafficClass.WRITE).getInFlight());
+        request.getAsyncContext().complete();
+        assertEquals(0, shedder.limiter(TrafficClass.WRITE).getInFlight());
+    }
+
+    private void saturateAndRelease(GradientConcurrencyLimiter limiter, long rttNanos) {
+        int permits = 0;
+        while (limiter.tryAcquire()) {
+            permits++;
+        }
+        for (int i = 0; i < permits; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.recall.recall.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Bucket allows a burst up to capacity then refills over time")
+    void shouldAllowBurstThenRefill() {
+        long interval = SECOND / 2;
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertEquals(2, bucket.tryConsume(0, interval, interval * 3).remaining());
+        assertEquals(1, bucket.tryConsume(0, interval, interval * 3).remaining());
+        assertEquals(0, bucket.tryConsume(0, interval, interval * 3).remaining());
+
+        RateLimitDecision denied = bucket.tryConsume(0, interval, interval * 3);
+        assertFalse(denied.allowed());
+        assertEquals(interval, denied.retryAfterNanos());
+
+        assertTrue(bucket.tryConsume(interval, interval, interval * 3).allowed());
+        assertEquals(2, bucket.tryConsume(interval * 4, interval, interval * 3).remaining());
+    }
+
+    @Test
+    @DisplayName("Store expires refilled buckets and stays bounded")
+    void shouldStayBoundedAndExpireRefilledBuckets() {
+        long interval = SECOND;
+        AtomicLong now = new AtomicLong();
+        ClientBucketStore store = new ClientBucketStore(2, interval * 5, now::get, Runnable::run);
+
+        TokenBucket a = store.bucketFor("a", 0);
+        a.tryConsume(0, interval, interval * 5);
+        assertSame(a, store.bucketFor("a", 0));
+        store.bucketFor("b", 0);
+        store.bucketFor("c", 0);
+        assertTrue(store.size() <= 2);
+
+        now.set(10 * interval);
+        assertEquals(0, store.size());
+        assertEquals(4, store.bucketFor("a", now.get()).tryConsume(now.get(), interval, interval * 5).remaining());
+    }
+
+    @Test
+    @DisplayName("Filter sets RateLimit headers and answers 429 when exhausted")
+    void shouldRejectWithTooManyRequests() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(new RateLimitProperties.Rule("POST", "/api/v1/customers", 2, 0.5)));
+        properties.setApiKeys(Set.of("client-1", "client-2"));
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        MockHttpServletResponse first = post(filter, "client-1");
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT));
+        assertEquals("1", first.getHeader(RateLimitFilter.RATE_LIMIT_REMAINING));
+
+        assertEquals(200, post(filter, "client-1").getStatus());
+        MockHttpServletResponse rejected = post(filter, "client-1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader(RateLimitFilter.RATE_LIMIT_REMAINING));
+        assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(200, post(filter, "client-2").getStatus());
+    }
+
+    @Test
+    @DisplayName("Async customer endpoints draw from the same bucket as the synchronous ones")
+    void shouldShareBucketWithAsyncPath() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(new RateLimitProperties.Rule("POST", "/api/v1/customers, /api/v1/async/customers", 2, 0.5)));
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertEquals(200, post(filter, "/api/v1/customers", "client-1").getStatus());
+        assertEquals(200, post(filter, "/api/v1/async/customers", "client-1").getStatus());
+        assertEquals(429, post(filter, "/api/v1/async/customers", "client-1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Unknown API keys are limited by address, not given buckets of their own")
+    void shouldIgnoreUnknownApiKeys() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(new RateLimitProperties.Rule("POST", "/api/v1/customers", 2, 0.5)));
+        properties.setApiKeys(Set.of("issued"));
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertEquals(200, post(filter, "made-up-1").getStatus());
+        assertEquals(200, post(filter, "made-up-2").getStatus());
+        assertEquals(429, post(filter, "made-up-3").getStatus());
+        assertEquals(200, post(filter, "issued").getStatus());
+    }
+
+    @Test
+    @DisplayName("Requests outside the customer API are not limited")
+    void shouldIgnoreOtherPaths() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT));
+    }
+
+    private MockHttpServletResponse post(RateLimitFilter filter, String apiKey) throws Exception {
+        return post(filter, "/api/v1/customers", apiKey);
+    }
+
+    private MockHttpServletResponse post(RateLimitFilter filter, String uri, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.addHeader("X-API-Key", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
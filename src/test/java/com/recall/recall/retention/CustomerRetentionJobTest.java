@@ -0,0 +1,121 @@
+package com.recall.recall.retention;
+
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.entity.Customer;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.store.EmailHashIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CustomerRetentionJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 17, 3, 0);
+
+    private CustomerRepository customerRepository;
+    private CacheInvalidationBus invalidationBus;
+    private EmailHashIndex emailHashIndex;
+    private TransactionTemplate transactionTemplate;
+    private RetentionProperties properties;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        emailHashIndex = mock(EmailHashIndex.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        properties = new RetentionProperties();
+        properties.setMaxAgeDays(30);
+        properties.setBatchSize(2);
+        properties.setMaxRowsPerSecond(1_000_000);
+    }
+
+    private CustomerRetentionJob job(Executor executor) {
+        return new CustomerRetentionJob(customerRepository, invalidationBus, emailHashIndex, transactionTemplate, properties,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), executor);
+    }
+
+    @Test
+    @DisplayName("deletes expired customers batch by batch, each bounded by the cutoff")
+    void purgesInBatches() {
+        LocalDateTime cutoff = NOW.minusDays(30);
+        when(customerRepository.findIdsCreatedBefore(cutoff, 2)).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(customerRepository.deleteCreatedBefore(List.of(1L, 2L), cutoff)).thenReturn(2);
+        when(customerRepository.deleteCreatedBefore(List.of(3L), cutoff)).thenReturn(1);
+
+        assertEquals(3, job(Runnable::run).purge());
+
+        verify(customerRepository, times(2)).findIdsCreatedBefore(cutoff, 2);
+        verify(customerRepository, times(2)).deleteCreatedBefore(any(), eq(cutoff));
+    }
+
+    @Test
+    @DisplayName("after each batch the ids are published for invalidation and live customers' emails leave the index")
+    void invalidatesPurgedCustomers() {
+        LocalDateTime cutoff = NOW.minusDays(30);
+        when(customerRepository.findIdsCreatedBefore(cutoff, 2)).thenReturn(List.of(1L, 2L), List.of());
+        // customer 2 is a tombstone: its email already left the index when it was soft-deleted
+        when(customerRepository.lockAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(Customer.builder().id(1L).email("old@fake.com").build()));
+        when(customerRepository.deleteCreatedBefore(List.of(1L, 2L), cutoff)).thenReturn(2);
+
+        assertEquals(2, job(Runnable::run).purge());
+
+        verify(invalidationBus).invalidate(1L);
+        verify(invalidationBus).invalidate(2L);
+        verify(emailHashIndex).remove("old@fake.com");
+        verifyNoMoreInteractions(invalidationBus, emailHashIndex);
+    }
+
+    @Test
+    @DisplayName("batches are paced to the configured row rate")
+    void pacesBatches() {
+        properties.setMaxRowsPerSecond(20);
+        when(customerRepository.findIdsCreatedBefore(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of());
+        when(customerRepository.deleteCreatedBefore(any(), any())).thenReturn(2);
+
+        long started = System.nanoTime();
+        assertEquals(4, job(Runnable::run).purge());
+
+        // two full batches of 2 rows at 20 rows/s must take at least 2 x 100ms
+        assertTrue(System.nanoTime() - started >= 200_000_000L);
+    }
+
+    @Test
+    @DisplayName("the cron tick hands the purge to the job's executor and skips while one is running")
+    void runsOffTheSchedulerThread() {
+        when(customerRepository.findIdsCreatedBefore(any(), anyInt())).thenReturn(List.of());
+        List<Runnable> tasks = new ArrayList<>();
+        CustomerRetentionJob job = job(tasks::add);
+
+        job.run();
+        job.run();
+
+        assertEquals(1, tasks.size());
+        verifyNoInteractions(customerRepository);
+
+        tasks.getFirst().run();
+        job.run();
+
+        assertEquals(2, tasks.size());
+        verify(customerRepository).findIdsCreatedBefore(any(), anyInt());
+    }
+}
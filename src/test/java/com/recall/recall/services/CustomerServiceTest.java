@@ -1,17 +1,29 @@
 package com.recall.recall.services;
 
 import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.archive.CustomerArchive;
+import com.recall.recall.cache.CacheInvalidationBus;
+import com.recall.recall.dto.CustomerCursor;
+import com.recall.recall.dto.CustomerMapper;
 import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
 import com.recall.recall.entity.Customer;
+import com.recall.recall.exception.DuplicateEmailException;
+import com.recall.recall.exception.VersionConflictException;
 import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.softdelete.SoftDeleteProperties;
+import com.recall.recall.stats.CustomerStats;
+import com.recall.recall.store.EmailHashIndex;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -19,9 +31,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import jakarta.validation.Validator;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 @SpringBootTest
 public class CustomerServiceTest {
@@ -32,6 +48,8 @@ public class CustomerServiceTest {
 
     @Autowired
     private CustomerService customerService;
+    @Autowired
+    private CustomerMapper customerMapper;
 
     @Test
     @DisplayName("get customer by id - success")
@@ -230,7 +248,7 @@ public class CustomerServiceTest {
 
         when(customerRepository.findById(1L))
             .thenReturn(Optional.of(existingCustomer));
-        when(customerRepository.save(any(Customer.class)))
+        when(customerRepository.saveAndFlush(any(Customer.class)))
             .thenReturn(savedCustomer);
 
         CustomerResponseDTO result = customerService.updateCustomer( updatedCustomer);
@@ -240,7 +258,7 @@ public class CustomerServiceTest {
         assertEquals("test2", result.getName());
         assertEquals("test2@fake.com", result.getEmail());
         verify(customerRepository, times(1)).findById(1L);
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -255,7 +273,7 @@ public class CustomerServiceTest {
 
         when(customerRepository.findById(1L))
             .thenReturn(Optional.of(existingCustomer));
-        when(customerRepository.save(any(Customer.class)))
+        when(customerRepository.saveAndFlush(any(Customer.class)))
             .thenReturn(savedCustomer);
 
         CustomerResponseDTO result = customerService.updateCustomer(updatedCustomer);
@@ -264,7 +282,7 @@ public class CustomerServiceTest {
         assertEquals("test2", result.getName());
         assertEquals("test2@fake.com", result.getEmail());
         verify(customerRepository, times(1)).findById(1L);
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -283,7 +301,7 @@ public class CustomerServiceTest {
 
         when(customerRepository.findById(1L))
             .thenReturn(Optional.of(existingCustomer));
-        when(customerRepository.save(any(Customer.class)))
+        when(customerRepository.saveAndFlush(any(Customer.class)))
             .thenReturn(savedCustomer);
 
         CustomerResponseDTO result = customerService.updateCustomer(updatedCustomer);
@@ -292,7 +310,21 @@ public class CustomerServiceTest {
         assertEquals("test", result.getName());
         assertEquals("newemail@fake.com", result.getEmail());
         verify(customerRepository, times(1)).findById(1L);
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("update customer - stale expected version is rejected")
+    public void shouldRejectUpdateWithStaleVersion() {
+        Customer existingCustomer = Customer.builder().id(1L).email("test@fake.com").name("test")
+                .createdAt(LocalDateTime.now()).version(2L).build();
+        CustomerRequestDTO updatedCustomer = CustomerRequestDTO.builder().id(1L).name("test1").build();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+
+        assertThrows(VersionConflictException.class, () -> customerService.updateCustomer(updatedCustomer, Set.of(1L)));
+
+        assertEquals("test", existingCustomer.getName());
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -307,6 +339,154 @@ public class CustomerServiceTest {
             () -> customerService.updateCustomer(updatedCustomer));
 
         verify(customerRepository, times(1)).findById(99L);
-        verify(customerRepository, never()).save(any(Customer.class));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("customers created between - keyset slice with next cursor")
+    public void shouldReturnKeysetSliceOfCustomersCreatedBetween() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        Customer first = Customer.builder().id(1L).name("a").email("a@fake.com").createdAt(from.plusDays(1)).build();
+        Customer second = Customer.builder().id(2L).name("b").email("b@fake.com").createdAt(from.plusDays(2)).build();
+        when(customerRepository.findCreatedBefore(to, from, 0L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        CustomerSliceDTO slice = customerService.getCustomersCreatedBetween(from, to, null, 1);
+
+        assertEquals(1, slice.getSize());
+        assertEquals(1L, slice.getContent().get(0).getId());
+        CustomerCursor next = CustomerCursor.decode(slice.getNextCursor());
+        assertEquals(first.getCreatedAt(), next.createdAt());
+        assertEquals(1L, next.id());
+    }
+
+    @Test
+    @DisplayName("customers created between - last slice has no cursor")
+    public void shouldResumeFromCursorAndEndWithoutNextCursor() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        CustomerCursor cursor = new CustomerCursor(from.plusDays(1), 1L);
+        Customer second = Customer.builder().id(2L).name("b").email("b@fake.com").createdAt(from.plusDays(2)).build();
+        when(customerRepository.findCreatedBefore(to, cursor.createdAt(), 1L, Limit.of(11))).thenReturn(List.of(second));
+
+        CustomerSliceDTO slice = customerService.getCustomersCreatedBetween(from, to, cursor.encode(), 10);
+
+        assertEquals(1, slice.getSize());
+        assertNull(slice.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("customers created between - rejects an empty range")
+    public void shouldRejectEmptyRange() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> customerService.getCustomersCreatedBetween(now, now, null, 10));
+    }
+
+    @Test
+    @DisplayName("find customer ids by emails - chunked IN lookups")
+    public void shouldLookUpEmailsInChunks() {
+        List<String> emails = IntStream.range(0, 1200).mapToObj(i -> "user" + i + "@fake.com").toList();
+        when(customerRepository.findEmailOwners(anyCollection())).thenReturn(List.of());
+
+        assertTrue(customerService.findCustomerIdsByEmails(emails).isEmpty());
+
+        verify(customerRepository, times(3)).findEmailOwners(anyCollection());
+    }
+
+    @Test
+    @DisplayName("delete customer - soft delete marks a tombstone")
+    public void shouldSoftDeleteCustomer() {
+        SoftDeleteProperties softDeleteProperties = new SoftDeleteProperties();
+        softDeleteProperties.setEnabled(true);
+        CustomerService softDeleteService = new CustomerServiceImpl(customerRepository, customerMapper,
+                EmailHashIndex.disabled(), softDeleteProperties, CustomerArchive.disabled(), new CustomerStats(),
+                CacheInvalidationBus.disabled());
+        Customer customer = Customer.builder().id(1L).email("test@fake.com").name("test").createdAt(LocalDateTime.now()).build();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        softDeleteService.deleteCustomer(1L);
+
+        assertNotNull(customer.getDeletedAt());
+        verify(customerRepository, times(1)).save(customer);
+        verify(customerRepository, never()).delete(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("delete customer - decrements the customer stats")
+    public void shouldDecrementStatsOnDelete() {
+        CustomerStats customerStats = new CustomerStats();
+        CustomerService statsService = new CustomerServiceImpl(customerRepository, customerMapper,
+                EmailHashIndex.disabled(), new SoftDeleteProperties(), CustomerArchive.disabled(), customerStats,
+                CacheInvalidationBus.disabled());
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 9, 0);
+        customerStats.reset(1, Map.of(createdAt.toLocalDate(), 1L));
+        Customer customer = Customer.builder().id(1L).email("test@fake.com").name("test").createdAt(createdAt).build();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        statsService.deleteCustomer(1L);
+
+        assertEquals(0, customerStats.getTotal());
+        assertEquals(0, customerStats.getSignups(createdAt.toLocalDate()));
+    }
+
+    @Test
+    @DisplayName("get customer by id - tombstone is not returned")
+    public void shouldNotReturnSoftDeletedCustomer() {
+        Customer customer = Customer.builder().id(1L).email("test@fake.com").name("test")
+                .createdAt(LocalDateTime.now()).deletedAt(LocalDateTime.now()).build();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        assertTrue(customerService.getCustomerById(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("get customer by id - falls back to the archive and restores from it")
+    public void shouldFallBackToArchiveAndRestore(@TempDir Path directory) {
+        try (CustomerArchive archive = new CustomerArchive(directory.resolve("customers.archive"), 16)) {
+            LocalDateTime createdAt = LocalDateTime.of(2020, 1, 1, 0, 0);
+            archive.append(List.of(Customer.builder().id(5L).name("cold").email("cold@fake.com").createdAt(createdAt).build()));
+            CustomerService tieredService = new CustomerServiceImpl(customerRepository, customerMapper,
+                    EmailHashIndex.disabled(), new SoftDeleteProperties(), archive, new CustomerStats(),
+                    CacheInvalidationBus.disabled());
+            when(customerRepository.findById(5L)).thenReturn(Optional.empty());
+
+            assertEquals("cold", tieredService.getCustomerById(5L).orElseThrow().getName());
+
+            CustomerResponseDTO restored = tieredService.restoreCustomer(5L);
+
+            assertEquals(5L, restored.getId());
+            assertEquals(0L, restored.getVersion());
+            verify(customerRepository).insertWithId(5L, "cold", "cold@fake.com", createdAt);
+            assertTrue(archive.findById(5L).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("restore customer - email taken since archiving")
+    public void shouldRejectRestoreWhenEmailIsTaken(@TempDir Path directory) {
+        try (CustomerArchive archive = new CustomerArchive(directory.resolve("customers.archive"), 16)) {
+            archive.append(List.of(Customer.builder().id(6L).name("cold").email("taken@fake.com")
+                    .createdAt(LocalDateTime.of(2020, 1, 1, 0, 0)).build()));
+            CustomerService tieredService = new CustomerServiceImpl(customerRepository, customerMapper,
+                    EmailHashIndex.disabled(), new SoftDeleteProperties(), archive, new CustomerStats(),
+                    CacheInvalidationBus.disabled());
+            when(customerRepository.findById(6L)).thenReturn(Optional.empty());
+            when(customerRepository.existsByEmail("taken@fake.com")).thenReturn(true);
+
+            assertThrows(DuplicateEmailException.class, () -> tieredService.restoreCustomer(6L));
+
+            verify(customerRepository, never()).insertWithId(any(), any(), any(), any());
+            assertTrue(archive.findById(6L).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("restore customer - not in the archive")
+    public void shouldReturnNotFoundWhenRestoringUnknownCustomer() {
+        when(customerRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> customerService.restoreCustomer(99L));
+        verify(customerRepository, never()).insertWithId(any(), any(), any(), any());
     }
 }
@@ -0,0 +1,111 @@
+package com.recall.recall.snapshot;
+
+import com.recall.recall.exception.SnapshotUnavailableException;
+import com.recall.recall.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerSnapshotTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 30, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private static SnapshotRow row(long id, String email, LocalDateTime createdAt) {
+        return new SnapshotRow(id, "Customer " + id, email, createdAt);
+    }
+
+    @Test
+    @DisplayName("Domain counts merge dictionaries across row groups")
+    void shouldCountEmailDomains() throws Exception {
+        Path file = directory.resolve("customers.rcs");
+        try (ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(file, 2)) {
+            writer.add(row(1, "a@gmail.com", BASE));
+            writer.add(row(2, "b@Example.com", BASE));
+            writer.add(row(3, "c@example.com", BASE));
+            writer.add(row(4, "no-domain", BASE));
+            writer.add(row(5, "d@gmail.com", BASE));
+        }
+
+        ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file);
+
+        assertEquals(5, reader.getRowCount());
+        assertEquals(3, reader.getRowGroupCount());
+        assertEquals(Map.of("gmail.com", 2L, "example.com", 2L, "", 1L), reader.countByEmailDomain());
+    }
+
+    @Test
+    @DisplayName("Signups are bucketed by day or month within the requested range")
+    void shouldCountSignupsInRange() throws Exception {
+        Path file = directory.resolve("customers.rcs");
+        try (ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(file, 3)) {
+            for (int i = 0; i < 10; i++) {
+                writer.add(row(i + 1, "u" + i + "@example.com", BASE.plusDays(i)));
+            }
+        }
+        ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file);
+
+        SortedMap<LocalDate, Long> perDay = reader.countCreatedBetween(BASE.plusDays(1), BASE.plusDays(4), false);
+        SortedMap<LocalDate, Long> perMonth = reader.countCreatedBetween(BASE, BASE.plusDays(10), true);
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 2)),
+                List.copyOf(perDay.keySet()));
+        assertEquals(Map.of(LocalDate.of(2024, 1, 1), 2L, LocalDate.of(2024, 2, 1), 8L), perMonth);
+    }
+
+    @Test
+    @DisplayName("Export pages through the repository by id and replaces the snapshot")
+    void shouldExportThroughKeysetPages() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setPath(directory.resolve("snapshot/customers.rcs").toString());
+        properties.setFetchSize(2);
+        when(customerRepository.findSnapshotRows(0L, Limit.of(2)))
+                .thenReturn(List.of(row(1, "a@gmail.com", BASE), row(2, "b@gmail.com", BASE)));
+        when(customerRepository.findSnapshotRows(2L, Limit.of(2)))
+                .thenReturn(List.of(row(3, "c@example.com", BASE)));
+        CustomerSnapshotService service = new CustomerSnapshotService(customerRepository, properties, Runnable::run);
+
+        assertThrows(SnapshotUnavailableException.class, service::current);
+        assertTrue(service.exportInBackground());
+
+        assertEquals(3, service.current().getRowCount());
+        assertEquals(Map.of("gmail.com", 2L, "example.com", 1L), service.current().countByEmailDomain());
+        // a restarted instance picks up the existing snapshot without touching the database
+        assertEquals(3, new CustomerSnapshotService(mock(CustomerRepository.class), properties, Runnable::run).current().getRowCount());
+    }
+
+    @Test
+    @DisplayName("Requested exports run on the executor and coalesce while one is running")
+    void shouldCoalesceBackgroundExports() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setPath(directory.resolve("snapshot/customers.rcs").toString());
+        when(customerRepository.findSnapshotRows(anyLong(), any())).thenReturn(List.of(row(1, "a@gmail.com", BASE)));
+        List<Runnable> tasks = new ArrayList<>();
+        CustomerSnapshotService service = new CustomerSnapshotService(customerRepository, properties, tasks::add);
+
+        assertTrue(service.exportInBackground());
+        assertFalse(service.exportInBackground());
+        assertTrue(service.isExporting());
+        verifyNoInteractions(customerRepository);
+
+        tasks.getFirst().run();
+
+        assertFalse(service.isExporting());
+        assertEquals(1, service.current().getRowCount());
+    }
+}
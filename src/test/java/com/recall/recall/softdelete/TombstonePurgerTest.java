@@ -0,0 +1,131 @@
+package com.recall.recall.softdelete;
+
+import com.recall.recall.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class TombstonePurgerTest {
+
+    private CustomerRepository customerRepository;
+    private SoftDeleteProperties.Purge purge;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        purge = new SoftDeleteProperties.Purge();
+        purge.setBatchSize(2);
+        purge.setMaxRowsPerSecond(1_000_000);
+    }
+
+    private TombstonePurger purgerAt(int hour) {
+        return purgerAt(hour, Runnable::run);
+    }
+
+    private TombstonePurger purgerAt(int hour, Executor executor) {
+        Instant instant = LocalDateTime.of(2024, 5, 17, hour, 30).toInstant(ZoneOffset.UTC);
+        return new TombstonePurger(customerRepository, purge, Clock.fixed(instant, ZoneOffset.UTC), executor);
+    }
+
+    @Test
+    @DisplayName("purges tombstones batch by batch until the backlog is drained")
+    void purgesInBatches() {
+        when(customerRepository.countTombstones()).thenReturn(3L);
+        when(customerRepository.findTombstoneIds(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(customerRepository.purgeTombstones(List.of(1L, 2L))).thenReturn(2);
+        when(customerRepository.purgeTombstones(List.of(3L))).thenReturn(1);
+        TombstonePurger purger = purgerAt(2);
+
+        purger.run();
+
+        assertEquals(3, purger.getPurged());
+        assertEquals(2, purger.getBatches());
+        assertEquals(0, purger.getBacklog());
+        verify(customerRepository, times(2)).findTombstoneIds(any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("only tombstones older than the grace period are selected")
+    void respectsGracePeriod() {
+        when(customerRepository.countTombstones()).thenReturn(1L);
+        when(customerRepository.findTombstoneIds(any(), anyInt())).thenReturn(List.of());
+
+        purgerAt(2).run();
+
+        verify(customerRepository).findTombstoneIds(LocalDateTime.of(2024, 5, 16, 2, 30), 2);
+    }
+
+    @Test
+    @DisplayName("outside the off-peak window only the backlog is refreshed")
+    void skipsOutsideWindow() {
+        when(customerRepository.countTombstones()).thenReturn(10L);
+        TombstonePurger purger = purgerAt(12);
+
+        purger.run();
+
+        assertEquals(10, purger.getBacklog());
+        verify(customerRepository, never()).findTombstoneIds(any(), anyInt());
+        verify(customerRepository, never()).purgeTombstones(any());
+    }
+
+    @Test
+    @DisplayName("the purge runs on its own executor and ticks skip while it is still draining")
+    void purgesOffTheSchedulerThread() {
+        when(customerRepository.countTombstones()).thenReturn(3L);
+        when(customerRepository.findTombstoneIds(any(), eq(2))).thenReturn(List.of());
+        List<Runnable> tasks = new ArrayList<>();
+        TombstonePurger purger = purgerAt(2, tasks::add);
+
+        purger.run();
+        purger.run();
+
+        assertEquals(1, tasks.size());
+        verify(customerRepository, times(1)).countTombstones();
+        verify(customerRepository, never()).findTombstoneIds(any(), anyInt());
+
+        tasks.getFirst().run();
+        purger.run();
+
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    @DisplayName("off-peak window may wrap past midnight")
+    void windowWrapsMidnight() {
+        purge.setOffPeakStartHour(22);
+        purge.setOffPeakEndHour(4);
+
+        assertTrue(purgerAt(23).inOffPeakWindow());
+        assertTrue(purgerAt(3).inOffPeakWindow());
+        assertFalse(purgerAt(4).inOffPeakWindow());
+        assertFalse(purgerAt(21).inOffPeakWindow());
+    }
+
+    @Test
+    @DisplayName("batches are paced to the configured row rate")
+    void pacesBatches() {
+        purge.setMaxRowsPerSecond(20);
+        when(customerRepository.findTombstoneIds(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of());
+        when(customerRepository.purgeTombstones(any())).thenReturn(2);
+        TombstonePurger purger = purgerAt(2);
+
+        long started = System.nanoTime();
+        assertEquals(4, purger.purgeBacklog());
+
+        // two full batches of 2 rows at 20 rows/s must take at least 2 x 100ms
+        assertTrue(System.nanoTime() - started >= 200_000_000L);
+    }
+}
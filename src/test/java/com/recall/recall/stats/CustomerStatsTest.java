@@ -0,0 +1,183 @@
+package com.recall.recall.stats;
+
+import com.recall.recall.entity.CustomerStat;
+import com.recall.recall.repository.CustomerRepository;
+import com.recall.recall.repository.CustomerStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CustomerStatsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 17);
+    private static final String CLEAN_SHUTDOWN_KEY = CustomerStatsCheckpointer.CLEAN_SHUTDOWN_PREFIX + "node-a";
+
+    private CustomerStats customerStats;
+    private CustomerStatRepository statRepository;
+    private CustomerRepository customerRepository;
+    private CustomerStatsCheckpointer checkpointer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        customerStats = new CustomerStats();
+        statRepository = mock(CustomerStatRepository.class);
+        customerRepository = mock(CustomerRepository.class);
+        StatsProperties properties = new StatsProperties();
+        properties.setRetainedDays(30);
+        properties.setNodeId("node-a");
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        checkpointer = new CustomerStatsCheckpointer(customerStats, statRepository, customerRepository,
+                transactionTemplate, properties, clock);
+    }
+
+    @Test
+    @DisplayName("creates and deletes adjust the total and the creation day")
+    void countsCreatesAndDeletes() {
+        LocalDateTime morning = TODAY.atTime(9, 0);
+        customerStats.recordCreated(morning);
+        customerStats.recordCreated(morning.plusHours(1));
+        customerStats.recordCreated(morning.minusDays(1));
+        customerStats.recordDeleted(morning);
+
+        assertEquals(2, customerStats.getTotal());
+        assertEquals(1, customerStats.getSignups(TODAY));
+        assertEquals(1, customerStats.getSignups(TODAY.minusDays(1)));
+        assertEquals(0, customerStats.getSignups(TODAY.minusDays(2)));
+    }
+
+    @Test
+    @DisplayName("checkpoint adds only the increments since the previous one and reloads the shared counters")
+    void checkpointsPendingIncrements() {
+        customerStats.recordCreated(TODAY.atTime(9, 0));
+        customerStats.recordCreated(TODAY.atTime(10, 0));
+        customerStats.recordDeleted(TODAY.minusDays(1).atTime(9, 0));
+        // another node has checkpointed its own customers into the same rows
+        when(statRepository.findAll()).thenReturn(List.of(
+                new CustomerStat(CustomerStatsCheckpointer.TOTAL_KEY, 11),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 5)));
+
+        assertEquals(3, checkpointer.checkpoint());
+        verify(statRepository).addToValue(CustomerStatsCheckpointer.TOTAL_KEY, 1);
+        verify(statRepository).addToValue(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 2);
+        verify(statRepository).addToValue(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY.minusDays(1), -1);
+        assertEquals(11, customerStats.getTotal());
+        assertEquals(5, customerStats.getSignups(TODAY));
+
+        assertEquals(0, checkpointer.checkpoint());
+        verify(statRepository, times(3)).addToValue(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("increments from a failed checkpoint are kept for the next one")
+    void keepsIncrementsWhenCheckpointFails() {
+        customerStats.recordCreated(TODAY.atTime(9, 0));
+        doThrow(new IllegalStateException("database down")).doReturn(1)
+                .when(statRepository).addToValue(CustomerStatsCheckpointer.TOTAL_KEY, 1);
+
+        assertThrows(IllegalStateException.class, () -> checkpointer.checkpoint());
+        assertEquals(2, checkpointer.checkpoint());
+
+        verify(statRepository, times(2)).addToValue(CustomerStatsCheckpointer.TOTAL_KEY, 1);
+    }
+
+    @Test
+    @DisplayName("a clean checkpoint is loaded without touching the customer table")
+    void loadsCleanCheckpoint() {
+        when(statRepository.findById(CLEAN_SHUTDOWN_KEY)).thenReturn(Optional.of(new CustomerStat(CLEAN_SHUTDOWN_KEY, 1)));
+        when(statRepository.findAll()).thenReturn(List.of(
+                new CustomerStat(CLEAN_SHUTDOWN_KEY, 1),
+                new CustomerStat(CustomerStatsCheckpointer.CLEAN_SHUTDOWN_PREFIX + "node-b", 0),
+                new CustomerStat(CustomerStatsCheckpointer.TOTAL_KEY, 42),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 3),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY.minusDays(90), 7)));
+
+        checkpointer.load();
+
+        assertEquals(42, customerStats.getTotal());
+        assertEquals(3, customerStats.getSignups(TODAY));
+        assertEquals(0, customerStats.getSignups(TODAY.minusDays(90)));
+        verify(statRepository).save(new CustomerStat(CLEAN_SHUTDOWN_KEY, 0));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("without a clean shutdown of this node the counters are rebuilt from the customer table")
+    void rebuildsAfterUncleanShutdown() {
+        when(statRepository.findById(CLEAN_SHUTDOWN_KEY)).thenReturn(Optional.empty());
+        when(customerRepository.count()).thenReturn(5L);
+        when(customerRepository.countCreatedPerDaySince(TODAY.minusDays(29).atStartOfDay()))
+                .thenReturn(List.of(new DailyCount(TODAY, 2L), new DailyCount(TODAY.minusDays(3), 3L)));
+        when(statRepository.findAll()).thenReturn(List.of(), List.of(
+                new CustomerStat(CustomerStatsCheckpointer.TOTAL_KEY, 5),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 2),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY.minusDays(3), 3)));
+
+        checkpointer.load();
+
+        assertEquals(5, customerStats.getTotal());
+        assertEquals(2, customerStats.getSignups(TODAY));
+        assertEquals(3, customerStats.getSignups(TODAY.minusDays(3)));
+        verify(statRepository).saveAll(List.of(
+                new CustomerStat(CustomerStatsCheckpointer.TOTAL_KEY, 5),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 2),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY.minusDays(3), 3)));
+        verify(statRepository).save(new CustomerStat(CLEAN_SHUTDOWN_KEY, 0));
+    }
+
+    @Test
+    @DisplayName("increments recorded while a rebuild counts are added on top of the recomputed values")
+    void keepsIncrementsRecordedDuringRebuild() {
+        customerStats.recordCreated(TODAY.atTime(8, 0));
+        when(customerRepository.count()).thenAnswer(invocation -> {
+            // committed after the count started, so not part of it
+            customerStats.recordCreated(TODAY.atTime(9, 0));
+            return 7L;
+        });
+        when(customerRepository.countCreatedPerDaySince(any())).thenReturn(List.of(new DailyCount(TODAY, 4L)));
+        when(statRepository.findAll()).thenReturn(List.of(), List.of(
+                new CustomerStat(CustomerStatsCheckpointer.TOTAL_KEY, 8),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 5)));
+
+        checkpointer.rebuild();
+
+        verify(statRepository).saveAll(List.of(
+                new CustomerStat(CustomerStatsCheckpointer.TOTAL_KEY, 7),
+                new CustomerStat(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 4)));
+        verify(statRepository).addToValue(CustomerStatsCheckpointer.TOTAL_KEY, 1);
+        verify(statRepository).addToValue(CustomerStatsCheckpointer.SIGNUPS_PREFIX + TODAY, 1);
+        assertEquals(8, customerStats.getTotal());
+        assertEquals(5, customerStats.getSignups(TODAY));
+    }
+
+    @Test
+    @DisplayName("a clean shutdown checkpoints and marks only this node as clean")
+    void marksCleanShutdown() {
+        customerStats.recordCreated(null);
+
+        checkpointer.shutdown();
+
+        verify(statRepository).addToValue(CustomerStatsCheckpointer.TOTAL_KEY, 1);
+        verify(statRepository).save(new CustomerStat(CLEAN_SHUTDOWN_KEY, 1));
+    }
+}
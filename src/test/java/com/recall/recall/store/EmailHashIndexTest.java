@@ -0,0 +1,70 @@
+package com.recall.recall.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailHashIndexTest {
+
+    @Test
+    @DisplayName("Reports stored emails and rejects absent ones after loading")
+    void shouldAnswerMembership() {
+        EmailHashIndex index = new EmailHashIndex(16);
+        index.add("test@fake.com");
+
+        assertTrue(index.mightContain("unknown@fake.com"), "lookups go to the database until ready");
+
+        index.markReady();
+        assertTrue(index.mightContain("test@fake.com"));
+        assertTrue(index.mightContain("  TEST@Fake.com "), "emails are normalized before hashing");
+        assertFalse(index.mightContain("unknown@fake.com"));
+    }
+
+    @Test
+    @DisplayName("Removing one of two equal emails keeps the other")
+    void shouldRemoveSingleOccurrence() {
+        EmailHashIndex index = new EmailHashIndex(16);
+        index.markReady();
+        index.add("test@fake.com");
+        index.add("test@fake.com");
+
+        index.remove("test@fake.com");
+        assertTrue(index.mightContain("test@fake.com"));
+
+        index.remove("test@fake.com");
+        assertFalse(index.mightContain("test@fake.com"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Grows past the expected size and stays under 16 bytes per entry")
+    void shouldGrowCompactly() {
+        EmailHashIndex index = new EmailHashIndex(100);
+        index.markReady();
+        for (int i = 0; i < 200_000; i++) {
+            index.add("user" + i + "@fake.com");
+        }
+        for (int i = 0; i < 200_000; i += 2) {
+            index.remove("user" + i + "@fake.com");
+            index.add("other" + i + "@fake.com");
+        }
+
+        assertEquals(200_000, index.size());
+        assertTrue(index.mightContain("user199999@fake.com"));
+        assertFalse(index.mightContain("user0@fake.com"));
+        assertTrue(index.mightContain("other0@fake.com"));
+        assertTrue(index.bytesPerEntry() < 16, "bytes per entry was " + index.bytesPerEntry());
+    }
+
+    @Test
+    @DisplayName("Disabled index defers every lookup to the database")
+    void shouldDeferWhenDisabled() {
+        EmailHashIndex index = EmailHashIndex.disabled();
+        index.add("test@fake.com");
+        index.markReady();
+
+        assertTrue(index.mightContain("anything@fake.com"));
+        assertEquals(0, index.offHeapBytes());
+    }
+}
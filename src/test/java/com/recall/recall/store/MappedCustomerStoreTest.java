@@ -0,0 +1,189 @@
+package com.recall.recall.store;
+
+import com.recall.recall.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCustomerStoreTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Insert, update and delete are visible through lookups")
+    void shouldServeLatestVersionOfEachCustomer() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            Customer first = store.insert("test", "test@fake.com");
+            Customer second = store.insert("test1", "test1@fake.com");
+            assertEquals(1L, first.getId());
+            assertEquals(2L, second.getId());
+
+            first.setName("renamed");
+            store.update(first);
+            assertTrue(store.delete(2L));
+            assertFalse(store.delete(2L));
+
+            assertEquals("renamed", store.findById(1L).orElseThrow().getName());
+            assertTrue(store.findById(2L).isEmpty());
+            assertEquals(1, store.count());
+            assertTrue(store.existsByEmail("test@fake.com", null));
+            assertFalse(store.existsByEmail("test@fake.com", 1L));
+            assertFalse(store.existsByEmail("test1@fake.com", null));
+        }
+    }
+
+    @Test
+    @DisplayName("Email lookups follow updates, deletes and customers sharing an email")
+    void shouldIndexEmails() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            Customer first = store.insert("first", "first@fake.com");
+            store.insert("second", "shared@fake.com");
+            store.insert("third", "shared@fake.com");
+
+            first.setEmail("moved@fake.com");
+            store.update(first);
+            store.delete(2L);
+
+            assertFalse(store.existsByEmail("first@fake.com", null));
+            assertTrue(store.existsByEmail("moved@fake.com", null));
+            assertFalse(store.existsByEmail("moved@fake.com", 1L));
+            assertEquals(Map.of("moved@fake.com", List.of(1L), "shared@fake.com", List.of(3L)),
+                    store.findIdsByEmails(Set.of("moved@fake.com", "shared@fake.com", "missing@fake.com")));
+        }
+    }
+
+    @Test
+    @DisplayName("Null fields read back as null, not as empty strings")
+    void shouldKeepNullFields() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            store.insert(null, null);
+            store.insert("", "");
+        }
+
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            assertNull(store.findById(1L).orElseThrow().getName());
+            assertNull(store.findById(1L).orElseThrow().getEmail());
+            assertEquals("", store.findById(2L).orElseThrow().getEmail());
+            assertTrue(store.existsByEmail("", null));
+            assertFalse(store.existsByEmail(null, null));
+        }
+    }
+
+    @Test
+    @DisplayName("Reopening the log rebuilds the index across segments")
+    void shouldRecoverFromLog() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            for (int i = 0; i < 100; i++) {
+                store.insert("name" + i, "email" + i + "@fake.com");
+            }
+            store.delete(100L);
+        }
+
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            assertEquals(99, store.count());
+            assertEquals("email49@fake.com", store.findById(50L).orElseThrow().getEmail());
+            assertTrue(store.findById(100L).isEmpty());
+            assertEquals(101L, store.insert("next", "next@fake.com").getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Scan pages over live customers in log order")
+    void shouldScanLiveCustomers() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            for (int i = 0; i < 10; i++) {
+                store.insert("name" + i, "email" + i + "@fake.com");
+            }
+            store.delete(3L);
+
+            List<Customer> page = store.scan(2, 3);
+
+            assertEquals(List.of(4L, 5L, 6L), page.stream().map(Customer::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Compaction drops superseded records and keeps ids monotonic")
+    void shouldCompactDeadRecords() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            for (int i = 0; i < 50; i++) {
+                Customer customer = store.insert("name" + i, "email" + i + "@fake.com");
+                customer.setName("updated" + i);
+                store.update(customer);
+            }
+            store.delete(50L);
+            double before = store.deadRatio();
+
+            store.compact();
+
+            assertTrue(store.deadRatio() < before);
+            assertEquals(49, store.count());
+            assertEquals("updated9", store.findById(10L).orElseThrow().getName());
+            assertEquals(51L, store.insert("next", "next@fake.com").getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Writes made while a background compaction runs survive it")
+    void shouldKeepWritesDuringBackgroundCompaction() {
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            for (int i = 0; i < 50; i++) {
+                store.insert("name" + i, "email" + i + "@fake.com");
+            }
+            for (int round = 0; round < 200; round++) {
+                Customer customer = store.findById(round % 50 + 1L).orElseThrow();
+                customer.setName("round" + round);
+                store.update(customer);
+                store.compactInBackground();
+            }
+        }
+
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            assertEquals(50, store.count());
+            assertEquals("round199", store.findById(50L).orElseThrow().getName());
+            assertEquals("round150", store.findById(1L).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Compaction ignores a partial log left by an interrupted compaction")
+    void shouldDiscardStaleCompactionLog() {
+        try (MappedCustomerStore stale = new MappedCustomerStore(directory.resolve("compact"), SEGMENT_SIZE, 16)) {
+            stale.insert("deleted", "deleted@fake.com");
+            stale.insert("deleted", "deleted2@fake.com");
+        }
+        try (MappedCustomerStore store = new MappedCustomerStore(directory, SEGMENT_SIZE, 16)) {
+            store.insert("kept", "kept@fake.com");
+            store.insert("gone", "gone@fake.com");
+            store.delete(2L);
+
+            store.compact();
+
+            assertEquals(1, store.count());
+            assertTrue(store.findById(2L).isEmpty());
+            assertFalse(store.existsByEmail("deleted2@fake.com", null));
+        }
+    }
+
+    @Test
+    @DisplayName("Off-heap index grows past its initial capacity")
+    void shouldGrowOffHeapIndex() {
+        OffHeapLongLongMap map = new OffHeapLongLongMap(4);
+        for (long key = 1; key <= 100_000; key++) {
+            map.put(key, key * 3);
+        }
+
+        assertEquals(100_000, map.size());
+        assertEquals(300_000, map.get(100_000));
+        assertEquals(OffHeapLongLongMap.MISSING, map.get(100_001));
+    }
+}
@@ -0,0 +1,120 @@
+package com.recall.recall.validation;
+
+import com.recall.recall.dto.CustomerBatchRequestDTO;
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.services.CustomerServiceImpl;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class BatchDuplicateEmailValidatorTest {
+
+    @MockitoBean
+    private CustomerServiceImpl customerService;
+
+    @Autowired
+    private Validator validator;
+
+    private CustomerBatchRequestDTO batch(CustomerRequestDTO... customers) {
+        return CustomerBatchRequestDTO.builder().customers(List.of(customers)).build();
+    }
+
+    private CustomerRequestDTO customer(Long id, String email) {
+        return CustomerRequestDTO.builder().id(id).name("Test User").email(email).build();
+    }
+
+    @Test
+    @DisplayName("Should check all emails with one lookup and no per-item queries")
+    void testIsValid_UniqueEmails_SingleLookup() {
+        when(customerService.findCustomerIdsByEmails(any())).thenReturn(Map.of());
+
+        Set<ConstraintViolation<CustomerBatchRequestDTO>> violations =
+                validator.validate(batch(customer(null, "a@example.com"), customer(null, "b@example.com")));
+
+        assertTrue(violations.isEmpty());
+        verify(customerService, times(1)).findCustomerIdsByEmails(Set.of("a@example.com", "b@example.com"));
+        verify(customerService, never()).existsByEmail(anyString());
+        verify(customerService, never()).existsByEmailAndIdNot(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should report an existing email on the item that uses it")
+    void testIsValid_ExistingEmail_ReportsPerItem() {
+        when(customerService.findCustomerIdsByEmails(any())).thenReturn(Map.of("b@example.com", List.of(7L)));
+
+        Set<ConstraintViolation<CustomerBatchRequestDTO>> violations =
+                validator.validate(batch(customer(null, "a@example.com"), customer(null, "b@example.com")));
+
+        assertEquals(1, violations.size());
+        ConstraintViolation<CustomerBatchRequestDTO> violation = violations.iterator().next();
+        assertEquals("customers[1].email", violation.getPropertyPath().toString());
+        assertEquals("Email b@example.com already exists!", violation.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a client-supplied id without looking up emails")
+    void testIsValid_ItemWithId_Rejected() {
+        Set<ConstraintViolation<CustomerBatchRequestDTO>> violations =
+                validator.validate(batch(customer(7L, "a@example.com")));
+
+        assertEquals(1, violations.size());
+        ConstraintViolation<CustomerBatchRequestDTO> violation = violations.iterator().next();
+        assertEquals("customers[0].id", violation.getPropertyPath().toString());
+        verify(customerService, never()).findCustomerIdsByEmails(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an oversized batch before looking up its emails")
+    void testIsValid_OversizedBatch_NoLookup() {
+        CustomerRequestDTO[] customers = new CustomerRequestDTO[1001];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = customer(null, "user" + i + "@example.com");
+        }
+
+        Set<ConstraintViolation<CustomerBatchRequestDTO>> violations = validator.validate(batch(customers));
+
+        assertEquals(1, violations.size());
+        assertEquals("At most 1000 customers per batch", violations.iterator().next().getMessage());
+        verify(customerService, never()).findCustomerIdsByEmails(any());
+    }
+
+    @Test
+    @DisplayName("Should report emails repeated inside the batch")
+    void testIsValid_DuplicateWithinBatch_ReportsRepeat() {
+        when(customerService.findCustomerIdsByEmails(any())).thenReturn(Map.of());
+
+        Set<ConstraintViolation<CustomerBatchRequestDTO>> violations = validator.validate(batch(
+                customer(null, "a@example.com"), customer(null, "b@example.com"), customer(null, "a@example.com")));
+
+        assertEquals(1, violations.size());
+        assertEquals("customers[2].email", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    @DisplayName("Should still apply field constraints to each item")
+    void testIsValid_InvalidItemFields_Reported() {
+        when(customerService.findCustomerIdsByEmails(any())).thenReturn(Map.of());
+
+        Set<ConstraintViolation<CustomerBatchRequestDTO>> violations =
+                validator.validate(batch(customer(null, "not-an-email")));
+
+        assertEquals(1, violations.size());
+        assertEquals("Enter a valid email", violations.iterator().next().getMessage());
+        verify(customerService, never()).findCustomerIdsByEmails(any());
+    }
+}
@@ -0,0 +1,145 @@
+package com.recall.recall.warmup;
+
+import com.recall.recall.controller.CustomerController;
+import com.recall.recall.dto.CustomerRequestDTO;
+import com.recall.recall.dto.CustomerResponseDTO;
+import com.recall.recall.dto.CustomerSliceDTO;
+import com.recall.recall.exception.CustomerNotFoundException;
+import com.recall.recall.exception.GlobalExceptionHandler;
+import com.recall.recall.store.EmailHashIndex;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTest {
+
+    private CustomerController controller;
+    private TransactionTemplate transactionTemplate;
+    private EmailHashIndex emailHashIndex;
+    private WarmupProperties properties;
+    private WarmupRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        controller = mock(CustomerController.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        emailHashIndex = new EmailHashIndex(64);
+        emailHashIndex.markReady();
+        properties = new WarmupProperties();
+        properties.setRoundSize(20);
+        properties.setBudget(Duration.ofMillis(200));
+        properties.setSettleRatio(1_000_000);
+        properties.setSettleRounds(2);
+        CustomerResponseDTO customer = CustomerResponseDTO.builder()
+                .id(1L).name("test").email("test@fake.com").createdAt(LocalDateTime.now()).version(0L).build();
+        when(controller.getAllCustomers(any(Pageable.class)))
+                .thenReturn(ResponseEntity.ok(new PageImpl<>(List.of(customer), PageRequest.of(0, 20), 1)));
+        when(controller.getCustomerById(anyLong(), any())).thenReturn(ResponseEntity.ok().eTag("\"0\"").body(customer));
+        when(controller.getCustomersCreatedBetween(eq(30), any(), any(), any(), anyInt()))
+                .thenReturn(ResponseEntity.ok(CustomerSliceDTO.builder().content(List.of(customer)).size(1).build()));
+        when(controller.getCustomersCreatedBetween(isNull(), any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Either 'from' or a positive 'days' is required"));
+        when(controller.updateCustomer(any(CustomerRequestDTO.class), any()))
+                .thenThrow(new CustomerNotFoundException(Long.MAX_VALUE - 1));
+        runner = new WarmupRunner(controller, new GlobalExceptionHandler(), JsonMapper.builder().build(),
+                mock(Validator.class), transactionTemplate, emailHashIndex, properties);
+    }
+
+    @Test
+    @DisplayName("Warm-up stops once compilation has settled for the configured rounds")
+    void stopsWhenSettled() {
+        WarmupReport report = runner.run();
+
+        assertNull(report.error());
+        assertTrue(report.settled());
+        assertEquals(2, report.rounds());
+        assertTrue(report.calls() >= 2L * properties.getRoundSize());
+        verify(transactionTemplate, atLeastOnce()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Warm-up gives up at the budget when compilation never settles")
+    void stopsAtBudget() {
+        properties.setSettleRatio(0);
+        properties.setBudget(Duration.ofMillis(50));
+
+        long start = System.nanoTime();
+        WarmupReport report = runner.run();
+
+        assertFalse(report.settled());
+        assertTrue(report.rounds() >= 1);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5_000);
+    }
+
+    @Test
+    @DisplayName("An unexpected failure ends warm-up with a report instead of failing startup")
+    void failureIsReported() {
+        when(controller.getAllCustomers(any(Pageable.class))).thenThrow(new IllegalStateException("no database"));
+
+        WarmupReport report = runner.run();
+
+        assertEquals(0, report.rounds());
+        assertTrue(report.error().contains("no database"));
+    }
+
+    @Test
+    @DisplayName("Scratch emails added to the email index by rolled-back writes are removed again")
+    void scratchEmailsLeaveTheIndex() {
+        CustomerResponseDTO created = CustomerResponseDTO.builder()
+                .id(2L).name("Warm Up").email("scratch").createdAt(LocalDateTime.now()).version(0L).build();
+        List<String> emails = new ArrayList<>();
+        when(controller.createCustomer(any(CustomerRequestDTO.class))).thenAnswer(invocation -> {
+            String email = invocation.getArgument(0, CustomerRequestDTO.class).getEmail();
+            emails.add(email);
+            emailHashIndex.add(email);
+            return ResponseEntity.ok(created);
+        });
+        doReturn(ResponseEntity.ok(created)).when(controller).updateCustomer(any(CustomerRequestDTO.class), any());
+        doReturn(ResponseEntity.noContent().build()).when(controller).deleteCustomer(anyLong());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(new SimpleTransactionStatus());
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        WarmupReport report = runner.run();
+
+        assertNull(report.error());
+        assertFalse(emails.isEmpty());
+        assertEquals(0, emailHashIndex.size());
+        emails.forEach(email -> assertFalse(emailHashIndex.mightContain(email)));
+    }
+
+    @Test
+    @DisplayName("Compiled methods are counted by tier and application package")
+    void parsesCodelist() {
+        String codelist = """
+                16 0 0 java.lang.invoke.MethodHandle.linkToStatic(Ljava/lang/invoke/MemberName;)Ljava/lang/Object; [0x1, 0x2 - 0x3]
+                13 3 0 com.recall.recall.controller.CustomerController.getCustomerById(Ljava/lang/Long;)V [0x1, 0x2 - 0x3]
+                14 4 2 java.lang.Object.<init>()V [0x1, 0x2 - 0x3]
+                15 4 0 com.recall.recall.services.CustomerServiceImpl.getCustomerById(Ljava/lang/Long;)V [0x1, 0x2 - 0x3]
+                """;
+
+        CompiledMethods methods = CompiledMethods.parse(codelist, "com.recall.");
+
+        assertEquals(new CompiledMethods(4, 1, 2, 2), methods);
+    }
+}